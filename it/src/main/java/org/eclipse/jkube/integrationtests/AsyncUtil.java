@@ -13,40 +13,323 @@
  */
 package org.eclipse.jkube.integrationtests;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+/**
+ * The {@value #ASYNC_EXECUTOR_SYSTEM_PROPERTY} system property selects the executor used for awaits, process I/O and
+ * asynchronous Maven invocations: {@code cached} (default, unbounded platform thread pool), {@code virtual} (opt-in,
+ * requires JDK 21+), or {@code bounded} (platform thread pool keeping {@value #ASYNC_EXECUTOR_THREADS_SYSTEM_PROPERTY}
+ * threads).
+ *
+ * <p> Tasks wait for each other (e.g. nested awaits, or Maven invocations for their process readers), so the bounded
+ * pool never queues: once its threads are busy, each additional task runs in a dedicated overflow thread (a warning
+ * is logged) instead of waiting for a thread that might be held by the task it waits for.
+ */
 public class AsyncUtil {
+
+  public static final String ASYNC_EXECUTOR_SYSTEM_PROPERTY = "asyncExecutor";
+  public static final String ASYNC_EXECUTOR_THREADS_SYSTEM_PROPERTY = "asyncExecutorThreads";
+  private static final Logger log = LoggerFactory.getLogger(AsyncUtil.class);
+
   private AsyncUtil() { }
 
   // Initialization on demand
   private static class ExecutorServiceHolder {
-    public static final ExecutorService INSTANCE = Executors.newCachedThreadPool();
+    public static final ExecutorService INSTANCE = initExecutorService();
+
+    private static ExecutorService initExecutorService() {
+      final String asyncExecutor = System.getProperty(ASYNC_EXECUTOR_SYSTEM_PROPERTY, "cached")
+        .toLowerCase(Locale.ROOT);
+      switch (asyncExecutor) {
+        case "virtual":
+          return newVirtualThreadPerTaskExecutor().orElseThrow(() ->
+            new IllegalStateException("Virtual threads are not available in Java " + Runtime.version().feature()));
+        case "cached":
+          return newCachedThreadPool();
+        case "bounded":
+          final int threads = Integer.getInteger(ASYNC_EXECUTOR_THREADS_SYSTEM_PROPERTY,
+            Math.max(32, Runtime.getRuntime().availableProcessors() * 4));
+          final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), namedThreadFactory("async-bounded-"), overflow(threads));
+          executor.allowCoreThreadTimeOut(true);
+          return executor;
+        default:
+          throw new IllegalArgumentException(String.format(
+            "Unsupported %s: %s (cached, virtual, bounded)", ASYNC_EXECUTOR_SYSTEM_PROPERTY, asyncExecutor));
+      }
+    }
+  }
+
+  // Initialization on demand
+  private static class SchedulerHolder {
+    public static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(r -> {
+      final Thread thread = new Thread(r, "await-scheduler");
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
   public static ExecutorService executorService() {
     return ExecutorServiceHolder.INSTANCE;
   }
 
-  public static <T> Function<Predicate<T>, CompletableFuture<T>> await(Supplier<T> supplier) {
+  /**
+   * Equivalent to {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-virtual-", 1).factory())},
+   * resolved reflectively so that the project still compiles (and runs) with Java 11.
+   */
+  private static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+    try {
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      final Object builder = builderClass.getMethod("name", String.class, long.class)
+        .invoke(Thread.class.getMethod("ofVirtual").invoke(null), "async-virtual-", 1L);
+      final ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return Optional.of((ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+        .invoke(null, factory));
+    } catch (ReflectiveOperationException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private static ExecutorService newCachedThreadPool() {
+    return Executors.newCachedThreadPool(namedThreadFactory("async-cached-"));
+  }
+
+  private static RejectedExecutionHandler overflow(int threads) {
+    final ThreadFactory overflowThreadFactory = namedThreadFactory("async-overflow-");
+    final AtomicBoolean warned = new AtomicBoolean();
+    return (task, executor) -> {
+      if (executor.isShutdown()) {
+        throw new RejectedExecutionException("Executor service is shut down");
+      }
+      if (warned.compareAndSet(false, true)) {
+        log.warn("All {} {} threads are busy, running the additional tasks in overflow threads",
+          threads, ASYNC_EXECUTOR_THREADS_SYSTEM_PROPERTY);
+      }
+      overflowThreadFactory.newThread(task).start();
+    };
+  }
+
+  private static ThreadFactory namedThreadFactory(String prefix) {
+    final AtomicInteger count = new AtomicInteger();
+    return r -> new Thread(r, prefix + count.incrementAndGet());
+  }
+
+  public static <T> Function<Predicate<T>, AwaitFuture<T>> await(Supplier<T> supplier) {
     return await(supplier, 100L);
   }
 
-  public static <T> Function<Predicate<T>, CompletableFuture<T>> await(Supplier<T> supplier, long periodMillis) {
-    return condition -> CompletableFuture.supplyAsync(() -> {
-      T result;
-      while (!condition.test(result = supplier.get())) {
-        try {
-          Thread.sleep(periodMillis);
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt();
+  public static <T> Function<Predicate<T>, AwaitFuture<T>> await(Supplier<T> supplier, long periodMillis) {
+    return await(supplier, AwaitPolicy.fixed(periodMillis));
+  }
+
+  public static <T> Function<Predicate<T>, AwaitFuture<T>> await(Supplier<T> supplier, AwaitPolicy policy) {
+    return condition -> {
+      final AwaitFuture<T> future = new AwaitFuture<>(supplier, condition, policy);
+      future.schedule(0L);
+      return future;
+    };
+  }
+
+  /**
+   * Polling policy for {@link #await(Supplier, AwaitPolicy)}.
+   *
+   * <p> The delay between attempts starts at the initial period and is multiplied after each attempt up to the
+   * max period, a random jitter (fraction of the delay) is applied so that concurrent awaits don't poll in lockstep.
+   * If a timeout is set, the await completes exceptionally with a {@link TimeoutException} once it's exceeded.
+   */
+  public static final class AwaitPolicy {
+
+    private final Duration initialPeriod;
+    private final Duration maxPeriod;
+    private final double multiplier;
+    private final double jitter;
+    private final Duration timeout;
+
+    private AwaitPolicy(
+      Duration initialPeriod, Duration maxPeriod, double multiplier, double jitter, Duration timeout) {
+      this.initialPeriod = initialPeriod;
+      this.maxPeriod = maxPeriod;
+      this.multiplier = multiplier;
+      this.jitter = jitter;
+      this.timeout = timeout;
+    }
+
+    public static AwaitPolicy fixed(long periodMillis) {
+      final Duration period = Duration.ofMillis(periodMillis);
+      return new AwaitPolicy(period, period, 1D, 0D, null);
+    }
+
+    public static AwaitPolicy backoff(Duration initialPeriod, Duration maxPeriod) {
+      return new AwaitPolicy(initialPeriod, maxPeriod, 2D, 0.2D, null);
+    }
+
+    public AwaitPolicy withMultiplier(double multiplier) {
+      return new AwaitPolicy(initialPeriod, maxPeriod, multiplier, jitter, timeout);
+    }
+
+    public AwaitPolicy withJitter(double jitter) {
+      return new AwaitPolicy(initialPeriod, maxPeriod, multiplier, jitter, timeout);
+    }
+
+    public AwaitPolicy withTimeout(Duration timeout) {
+      return new AwaitPolicy(initialPeriod, maxPeriod, multiplier, jitter, timeout);
+    }
+
+    long delayMillis(int attempt) {
+      final double base = Math.min(
+        maxPeriod.toMillis(), initialPeriod.toMillis() * Math.pow(multiplier, Math.max(0, attempt - 1)));
+      final double jittered = base * (1D + jitter * (2D * ThreadLocalRandom.current().nextDouble() - 1D));
+      return Math.max(0L, Math.round(jittered));
+    }
+  }
+
+  /**
+   * Future of an await that stops polling as soon as it's completed, cancelled, or its deadline is exceeded.
+   *
+   * <p> A {@link #get(long, TimeUnit)} call that times out (or is interrupted) cancels the await too, so callers
+   * giving up on the result never leave an orphan poller behind.
+   */
+  public static final class AwaitFuture<T> extends CompletableFuture<T> {
+
+    private final Supplier<T> supplier;
+    private final Predicate<T> condition;
+    private final AwaitPolicy policy;
+    private final long startNanos;
+    private final AtomicInteger attempts;
+    private volatile long endNanos;
+    private final Object lock;
+    private volatile Future<?> pending;
+
+    private AwaitFuture(Supplier<T> supplier, Predicate<T> condition, AwaitPolicy policy) {
+      this.supplier = supplier;
+      this.condition = condition;
+      this.policy = policy;
+      this.startNanos = System.nanoTime();
+      this.attempts = new AtomicInteger();
+      this.lock = new Object();
+      whenComplete((result, throwable) -> {
+        endNanos = System.nanoTime();
+        // Prevent the next scheduled attempt, an in-flight attempt is only interrupted by an explicit cancel
+        Optional.ofNullable(pending).ifPresent(p -> p.cancel(false));
+        log.debug("Await completed after {} attempts in {} ms", attempts.get(), getElapsed().toMillis());
+      });
+    }
+
+    /**
+     * @return the number of times the condition was evaluated.
+     */
+    public int getAttempts() {
+      return attempts.get();
+    }
+
+    /**
+     * @return the time spent awaiting (until now if the await is still in progress).
+     */
+    public Duration getElapsed() {
+      final long end = isDone() && endNanos != 0L ? endNanos : System.nanoTime();
+      return Duration.ofNanos(end - startNanos);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      Optional.ofNullable(pending).ifPresent(p -> p.cancel(mayInterruptIfRunning));
+      return super.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      try {
+        return super.get(timeout, unit);
+      } catch (TimeoutException | InterruptedException ex) {
+        cancel(true);
+        throw ex;
+      }
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+      try {
+        return super.get();
+      } catch (InterruptedException ex) {
+        cancel(true);
+        throw ex;
+      }
+    }
+
+    private void schedule(long delayMillis) {
+      synchronized (lock) {
+        if (!isDone()) {
+          pending = SchedulerHolder.INSTANCE.schedule(this::dispatch, delayMillis, TimeUnit.MILLISECONDS);
+        }
+      }
+    }
+
+    // The scheduler thread only dispatches, attempts (which might block on I/O) run in the executor service
+    private void dispatch() {
+      synchronized (lock) {
+        if (!isDone()) {
+          try {
+            pending = executorService().submit(this::attempt);
+          } catch (RuntimeException | Error ex) {
+            // e.g. rejected execution or misconfigured executor, which would otherwise be swallowed by the scheduler
+            completeExceptionally(ex);
+          }
+        }
+      }
+    }
+
+    private void attempt() {
+      if (isDone()) {
+        return;
+      }
+      final int attempt = attempts.incrementAndGet();
+      try {
+        final T result = supplier.get();
+        if (condition.test(result)) {
+          complete(result);
+          return;
+        }
+      } catch (RuntimeException | Error ex) {
+        // Thrown in the executor service, the submitted Future would swallow it and the wait would never complete
+        completeExceptionally(ex);
+        return;
+      }
+      long delay = policy.delayMillis(attempt);
+      if (policy.timeout != null) {
+        final long remaining = policy.timeout.minus(getElapsed()).toMillis();
+        if (remaining <= 0) {
+          completeExceptionally(new TimeoutException(String.format(
+            "Condition not met after %s attempts in %s ms", attempt, getElapsed().toMillis())));
+          return;
         }
+        // Last attempt right at the deadline
+        delay = Math.min(delay, remaining);
       }
-      return result;
-    }, executorService());
+      schedule(delay);
+    }
   }
 }
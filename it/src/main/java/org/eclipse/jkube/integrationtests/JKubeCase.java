@@ -16,6 +16,7 @@ package org.eclipse.jkube.integrationtests;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.RequestConfigBuilder;
 import io.fabric8.kubernetes.client.http.HttpResponse;
+import org.eclipse.jkube.integrationtests.host.HostAdmission;
 import org.eclipse.jkube.integrationtests.jupiter.api.Application;
 import org.eclipse.jkube.integrationtests.jupiter.api.Report;
 
@@ -42,10 +43,12 @@ public interface JKubeCase {
       .withRequestRetryBackoffLimit(0)
       .build();
     final var client = getKubernetesClient().getHttpClient().newBuilder().tag(requestConfig).build();
-    return client.sendAsync(
-      client.newHttpRequestBuilder()
-      .uri(uri)
-      .build(), String.class)
-      .get(5, TimeUnit.SECONDS);
+    try (HostAdmission.Permit ignore = HostAdmission.acquire(HostAdmission.Footprint.HTTP_PROBE)) {
+      return client.sendAsync(
+        client.newHttpRequestBuilder()
+        .uri(uri)
+        .build(), String.class)
+        .get(5, TimeUnit.SECONDS);
+    }
   }
 }
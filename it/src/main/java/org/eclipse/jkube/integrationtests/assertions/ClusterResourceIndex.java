@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectReference;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Shared (per cluster and namespace) informer backed index of the Pods, Deployments, Services and Events.
+ *
+ * <p> All the test classes query the same in-memory stores (indexed by {@code app} label and by name) instead of
+ * listing the resources in the cluster, and waits are resolved by the informer events instead of polling.
+ * The index uses its own client since the clients injected in the test classes are closed after each class.
+ * Events are indexed by involved object and only informed once first queried, if they can't be informed (e.g. listing
+ * them isn't allowed) the failure is kept and the Event queries fail immediately from then on.
+ */
+public final class ClusterResourceIndex {
+
+  private static final String APP_LABEL_INDEX = "app";
+  private static final String NAME_INDEX = "name";
+  private static final String INVOLVED_OBJECT_INDEX = "involvedObject";
+  private static final long INFORMER_SYNC_TIMEOUT_SECONDS = 60L;
+  private static final Map<String, CompletableFuture<ClusterResourceIndex>> INDEXES = new ConcurrentHashMap<>();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> INDEXES.values().stream()
+      .filter(index -> index.isDone() && !index.isCompletedExceptionally())
+      .forEach(index -> index.join().close())));
+  }
+
+  private final KubernetesClient client;
+  private final SharedIndexInformer<Pod> pods;
+  private final SharedIndexInformer<Deployment> deployments;
+  private final SharedIndexInformer<Service> services;
+  private SharedIndexInformer<Event> events;
+  private IllegalStateException eventsFailure;
+
+  private ClusterResourceIndex(KubernetesClient client) {
+    this.client = client;
+    pods = client.pods().runnableInformer(0L);
+    deployments = client.apps().deployments().runnableInformer(0L);
+    services = client.services().runnableInformer(0L);
+  }
+
+  /**
+   * @return the shared index for the cluster and namespace of the provided client.
+   */
+  public static ClusterResourceIndex of(KubernetesClient kubernetesClient) {
+    final String namespace = Optional.ofNullable(kubernetesClient.getNamespace()).orElse("default");
+    final String key = kubernetesClient.getMasterUrl() + "#" + namespace;
+    final CompletableFuture<ClusterResourceIndex> created = new CompletableFuture<>();
+    final CompletableFuture<ClusterResourceIndex> index = INDEXES.putIfAbsent(key, created);
+    if (index != null) {
+      return join(index);
+    }
+    // Informers are started (up to the sync timeout) outside of the map, concurrent callers wait for the future
+    final ClusterResourceIndex clusterResourceIndex = new ClusterResourceIndex(new KubernetesClientBuilder()
+      .withConfig(new ConfigBuilder(kubernetesClient.getConfiguration()).withNamespace(namespace).build())
+      .build());
+    try {
+      clusterResourceIndex.start();
+      created.complete(clusterResourceIndex);
+    } catch (RuntimeException ex) {
+      clusterResourceIndex.close();
+      // Don't cache the failure, the next caller retries
+      INDEXES.remove(key, created);
+      created.completeExceptionally(ex);
+    }
+    return join(created);
+  }
+
+  public List<Pod> pods(Predicate<Pod> filter) {
+    return list(pods, filter);
+  }
+
+  /**
+   * @return the Pods whose {@code app} label matches the provided application (resolved through the index).
+   */
+  public List<Pod> podsForApplication(String application) {
+    return pods.getIndexer().byIndex(APP_LABEL_INDEX, application);
+  }
+
+  /**
+   * @return the Pods with the provided name (resolved through the index).
+   */
+  public List<Pod> podsNamed(String name) {
+    return pods.getIndexer().byIndex(NAME_INDEX, name);
+  }
+
+  public List<Deployment> deployments(Predicate<Deployment> filter) {
+    return list(deployments, filter);
+  }
+
+  public List<Service> services(Predicate<Service> filter) {
+    return list(services, filter);
+  }
+
+  /**
+   * @return the Events whose involved object is the provided resource (e.g. Pod).
+   */
+  public List<Event> eventsFor(HasMetadata resource) {
+    return events().getIndexer().byIndex(INVOLVED_OBJECT_INDEX, resource.getMetadata().getUid());
+  }
+
+  /**
+   * Completes once the Pods matching the filter satisfy the condition (evaluated on every informer event).
+   */
+  public CompletableFuture<List<Pod>> awaitPods(Predicate<Pod> filter, Predicate<List<Pod>> condition) {
+    return await(pods, () -> list(pods, filter), condition);
+  }
+
+  /**
+   * Completes once the Pods with the provided name satisfy the condition (evaluated on every informer event).
+   */
+  public CompletableFuture<List<Pod>> awaitPodsNamed(String name, Predicate<List<Pod>> condition) {
+    return await(pods, () -> podsNamed(name), condition);
+  }
+
+  public CompletableFuture<List<Deployment>> awaitDeployments(
+    Predicate<Deployment> filter, Predicate<List<Deployment>> condition) {
+    return await(deployments, () -> list(deployments, filter), condition);
+  }
+
+  public CompletableFuture<List<Service>> awaitServices(
+    Predicate<Service> filter, Predicate<List<Service>> condition) {
+    return await(services, () -> list(services, filter), condition);
+  }
+
+  private synchronized SharedIndexInformer<Event> events() {
+    if (eventsFailure != null) {
+      throw new IllegalStateException("Events can't be informed", eventsFailure);
+    }
+    if (events == null) {
+      final SharedIndexInformer<Event> informer = client.v1().events().runnableInformer(0L);
+      informer.addIndexers(Collections.singletonMap(INVOLVED_OBJECT_INDEX, event ->
+        Optional.ofNullable(event.getInvolvedObject())
+          .map(ObjectReference::getUid)
+          .map(Collections::singletonList)
+          .orElse(Collections.emptyList())));
+      try {
+        events = start(informer);
+      } catch (IllegalStateException ex) {
+        // Not retried, every query would wait for the sync timeout again
+        eventsFailure = ex;
+        throw ex;
+      }
+    }
+    return events;
+  }
+
+  private void start() {
+    start(pods);
+    start(deployments);
+    start(services);
+  }
+
+  private synchronized void close() {
+    pods.close();
+    deployments.close();
+    services.close();
+    if (events != null) {
+      events.close();
+    }
+    client.close();
+  }
+
+  private static <T extends HasMetadata> SharedIndexInformer<T> start(SharedIndexInformer<T> informer) {
+    informer.addIndexers(Map.of(
+      APP_LABEL_INDEX, resource -> Optional.ofNullable(resource.getMetadata().getLabels())
+        .map(labels -> labels.get(APP_LABEL_INDEX))
+        .map(Collections::singletonList)
+        .orElse(Collections.emptyList()),
+      NAME_INDEX, resource -> Collections.singletonList(resource.getMetadata().getName())));
+    try {
+      informer.start().toCompletableFuture().get(INFORMER_SYNC_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      informer.close();
+      throw new IllegalStateException("Interrupted while starting informer", ex);
+    } catch (ExecutionException | TimeoutException ex) {
+      informer.close();
+      throw new IllegalStateException("Informer couldn't be started", ex);
+    }
+    return informer;
+  }
+
+  private static ClusterResourceIndex join(CompletableFuture<ClusterResourceIndex> index) {
+    try {
+      return index.join();
+    } catch (CompletionException ex) {
+      throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+    }
+  }
+
+  private static <T> List<T> list(SharedIndexInformer<T> informer, Predicate<T> filter) {
+    return informer.getStore().list().stream().filter(filter).collect(Collectors.toList());
+  }
+
+  private static <T> CompletableFuture<List<T>> await(
+    SharedIndexInformer<T> informer, Supplier<List<T>> query, Predicate<List<T>> condition) {
+
+    final CompletableFuture<List<T>> future = new CompletableFuture<>();
+    final Runnable check = () -> {
+      final List<T> matching = query.get();
+      if (condition.test(matching)) {
+        future.complete(matching);
+      }
+    };
+    final ResourceEventHandler<T> handler = new ResourceEventHandler<>() {
+      @Override
+      public void onAdd(T obj) {
+        check.run();
+      }
+
+      @Override
+      public void onUpdate(T oldObj, T newObj) {
+        check.run();
+      }
+
+      @Override
+      public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+        check.run();
+      }
+    };
+    informer.addEventHandler(handler);
+    future.whenComplete((result, throwable) -> informer.removeEventHandler(handler));
+    check.run();
+    return future;
+  }
+}
@@ -14,13 +14,14 @@
 package org.eclipse.jkube.integrationtests.assertions;
 
 import io.fabric8.kubernetes.api.model.Pod;
+import org.eclipse.jkube.integrationtests.AsyncUtil.AwaitPolicy;
 import org.eclipse.jkube.integrationtests.JKubeCase;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
-import java.util.function.UnaryOperator;
 
 import static org.eclipse.jkube.integrationtests.AsyncUtil.await;
 
@@ -39,16 +40,44 @@ public class JKubeAssertions {
   }
 
   public JKubeAssertions assertPodDeleted() throws InterruptedException {
-    final var matchingPod = jKubeCase.getKubernetesClient().pods().list().getItems().stream()
-      .filter(p -> p.getMetadata().getName().startsWith(jKubeCase.getApplication()))
-      .filter(p -> p.getMetadata().getLabels().getOrDefault("app", "").equals(jKubeCase.getApplication()))
-      .filter(Predicate.not(p -> p.getMetadata().getName().endsWith("-build")))
+    final var index = ClusterResourceIndex.of(jKubeCase.getKubernetesClient());
+    final Predicate<Pod> isApplicationPod = p -> p.getMetadata().getName().startsWith(jKubeCase.getApplication())
+      && !p.getMetadata().getName().endsWith("-build");
+    final var indexedPod = index.podsForApplication(jKubeCase.getApplication()).stream()
+      .filter(isApplicationPod)
+      .map(p -> p.getMetadata().getName())
       .findAny();
-    final UnaryOperator<Pod> refreshPod = pod ->
-      jKubeCase.getKubernetesClient().pods().withName(pod.getMetadata().getName()).get();
+    if (indexedPod.isEmpty()) {
+      // The index might not have caught up with the Pod yet, the API is the source of truth
+      return assertPodDeletedInCluster(isApplicationPod);
+    }
+    // The Pod was seen by the index, its removal from the index means it was deleted too
+    final var deletion = index.awaitPodsNamed(indexedPod.get(),
+      pods -> pods.stream().allMatch(p -> p.getMetadata().getDeletionTimestamp() != null));
+    try {
+      deletion.get(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (TimeoutException | ExecutionException e) {
+      throw new AssertionError("Pod for application '" +
+        jKubeCase.getApplication() + "' is still running when it should have been deleted");
+    } finally {
+      deletion.cancel(true);
+    }
+    return this;
+  }
+
+  private JKubeAssertions assertPodDeletedInCluster(Predicate<Pod> isApplicationPod) throws InterruptedException {
+    final var matchingPod = jKubeCase.getKubernetesClient().pods()
+      .withLabel("app", jKubeCase.getApplication()).list().getItems().stream()
+      .filter(isApplicationPod)
+      .findAny();
+    if (matchingPod.isEmpty()) {
+      return this;
+    }
     try {
-      await(() -> matchingPod.map(refreshPod))
-        .apply(p -> p.isEmpty() || p.get().getMetadata().getDeletionTimestamp() != null)
+      await(() -> jKubeCase.getKubernetesClient().pods().withName(matchingPod.get().getMetadata().getName()).get(),
+        AwaitPolicy.backoff(Duration.ofMillis(250), Duration.ofSeconds(2))
+          .withTimeout(Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS)))
+        .apply(p -> p == null || p.getMetadata().getDeletionTimestamp() != null)
         .get(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
     } catch (TimeoutException | ExecutionException e) {
       throw new AssertionError("Pod for application '" +
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.cli;
+
+import org.eclipse.jkube.integrationtests.cli.CliUtils.CliResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+
+/**
+ * A running CLI command whose merged stdout/stderr is streamed line by line (or whose raw stdout is provided to a
+ * {@link StreamConsumer} while stderr is streamed line by line).
+ *
+ * <p> Only a bounded tail of the output is retained. If the command doesn't complete within the provided
+ * timeout, the complete process tree is killed and {@link #exitCode()} completes with a {@link TimeoutException}.
+ */
+public final class CliProcess {
+
+  private final String command;
+  private final Process process;
+  private final Duration timeout;
+  private final OutputTail outputTail;
+  private final AtomicBoolean timedOut;
+  private final CompletableFuture<Integer> exitCode;
+
+  /**
+   * Consumer for the raw standard output of a command (e.g. binary streams such as {@code docker save}).
+   */
+  @FunctionalInterface
+  public interface StreamConsumer {
+    void accept(InputStream stream) throws IOException;
+  }
+
+  CliProcess(String command, Process process, Duration timeout, Consumer<String> lineConsumer,
+    StreamConsumer stdOutConsumer, int tailChars) {
+    this.command = command;
+    this.process = process;
+    this.timeout = timeout;
+    this.outputTail = new OutputTail(tailChars);
+    this.timedOut = new AtomicBoolean(false);
+    CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+      if (process.isAlive()) {
+        timedOut.set(true);
+        destroy();
+      }
+    });
+    final CompletableFuture<Void> outputReader;
+    if (stdOutConsumer == null) {
+      outputReader = CompletableFuture.runAsync(() -> readLines(process.getInputStream(), lineConsumer), executorService());
+    } else {
+      outputReader = CompletableFuture.allOf(
+        CompletableFuture.runAsync(() -> readStream(process.getInputStream(), stdOutConsumer), executorService()),
+        CompletableFuture.runAsync(() -> readLines(process.getErrorStream(), lineConsumer), executorService())
+      );
+    }
+    outputReader.whenComplete((ignore, throwable) -> {
+      if (throwable != null) {
+        destroy();
+      }
+    });
+    exitCode = outputReader.thenCombine(process.onExit(), (ignore, p) -> {
+      if (timedOut.get()) {
+        throw new CompletionException(new TimeoutException(String.format(
+          "Command '%s' didn't complete after %s seconds:%n%s", command, timeout.toSeconds(), outputTail)));
+      }
+      return p.exitValue();
+    });
+    exitCode.whenComplete((code, throwable) -> {
+      if (throwable instanceof CancellationException) {
+        destroy();
+      }
+    });
+  }
+
+  public String getCommand() {
+    return command;
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Completes with the process exit code once the process has exited and its output has been fully consumed.
+   */
+  public CompletableFuture<Integer> exitCode() {
+    return exitCode;
+  }
+
+  public CompletableFuture<CliResult> result() {
+    return exitCode.thenApply(code -> new CliResult(code, outputTail.toString()));
+  }
+
+  public String getOutputTail() {
+    return outputTail.toString();
+  }
+
+  /**
+   * Forcibly kills the process and all of its descendants (e.g. the docker CLI spawned by {@code sh -c}).
+   */
+  public void destroy() {
+    process.descendants().forEach(ProcessHandle::destroyForcibly);
+    process.destroyForcibly();
+  }
+
+  private void readStream(InputStream stream, StreamConsumer stdOutConsumer) {
+    try (stream) {
+      stdOutConsumer.accept(stream);
+      // Drain whatever the consumer didn't read so that the process isn't blocked on a full pipe
+      stream.transferTo(OutputStream.nullOutputStream());
+    } catch (IOException ex) {
+      if (!timedOut.get()) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+
+  private void readLines(InputStream stream, Consumer<String> lineConsumer) {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        outputTail.append(line);
+        lineConsumer.accept(line);
+      }
+    } catch (IOException ex) {
+      if (!timedOut.get()) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+}
@@ -14,17 +14,81 @@
 package org.eclipse.jkube.integrationtests.cli;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 public class CliUtils {
 
+  public static final String CLI_TIMEOUT_SYSTEM_PROPERTY = "cliTimeoutSeconds";
+  public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(Long.getLong(CLI_TIMEOUT_SYSTEM_PROPERTY, 600L));
+  private static final int DEFAULT_OUTPUT_TAIL_CHARS = 256 * 1024;
   private static final String PROP_OS_NAME = "os.name";
 
   private CliUtils() {
   }
 
   public static CliResult runCommand(String command) throws IOException, InterruptedException {
+    return runCommand(command, DEFAULT_TIMEOUT);
+  }
+
+  public static CliResult runCommand(String command, Duration timeout) throws IOException, InterruptedException {
+    return runCommand(command, timeout, line -> {});
+  }
+
+  /**
+   * Runs the command and waits for its completion.
+   *
+   * <p> Each output line is provided to the lineConsumer as soon as it's printed, the returned {@link CliResult}
+   * only contains the last lines of the output.
+   *
+   * @throws IOException if the command can't be started or if it doesn't complete within the provided timeout.
+   */
+  public static CliResult runCommand(String command, Duration timeout, Consumer<String> lineConsumer)
+    throws IOException, InterruptedException {
+
+    return await(startCommand(command, timeout, lineConsumer, null));
+  }
+
+  /**
+   * Runs the command providing its raw standard output to the stdOutConsumer.
+   *
+   * <p> The returned {@link CliResult} only contains the last lines of the standard error.
+   */
+  public static CliResult streamCommand(String command, Duration timeout, CliProcess.StreamConsumer stdOutConsumer)
+    throws IOException, InterruptedException {
+
+    return await(startCommand(command, timeout, line -> {}, stdOutConsumer));
+  }
+
+  public static CliProcess startCommand(String command, Duration timeout, Consumer<String> lineConsumer)
+    throws IOException {
+
+    return startCommand(command, timeout, lineConsumer, null);
+  }
+
+  private static CliResult await(CliProcess cliProcess) throws IOException, InterruptedException {
+    try {
+      return cliProcess.result().get();
+    } catch (InterruptedException ex) {
+      cliProcess.destroy();
+      throw ex;
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof TimeoutException) {
+        throw new IOException(ex.getCause().getMessage(), ex.getCause());
+      } else if (ex.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) ex.getCause()).getCause();
+      }
+      throw new IOException(String.format("Command '%s' failed", cliProcess.getCommand()), ex.getCause());
+    }
+  }
+
+  private static CliProcess startCommand(
+    String command, Duration timeout, Consumer<String> lineConsumer, CliProcess.StreamConsumer stdOutConsumer)
+    throws IOException {
+
     final String[] processCommand;
     if (isWindows()) {
       processCommand = new String[]{"cmd", "/c", command};
@@ -32,14 +96,10 @@ public class CliUtils {
       processCommand = new String[]{"sh", "-c", command};
     }
     final Process process = new ProcessBuilder()
-        .redirectErrorStream(true)
+        .redirectErrorStream(stdOutConsumer == null)
         .command(processCommand)
         .start();
-    final Scanner scanner = new Scanner(process.getInputStream(), StandardCharsets.UTF_8)
-            .useDelimiter("\\A");
-    final String output = scanner.hasNext() ? scanner.next() : "";
-    final int exitCode = process.waitFor();
-    return new CliResult(exitCode, output);
+    return new CliProcess(command, process, timeout, lineConsumer, stdOutConsumer, DEFAULT_OUTPUT_TAIL_CHARS);
   }
 
   public static boolean isWindows() {
@@ -51,7 +111,7 @@ public class CliUtils {
     private final int exitCode;
     private final String output;
 
-    private CliResult(int exitCode, String output) {
+    CliResult(int exitCode, String output) {
       this.exitCode = exitCode;
       this.output = output;
     }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.cli;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Bounded buffer that keeps only the last lines of a process output.
+ *
+ * <p> Older lines are discarded once the retained characters exceed the configured capacity.
+ */
+public final class OutputTail {
+
+  private final int maxChars;
+  private final Deque<String> lines;
+  private int retainedChars;
+  private long discardedChars;
+
+  public OutputTail(int maxChars) {
+    this.maxChars = maxChars;
+    this.lines = new ArrayDeque<>();
+  }
+
+  public synchronized void append(String line) {
+    lines.addLast(line);
+    retainedChars += line.length() + 1;
+    while (retainedChars > maxChars && lines.size() > 1) {
+      final String discarded = lines.removeFirst();
+      retainedChars -= discarded.length() + 1;
+      discardedChars += discarded.length() + 1;
+    }
+  }
+
+  public synchronized boolean isTruncated() {
+    return discardedChars > 0;
+  }
+
+  @Override
+  public synchronized String toString() {
+    final StringBuilder sb = new StringBuilder(retainedChars + 64);
+    if (discardedChars > 0) {
+      sb.append("[... ").append(discardedChars).append(" characters truncated ...]\n");
+    }
+    return sb.append(String.join("\n", lines)).toString();
+  }
+}
@@ -0,0 +1,260 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.eclipse.jkube.integrationtests.cli.CliProcess;
+import org.eclipse.jkube.integrationtests.cli.CliUtils;
+import org.eclipse.jkube.integrationtests.docker.DockerEngineConnection.Connector;
+import org.eclipse.jkube.integrationtests.docker.DockerEngineConnection.RequestBody;
+import org.eclipse.jkube.integrationtests.docker.DockerEngineConnection.Response;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Consumer;
+
+/**
+ * Docker Engine API client speaking HTTP over the daemon socket ({@code /var/run/docker.sock} or
+ * {@code DOCKER_HOST}) without forking the docker CLI.
+ *
+ * <p> Connections are reused across requests and JSON responses are decoded as a stream.
+ */
+public final class DockerEngineClient {
+
+  private static final String DEFAULT_UNIX_SOCKET = "/var/run/docker.sock";
+  private static final int MAX_IDLE_CONNECTIONS = 8;
+  private static final Duration QUERY_TIMEOUT = Duration.ofMinutes(2);
+
+  private final Connector connector;
+  private final Deque<DockerEngineConnection> idleConnections;
+  private final ObjectMapper objectMapper;
+
+  DockerEngineClient(Connector connector) {
+    this.connector = connector;
+    this.idleConnections = new ConcurrentLinkedDeque<>();
+    this.objectMapper = new ObjectMapper();
+  }
+
+  /**
+   * Creates a client for the daemon configured in the environment.
+   *
+   * @return the client or an empty Optional if the daemon can't be reached through a supported transport
+   * (e.g. TLS protected TCP, Windows named pipes, or Unix sockets in a JVM older than 16).
+   */
+  public static Optional<DockerEngineClient> fromEnvironment() {
+    final String dockerHost = Optional.ofNullable(System.getenv("DOCKER_HOST"))
+      .filter(s -> !s.isBlank())
+      .orElse(CliUtils.isWindows() ? "npipe:////./pipe/docker_engine" : "unix://" + DEFAULT_UNIX_SOCKET);
+    final Connector connector;
+    if (dockerHost.startsWith("unix://")) {
+      connector = DockerEngineConnection.unixSocket(Path.of(dockerHost.substring("unix://".length())));
+    } else if (dockerHost.startsWith("tcp://") && System.getenv("DOCKER_TLS_VERIFY") == null) {
+      final URI uri = URI.create(dockerHost);
+      connector = DockerEngineConnection.tcpSocket(uri.getHost(), uri.getPort() > 0 ? uri.getPort() : 2375);
+    } else {
+      return Optional.empty();
+    }
+    final DockerEngineClient client = new DockerEngineClient(connector);
+    try {
+      client.ping();
+      return Optional.of(client);
+    } catch (IOException ex) {
+      return Optional.empty();
+    }
+  }
+
+  public void ping() throws IOException {
+    try (Response response = request("GET", "/_ping", null, QUERY_TIMEOUT)) {
+      checkSuccessful(response, "Docker daemon is not reachable");
+      response.readString();
+    }
+  }
+
+  /**
+   * Streams the list of local images (<a href="https://docs.docker.com/engine/api/latest/#tag/Image/operation/ImageList">ImageList</a>).
+   */
+  public void images(Consumer<Map<String, Object>> imageConsumer) throws IOException {
+    getJsonStream("/images/json", imageConsumer);
+  }
+
+  public Map<String, Object> inspectImage(String image) throws IOException {
+    return getJson(imagePath(image, "json"));
+  }
+
+  /**
+   * @return the image inspection or an empty Optional if there's no local image with the provided reference.
+   */
+  public Optional<Map<String, Object>> findImage(String image) throws IOException {
+    final String path = imagePath(image, "json");
+    try (Response response = request("GET", path, null, QUERY_TIMEOUT)) {
+      if (response.getStatusCode() == 404) {
+        response.readString();
+        return Optional.empty();
+      }
+      checkSuccessful(response, "Docker request " + path + " failed");
+      return Optional.of(objectMapper.readerForMapOf(Object.class).readValue(response));
+    }
+  }
+
+  public List<Map<String, Object>> imageHistory(String image) throws IOException {
+    final List<Map<String, Object>> history = new ArrayList<>();
+    getJsonStream(imagePath(image, "history"), history::add);
+    return history;
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<String> volumeNames() throws IOException {
+    final List<String> volumeNames = new ArrayList<>();
+    final Object volumes = getJson("/volumes").get("Volumes");
+    if (volumes instanceof List) {
+      ((List<Map<String, Object>>) volumes).forEach(v -> volumeNames.add(String.valueOf(v.get("Name"))));
+    }
+    return volumeNames;
+  }
+
+  public void pull(String image) throws IOException {
+    final String lastSegment = image.substring(image.lastIndexOf('/') + 1);
+    final String query;
+    if (image.contains("@") || lastSegment.contains(":")) {
+      query = "fromImage=" + encode(image);
+    } else {
+      query = "fromImage=" + encode(image) + "&tag=latest";
+    }
+    try (Response response = request("POST", "/images/create?" + query, null, CliUtils.DEFAULT_TIMEOUT)) {
+      checkSuccessful(response, "Docker image was not pulled");
+      readProgress(response);
+    }
+  }
+
+  public void load(File imageTar) throws IOException {
+    final RequestBody body = new RequestBody() {
+      @Override
+      public long length() {
+        return imageTar.length();
+      }
+
+      @Override
+      public void writeTo(OutputStream out) throws IOException {
+        Files.copy(imageTar.toPath(), out);
+      }
+    };
+    try (Response response = request("POST", "/images/load?quiet=1", body, CliUtils.DEFAULT_TIMEOUT)) {
+      checkSuccessful(response, "Docker image was not loaded");
+      readProgress(response);
+    }
+  }
+
+  /**
+   * Streams the image archive (same format as {@code docker save}) to the provided consumer.
+   */
+  public void save(String image, CliProcess.StreamConsumer archiveConsumer) throws IOException {
+    try (Response response = request("GET", imagePath(image, "get"), null, CliUtils.DEFAULT_TIMEOUT)) {
+      checkSuccessful(response, "Docker image was not saved");
+      archiveConsumer.accept(response);
+      response.transferTo(OutputStream.nullOutputStream());
+    }
+  }
+
+  private Map<String, Object> getJson(String path) throws IOException {
+    try (Response response = request("GET", path, null, QUERY_TIMEOUT)) {
+      checkSuccessful(response, "Docker request " + path + " failed");
+      return objectMapper.readerForMapOf(Object.class).readValue(response);
+    }
+  }
+
+  /**
+   * Decodes each element of a JSON array (or a sequence of JSON objects) as soon as it's received.
+   */
+  private void getJsonStream(String path, Consumer<Map<String, Object>> consumer) throws IOException {
+    try (Response response = request("GET", path, null, QUERY_TIMEOUT)) {
+      checkSuccessful(response, "Docker request " + path + " failed");
+      forEachJsonObject(response, consumer);
+    }
+  }
+
+  private void readProgress(Response response) throws IOException {
+    final List<String> errors = new ArrayList<>();
+    forEachJsonObject(response, progress -> Optional.ofNullable(progress.get("error"))
+      .map(String::valueOf).ifPresent(errors::add));
+    if (!errors.isEmpty()) {
+      throw new IOException(String.join("\n", errors));
+    }
+  }
+
+  private void forEachJsonObject(InputStream stream, Consumer<Map<String, Object>> consumer) throws IOException {
+    final ObjectReader reader = objectMapper.readerForMapOf(Object.class);
+    try (MappingIterator<Map<String, Object>> it = reader.readValues(stream)) {
+      while (it.hasNextValue()) {
+        consumer.accept(it.nextValue());
+      }
+    }
+  }
+
+  private Response request(String method, String path, RequestBody body, Duration timeout) throws IOException {
+    DockerEngineConnection connection;
+    while ((connection = idleConnections.pollFirst()) != null) {
+      if (connection.isClosed()) {
+        continue;
+      }
+      try {
+        return connection.exchange(method, path, Collections.emptyMap(), body, timeout, this::release);
+      } catch (IOException ex) {
+        // Stale keep-alive connection closed by the daemon, retry with the next one
+        connection.close();
+      }
+    }
+    connection = connector.connect();
+    return connection.exchange(method, path, Collections.emptyMap(), body, timeout, this::release);
+  }
+
+  private void release(DockerEngineConnection connection) {
+    if (idleConnections.size() < MAX_IDLE_CONNECTIONS) {
+      idleConnections.addFirst(connection);
+    } else {
+      connection.close();
+    }
+  }
+
+  private static void checkSuccessful(Response response, String message) throws IOException {
+    if (!response.isSuccessful()) {
+      throw new IOException(String.format("%s (%s): %s", message, response.getStatusCode(), response.readString()));
+    }
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  // The reference is percent-encoded (e.g. registry port, tag or digest separators), the path separators are kept
+  private static String imagePath(String image, String operation) {
+    return String.format("/images/%s/%s", encode(image).replace("%2F", "/").replace("+", "%20"), operation);
+  }
+}
@@ -0,0 +1,338 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Minimal HTTP/1.1 connection to the Docker Engine API.
+ *
+ * <p> Only the subset of the protocol used by the Engine API is supported (fixed length and chunked bodies).
+ * Connections are kept alive and returned to the owning pool once the response body has been fully consumed.
+ */
+final class DockerEngineConnection implements Closeable {
+
+  @FunctionalInterface
+  interface Connector {
+    DockerEngineConnection connect() throws IOException;
+  }
+
+  private final Closeable socket;
+  private final InputStream in;
+  private final OutputStream out;
+  private final AtomicBoolean closed;
+
+  private DockerEngineConnection(Closeable socket, InputStream in, OutputStream out) {
+    this.socket = socket;
+    this.in = new BufferedInputStream(in);
+    this.out = new BufferedOutputStream(out);
+    this.closed = new AtomicBoolean(false);
+  }
+
+  static Connector unixSocket(Path socketPath) {
+    return () -> {
+      final SocketChannel channel;
+      try {
+        // UnixDomainSocketAddress is only available in Java 16+, the project still targets Java 11
+        final SocketAddress address = (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress")
+          .getMethod("of", Path.class).invoke(null, socketPath);
+        channel = (SocketChannel) SocketChannel.class.getMethod("open", ProtocolFamily.class)
+          .invoke(null, StandardProtocolFamily.valueOf("UNIX"));
+        channel.connect(address);
+      } catch (IOException ex) {
+        throw ex;
+      } catch (ReflectiveOperationException | IllegalArgumentException ex) {
+        throw new IOException("Unix domain sockets are not supported by this JVM", ex);
+      }
+      return new DockerEngineConnection(channel, Channels.newInputStream(channel), Channels.newOutputStream(channel));
+    };
+  }
+
+  static Connector tcpSocket(String host, int port) {
+    return () -> {
+      final Socket socket = new Socket();
+      socket.connect(new InetSocketAddress(host, port), 5000);
+      return new DockerEngineConnection(socket, socket.getInputStream(), socket.getOutputStream());
+    };
+  }
+
+  boolean isClosed() {
+    return closed.get();
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      try {
+        socket.close();
+      } catch (IOException ignore) {
+        // NO OP
+      }
+    }
+  }
+
+  /**
+   * Sends the request and parses the response headers.
+   *
+   * <p> If the response body isn't completely read before the timeout expires the connection is closed
+   * so that any blocked read fails instead of hanging forever.
+   */
+  Response exchange(String method, String pathAndQuery, Map<String, String> headers, RequestBody body,
+    Duration timeout, Consumer<DockerEngineConnection> release) throws IOException {
+
+    final AtomicReference<Response> response = new AtomicReference<>();
+    CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+      if (response.get() == null || !response.get().completed) {
+        close();
+      }
+    });
+    final StringBuilder request = new StringBuilder()
+      .append(method).append(' ').append(pathAndQuery).append(" HTTP/1.1\r\n")
+      .append("Host: docker\r\n");
+    headers.forEach((k, v) -> request.append(k).append(": ").append(v).append("\r\n"));
+    if (body != null) {
+      request.append("Content-Length: ").append(body.length()).append("\r\n");
+    } else if (!method.equals("GET") && !method.equals("HEAD")) {
+      request.append("Content-Length: 0\r\n");
+    }
+    request.append("\r\n");
+    out.write(request.toString().getBytes(StandardCharsets.ISO_8859_1));
+    if (body != null) {
+      body.writeTo(out);
+    }
+    out.flush();
+    final String statusLine = readLine();
+    final String[] status = statusLine.split(" ", 3);
+    if (status.length < 2 || !status[0].startsWith("HTTP/")) {
+      close();
+      throw new IOException("Invalid response from Docker daemon: " + statusLine);
+    }
+    final Map<String, String> responseHeaders = new HashMap<>();
+    String headerLine;
+    while (!(headerLine = readLine()).isEmpty()) {
+      final int colon = headerLine.indexOf(':');
+      if (colon > 0) {
+        responseHeaders.put(headerLine.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+          headerLine.substring(colon + 1).trim());
+      }
+    }
+    final int statusCode = Integer.parseInt(status[1]);
+    final boolean keepAlive = status[0].equals("HTTP/1.1") &&
+      !"close".equalsIgnoreCase(responseHeaders.get("connection"));
+    final InputStream responseBody;
+    boolean delimited = true;
+    if (method.equals("HEAD") || statusCode == 204 || statusCode == 304) {
+      responseBody = InputStream.nullInputStream();
+    } else if ("chunked".equalsIgnoreCase(responseHeaders.get("transfer-encoding"))) {
+      responseBody = new ChunkedInputStream(in);
+    } else if (responseHeaders.containsKey("content-length")) {
+      responseBody = new FixedLengthInputStream(in, Long.parseLong(responseHeaders.get("content-length")));
+    } else {
+      responseBody = in;
+      delimited = false;
+    }
+    response.set(new Response(statusCode, responseBody, keepAlive && delimited, release));
+    return response.get();
+  }
+
+  private String readLine() throws IOException {
+    final ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+    int c;
+    while ((c = in.read()) != -1) {
+      if (c == '\n') {
+        break;
+      }
+      if (c != '\r') {
+        line.write(c);
+      }
+    }
+    if (c == -1 && line.size() == 0) {
+      throw new IOException("Connection to Docker daemon closed unexpectedly");
+    }
+    return line.toString(StandardCharsets.ISO_8859_1);
+  }
+
+  interface RequestBody {
+    long length();
+
+    void writeTo(OutputStream out) throws IOException;
+  }
+
+  final class Response extends FilterInputStream {
+
+    private final int statusCode;
+    private final boolean reusable;
+    private final Consumer<DockerEngineConnection> release;
+    private volatile boolean completed;
+
+    private Response(int statusCode, InputStream body, boolean reusable, Consumer<DockerEngineConnection> release) {
+      super(body);
+      this.statusCode = statusCode;
+      this.reusable = reusable;
+      this.release = release;
+    }
+
+    int getStatusCode() {
+      return statusCode;
+    }
+
+    boolean isSuccessful() {
+      return statusCode >= 200 && statusCode < 300;
+    }
+
+    String readString() throws IOException {
+      try {
+        return new String(readAllBytes(), StandardCharsets.UTF_8);
+      } finally {
+        close();
+      }
+    }
+
+    @Override
+    public void close() {
+      if (completed) {
+        return;
+      }
+      completed = true;
+      boolean fullyConsumed = false;
+      try {
+        fullyConsumed = reusable && in.read() == -1;
+      } catch (IOException ignore) {
+        // NO OP
+      }
+      if (fullyConsumed && !isClosed()) {
+        release.accept(DockerEngineConnection.this);
+      } else {
+        DockerEngineConnection.this.close();
+      }
+    }
+  }
+
+  private static final class FixedLengthInputStream extends FilterInputStream {
+
+    private long remaining;
+
+    private FixedLengthInputStream(InputStream in, long length) {
+      super(in);
+      this.remaining = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (remaining <= 0) {
+        return -1;
+      }
+      final int b = in.read();
+      if (b == -1) {
+        throw new IOException("Unexpected end of response body");
+      }
+      remaining--;
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (remaining <= 0) {
+        return -1;
+      }
+      final int read = in.read(b, off, (int) Math.min(len, remaining));
+      if (read == -1) {
+        throw new IOException("Unexpected end of response body");
+      }
+      remaining -= read;
+      return read;
+    }
+
+    @Override
+    public void close() {
+      // Underlying stream belongs to the connection
+    }
+  }
+
+  private final class ChunkedInputStream extends FilterInputStream {
+
+    private long chunkRemaining;
+    private boolean eof;
+
+    private ChunkedInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      final byte[] single = new byte[1];
+      final int read = read(single, 0, 1);
+      return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (eof) {
+        return -1;
+      }
+      if (chunkRemaining == 0) {
+        final String chunkHeader = readLine();
+        final int extension = chunkHeader.indexOf(';');
+        chunkRemaining = Long.parseLong((extension >= 0 ? chunkHeader.substring(0, extension) : chunkHeader).trim(), 16);
+        if (chunkRemaining == 0) {
+          // Consume (empty) trailers
+          while (!readLine().isEmpty()) {
+            // NO OP
+          }
+          eof = true;
+          return -1;
+        }
+      }
+      final int read = in.read(b, off, (int) Math.min(len, chunkRemaining));
+      if (read == -1) {
+        throw new IOException("Unexpected end of chunked response body");
+      }
+      chunkRemaining -= read;
+      if (chunkRemaining == 0) {
+        readLine();
+      }
+      return read;
+    }
+
+    @Override
+    public void close() {
+      // Underlying stream belongs to the connection
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import org.eclipse.jkube.integrationtests.docker.DockerUtils.DockerImage;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Image metadata shared by all the test classes.
+ *
+ * <p> Labels, history, layers and file indexes are keyed by image ID, since an image ID identifies
+ * immutable content they never need to be invalidated. The local image list and the reference (tag) to ID resolution
+ * are cached until {@link #invalidate()} is called (e.g. after a k8s:build/oc:build invocation, a pull, or a load),
+ * since any of these may move a tag. The labels are taken from the same inspection that resolves the ID.
+ */
+final class DockerImageCache {
+
+  private final Map<String, Map<String, String>> labels;
+  private final Map<String, List<String>> history;
+  private final Map<String, ImageLayers> layers;
+  private final Map<String, ImageFileIndex> fileIndexes;
+  private final Map<String, String> imageIds;
+  private final AtomicLong generation;
+  private volatile List<DockerImage> images;
+
+  DockerImageCache() {
+    labels = new ConcurrentHashMap<>();
+    history = new ConcurrentHashMap<>();
+    layers = new ConcurrentHashMap<>();
+    fileIndexes = new ConcurrentHashMap<>();
+    imageIds = new ConcurrentHashMap<>();
+    generation = new AtomicLong();
+  }
+
+  String imageId(String reference, Loader<Inspection> loader) throws IOException, InterruptedException {
+    final String cached = imageIds.get(reference);
+    if (cached != null) {
+      return cached;
+    }
+    final long loadGeneration = generation.get();
+    final Inspection inspection = loader.load();
+    labels.putIfAbsent(inspection.id, inspection.labels == null ?
+      Collections.emptyMap() : Collections.unmodifiableMap(inspection.labels));
+    synchronized (this) {
+      // Don't publish a resolution made before (or while) a build invalidated the cache
+      if (loadGeneration == generation.get()) {
+        imageIds.put(reference, inspection.id);
+      }
+    }
+    return inspection.id;
+  }
+
+  Map<String, String> labels(String imageId, Loader<Map<String, String>> loader)
+    throws IOException, InterruptedException {
+
+    return get(labels, imageId, () -> {
+      final Map<String, String> imageLabels = loader.load();
+      return imageLabels == null ? Collections.emptyMap() : Collections.unmodifiableMap(imageLabels);
+    });
+  }
+
+  List<String> history(String imageId, Loader<List<String>> loader) throws IOException, InterruptedException {
+    return get(history, imageId, () -> Collections.unmodifiableList(loader.load()));
+  }
+
+  ImageLayers layers(String imageId, Loader<ImageLayers> loader) throws IOException, InterruptedException {
+    return get(layers, imageId, loader);
+  }
+
+  /**
+   * @return the file index of the already analyzed layers of the image, or the one loaded on its own.
+   */
+  ImageFileIndex fileIndex(String imageId, Loader<ImageFileIndex> loader) throws IOException, InterruptedException {
+    final ImageLayers analyzed = layers.get(imageId);
+    if (analyzed != null) {
+      return analyzed.getFileIndex();
+    }
+    return get(fileIndexes, imageId, loader);
+  }
+
+  List<DockerImage> images(Loader<List<DockerImage>> loader) throws IOException, InterruptedException {
+    List<DockerImage> current = images;
+    if (current == null) {
+      final long loadGeneration = generation.get();
+      current = Collections.unmodifiableList(loader.load());
+      synchronized (this) {
+        // Don't publish a list loaded before (or while) a build invalidated the cache
+        if (loadGeneration == generation.get()) {
+          images = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  synchronized void invalidate() {
+    generation.incrementAndGet();
+    images = null;
+    imageIds.clear();
+  }
+
+  private static <T> T get(Map<String, T> cache, String imageId, Loader<T> loader)
+    throws IOException, InterruptedException {
+
+    final T cached = cache.get(imageId);
+    if (cached != null) {
+      return cached;
+    }
+    // Concurrent loads for the same ID are harmless (same content), computeIfAbsent would block unrelated IDs
+    final T loaded = loader.load();
+    final T previous = cache.putIfAbsent(imageId, loaded);
+    return previous != null ? previous : loaded;
+  }
+
+  static final class Inspection {
+    private final String id;
+    private final Map<String, String> labels;
+
+    Inspection(String id, Map<String, String> labels) {
+      this.id = id;
+      this.labels = labels;
+    }
+
+    Map<String, String> getLabels() {
+      return labels;
+    }
+  }
+
+  @FunctionalInterface
+  interface Loader<T> {
+    T load() throws IOException, InterruptedException;
+  }
+}
@@ -19,83 +19,375 @@ import org.eclipse.jkube.integrationtests.cli.CliUtils.CliResult;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Could be done using Docker Client included in docker-maven-plugin (or any other).
- * Current approach (use of CLI) is preferred as it's completely independent from FMP.
+ * Current approach (Engine API over the daemon socket with the CLI as fallback) is preferred as it's completely
+ * independent from FMP.
+ *
+ * <p> The {@value #DOCKER_CLIENT_SYSTEM_PROPERTY} system property selects the client: {@code auto} (default, Engine
+ * API when the daemon socket is reachable), {@code api}, or {@code cli}.
  */
 public class DockerUtils {
 
+  public static final String DOCKER_CLIENT_SYSTEM_PROPERTY = "dockerClient";
+  private static final Duration QUERY_TIMEOUT = Duration.ofMinutes(2);
+  private static final DockerImageCache IMAGE_CACHE = new DockerImageCache();
+  private static final String CLI_HISTORY_FORMAT =
+    "{{.ID}}\\t{{.CreatedSince}}\\t{{.CreatedBy}}\\t{{.Size}}\\t{{.Comment}}";
+  private static final DateTimeFormatter CLI_CREATED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z");
+
   private DockerUtils() {
   }
 
+  // Initialization on demand
+  private static class DockerEngineClientHolder {
+    public static final DockerEngineClient INSTANCE = initDockerEngineClient();
+
+    private static DockerEngineClient initDockerEngineClient() {
+      final String dockerClient = System.getProperty(DOCKER_CLIENT_SYSTEM_PROPERTY, "auto");
+      if (dockerClient.equalsIgnoreCase("cli")) {
+        return null;
+      }
+      final Optional<DockerEngineClient> engineClient = DockerEngineClient.fromEnvironment();
+      if (engineClient.isEmpty() && dockerClient.equalsIgnoreCase("api")) {
+        throw new IllegalStateException("Docker Engine API is not reachable and CLI fallback is disabled");
+      }
+      return engineClient.orElse(null);
+    }
+  }
+
+  private static DockerEngineClient engine() {
+    return DockerEngineClientHolder.INSTANCE;
+  }
+
+  /**
+   * Lists the local images, the list is cached until {@link #invalidateImageCache()} is called.
+   */
   public static List<DockerImage> dockerImages() throws IOException, InterruptedException {
+    return IMAGE_CACHE.images(DockerUtils::loadDockerImages);
+  }
+
+  /**
+   * Invalidates the cached local image list (image ID keyed metadata is immutable and remains cached).
+   *
+   * <p> Must be called whenever images are built, tagged, pulled, loaded or removed (e.g. after k8s:build or oc:build);
+   * {@link #pull(String)} and {@link #loadTar(File)} invalidate the cache themselves.
+   */
+  public static void invalidateImageCache() {
+    IMAGE_CACHE.invalidate();
+  }
+
+  /**
+   * Inspects the image with the provided reference (repository[:tag], repository@digest or ID) without listing all the
+   * local images.
+   *
+   * @return the image or an empty Optional if there's no such local image.
+   */
+  public static Optional<DockerImage> findImage(String reference) throws IOException, InterruptedException {
+    // e.g. repository@sha256:<hex> or repository:tag@sha256:<hex>, the digest isn't a tag
+    final int digestSeparator = reference.indexOf('@');
+    final String name = digestSeparator < 0 ? reference : reference.substring(0, digestSeparator);
+    final int tagSeparator = name.lastIndexOf(':');
+    final boolean tagged = tagSeparator > name.lastIndexOf('/');
+    final String repository = tagged ? name.substring(0, tagSeparator) : name;
+    final String tag;
+    if (tagged) {
+      tag = name.substring(tagSeparator + 1);
+    } else {
+      tag = digestSeparator < 0 ? "latest" : "<none>";
+    }
+    if (engine() != null) {
+      return engine().findImage(reference).map(image -> new DockerImage(repository, tag,
+        shortId(String.valueOf(image.get("Id"))), Instant.parse(String.valueOf(image.get("Created"))), null));
+    }
     final CliResult result = CliUtils.runCommand(
-        "docker -l error images --format=\"{{.Repository}}\\t{{.Tag}}\\t{{.ID}}\\t{{.CreatedSince}}\"");
+      String.format("docker image inspect -f \"{{.Id}} {{.Created}}\" %s", reference), QUERY_TIMEOUT);
+    if (result.getExitCode() != 0) {
+      return Optional.empty();
+    }
+    final String[] idAndCreated = result.getOutput().trim().split(" ");
+    return Optional.of(new DockerImage(repository, tag, shortId(idAndCreated[0]), Instant.parse(idAndCreated[1]), null));
+  }
+
+  private static List<DockerImage> loadDockerImages() throws IOException, InterruptedException {
+    final List<DockerImage> images = new ArrayList<>();
+    if (engine() != null) {
+      engine().images(image -> {
+        final String id = shortId(String.valueOf(image.get("Id")));
+        final Instant created = Instant.ofEpochSecond(((Number) image.get("Created")).longValue());
+        final List<?> repoTags = (List<?>) image.get("RepoTags");
+        if (repoTags == null || repoTags.isEmpty()) {
+          images.add(new DockerImage("<none>", "<none>", id, created, null));
+          return;
+        }
+        for (Object repoTag : repoTags) {
+          final String reference = String.valueOf(repoTag);
+          final int tagSeparator = reference.lastIndexOf(':');
+          images.add(new DockerImage(reference.substring(0, tagSeparator), reference.substring(tagSeparator + 1),
+            id, created, null));
+        }
+      });
+      return images;
+    }
+    final CliResult result = CliUtils.runCommand(
+        "docker -l error images --format=\"{{.Repository}}\\t{{.Tag}}\\t{{.ID}}\\t{{.CreatedSince}}\\t{{.CreatedAt}}\"",
+        QUERY_TIMEOUT, nonEmpty(cliImageLine -> {
+          final String[] parsedImageLine = cliImageLine.split("\t");
+          images.add(new DockerImage(parsedImageLine[0], parsedImageLine[1], parsedImageLine[2],
+            parseCliCreatedAt(parsedImageLine.length > 4 ? parsedImageLine[4] : ""), parsedImageLine[3]));
+        }));
     if (result.getExitCode() != 0) {
       throw new IOException(String.format("Docker: %s", result.getOutput()));
     }
-    return Stream.of(result.getOutput().replace("\r", "").split("\n"))
-        .map(cliImageLine -> cliImageLine.split("\t"))
-        .map(parsedImageLine ->
-            new DockerImage(parsedImageLine[0], parsedImageLine[1], parsedImageLine[2],
-                parsedImageLine[3]))
-        .collect(Collectors.toList());
+    return images;
   }
 
+  /**
+   * Lists the provided directory and all of its descendants in the image filesystem (same entries as
+   * {@code find baseDir -print}).
+   *
+   * <p> The file index is computed once per image ID from the saved image layers (no container is started), the file
+   * contents are only hashed if the {@link ImageLayerAnalysis} is enabled for the image.
+   */
   public static List<String> listImageFiles(String imageName, String baseDir) throws IOException, InterruptedException {
-    final CliResult result = CliUtils.runCommand(String.format(
-      "docker run --rm -t --entrypoint \"/bin/sh\" %s -c 'find %s -print'",
-      imageName,
-      Optional.ofNullable(baseDir).orElse("/")
-    ));
-    return Arrays.asList(result.getOutput().replace("\r", "").split("\n"));
+    return imageFileIndex(imageName).list(baseDir);
+  }
+
+  public static ImageFileIndex imageFileIndex(String imageName) throws IOException, InterruptedException {
+    if (ImageLayerAnalysis.isEnabled(imageName)) {
+      // The image will be analyzed too, a single pass
+      return imageLayers(imageName).getFileIndex();
+    }
+    final String imageId = getImageId(imageName);
+    return IMAGE_CACHE.fileIndex(imageId, () -> saveImage(imageName, imageId, false).getFileIndex());
+  }
+
+  /**
+   * Returns the layers of the image (size, creating instruction, and wasted bytes) and its file index.
+   *
+   * <p> The image is saved and analyzed once per image ID.
+   */
+  public static ImageLayers imageLayers(String imageName) throws IOException, InterruptedException {
+    final String imageId = getImageId(imageName);
+    return IMAGE_CACHE.layers(imageId, () -> saveImage(imageName, imageId, true));
+  }
+
+  private static ImageLayers saveImage(String imageName, String imageId, boolean trackContents)
+    throws IOException, InterruptedException {
+
+    final AtomicReference<ImageLayers> layers = new AtomicReference<>();
+    if (engine() != null) {
+      engine().save(imageId, stream -> layers.set(ImageLayers.fromImageArchive(stream, trackContents)));
+      return layers.get();
+    }
+    final CliResult result = CliUtils.streamCommand(String.format("docker save %s", imageName),
+      CliUtils.DEFAULT_TIMEOUT, stream -> layers.set(ImageLayers.fromImageArchive(stream, trackContents)));
+    if (result.getExitCode() != 0 || layers.get() == null) {
+      throw new IOException(String.format("Docker image was not saved: %s", result.getOutput()));
+    }
+    return layers.get();
+  }
+
+  public static String getImageId(String imageName) throws IOException, InterruptedException {
+    return IMAGE_CACHE.imageId(imageName, () -> inspect(imageName));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static DockerImageCache.Inspection inspect(String imageName) throws IOException, InterruptedException {
+    if (engine() != null) {
+      final Map<String, Object> image = engine().inspectImage(imageName);
+      final Map<String, Object> config = (Map<String, Object>) image.get("Config");
+      return new DockerImageCache.Inspection(String.valueOf(image.get("Id")),
+        config == null ? null : (Map<String, String>) config.get("Labels"));
+    }
+    final CliResult result = CliUtils.runCommand(
+      String.format("docker image inspect -f \"{{.Id}} {{json .Config.Labels}}\" %s", imageName), QUERY_TIMEOUT);
+    if (result.getExitCode() != 0) {
+      throw new IOException(String.format("Error in getting image ID: %s", result.getOutput()));
+    }
+    final String[] idAndLabels = result.getOutput().trim().split(" ", 2);
+    return new DockerImageCache.Inspection(idAndLabels[0],
+      new ObjectMapper().readValue(idAndLabels.length > 1 ? idAndLabels[1] : "null", Map.class));
   }
 
   public static void pull(String image) throws IOException, InterruptedException {
+    if (engine() != null) {
+      try {
+        engine().pull(image);
+      } finally {
+        invalidateImageCache();
+      }
+      return;
+    }
     final CliResult result = CliUtils.runCommand(String.format(
       "docker pull %s", image
     ));
+    invalidateImageCache();
     if (result.getExitCode() != 0) {
       throw new IOException(String.format("Docker image was not pulled: %s", result.getOutput()));
     }
   }
 
+  /**
+   * Returns the image history, one tab separated line per layer (no header) with the same columns as the default
+   * {@code docker history} output: IMAGE, CREATED, CREATED BY (not truncated), SIZE, and COMMENT.
+   *
+   * <p> Both the Engine API and the CLI backends produce the same format. The history is cached per image ID so the
+   * CREATED column is relative to the first query.
+   */
   public static List<String> getImageHistory(String imageName) throws IOException, InterruptedException {
-    final CliResult result = CliUtils.runCommand(String.format("docker history %s", imageName));
-    return Arrays.asList(result.getOutput().replace("\r", "").split("\n"));
+    return IMAGE_CACHE.history(getImageId(imageName), () -> loadImageHistory(imageName));
+  }
+
+  private static List<String> loadImageHistory(String imageName) throws IOException, InterruptedException {
+    final List<String> history = new ArrayList<>();
+    if (engine() != null) {
+      final Instant now = Instant.now();
+      for (Map<String, Object> layer : engine().imageHistory(imageName)) {
+        history.add(String.join("\t",
+          shortId(String.valueOf(layer.get("Id"))),
+          humanDuration(Duration.between(
+            Instant.ofEpochSecond(((Number) layer.get("Created")).longValue()), now)) + " ago",
+          String.valueOf(layer.get("CreatedBy")),
+          humanSize(((Number) layer.get("Size")).longValue()),
+          Optional.ofNullable(layer.get("Comment")).map(String::valueOf).orElse("")
+        ));
+      }
+      return history;
+    }
+    final CliResult result = CliUtils.runCommand(String.format(
+      "docker history --no-trunc --format=\"%s\" %s", CLI_HISTORY_FORMAT, imageName), QUERY_TIMEOUT, nonEmpty(line -> {
+        final int idEnd = line.indexOf('\t');
+        history.add(idEnd < 0 ? line : shortId(line.substring(0, idEnd)) + line.substring(idEnd));
+      }));
+    if (result.getExitCode() != 0) {
+      throw new IOException(String.format("Error in getting image history: %s", result.getOutput()));
+    }
+    return history;
   }
 
   public static void loadTar(File dockerBuildTar) throws IOException, InterruptedException {
+    if (engine() != null) {
+      try {
+        engine().load(dockerBuildTar);
+      } finally {
+        invalidateImageCache();
+      }
+      return;
+    }
     final CliResult result = CliUtils.runCommand(String.format(
       "docker load -i %s", dockerBuildTar.getAbsolutePath()
     ));
+    invalidateImageCache();
     if (result.getExitCode() != 0) {
       throw new IOException(String.format("Docker image was not loaded: %s", result.getOutput()));
     }
   }
 
   public static List<String> listDockerVolumeNames() throws IOException, InterruptedException {
-    final CliResult result = CliUtils.runCommand("docker volume ls --format=\"{{.Name}}\"");
+    if (engine() != null) {
+      return engine().volumeNames();
+    }
+    final List<String> volumeNames = new ArrayList<>();
+    final CliResult result = CliUtils.runCommand("docker volume ls --format=\"{{.Name}}\"",
+      QUERY_TIMEOUT, nonEmpty(volumeNames::add));
     if (result.getExitCode() != 0) {
       throw new IOException(String.format("Error in listing docker volumes: %s", result.getOutput()));
     }
-    return Arrays.asList(result.getOutput().split("\r?\n"));
+    return volumeNames;
   }
 
+  /**
+   * Returns the image labels, taken from the (cached) inspection that resolves the image ID.
+   */
   public static Map<String, String> getLabels(String id) throws IOException, InterruptedException {
-    final CliResult result = CliUtils.runCommand(String.format("docker inspect -f \"{{json .Config.Labels}}\" %s", id));
-    if (result.getExitCode() != 0) {
-      throw new IOException(String.format("Error in getting labels: %s", result.getOutput()));
+    final String imageId = getImageId(id);
+    return IMAGE_CACHE.labels(imageId, () -> inspect(imageId).getLabels());
+  }
+
+  private static String shortId(String id) {
+    if (id.startsWith("sha256:")) {
+      return id.substring("sha256:".length(), Math.min(id.length(), "sha256:".length() + 12));
+    }
+    return id;
+  }
+
+  /**
+   * Same representation as the one used by the docker CLI (go-units HumanDuration).
+   */
+  static String humanDuration(Duration duration) {
+    final long seconds = duration.getSeconds();
+    final long minutes = duration.toMinutes();
+    final long hours = Math.round(duration.getSeconds() / 3600d);
+    if (seconds < 1) {
+      return "Less than a second";
+    } else if (seconds == 1) {
+      return "1 second";
+    } else if (seconds < 60) {
+      return seconds + " seconds";
+    } else if (minutes == 1) {
+      return "About a minute";
+    } else if (minutes < 60) {
+      return minutes + " minutes";
+    } else if (hours == 1) {
+      return "About an hour";
+    } else if (hours < 48) {
+      return hours + " hours";
+    } else if (hours < 24 * 7 * 2) {
+      return hours / 24 + " days";
+    } else if (hours < 24 * 30 * 2) {
+      return hours / 24 / 7 + " weeks";
+    } else if (hours < 24 * 365 * 2) {
+      return hours / 24 / 30 + " months";
+    }
+    return duration.toHours() / 24 / 365 + " years";
+  }
+
+  /**
+   * Same representation as the one used by the docker CLI (go-units HumanSize, 3 significant digits, SI units).
+   */
+  static String humanSize(long bytes) {
+    final String[] units = {"B", "kB", "MB", "GB", "TB", "PB"};
+    double size = bytes;
+    int unit = 0;
+    while (size >= 1000D && unit < units.length - 1) {
+      size /= 1000D;
+      unit++;
+    }
+    return new BigDecimal(size).round(new MathContext(3)).stripTrailingZeros().toPlainString() + units[unit];
+  }
+
+  /**
+   * Parses the CreatedAt representation of the docker CLI (e.g. {@code 2021-01-15 10:20:30 +0100 CET}).
+   */
+  private static Instant parseCliCreatedAt(String createdAt) {
+    try {
+      return ZonedDateTime.parse(createdAt.substring(0, Math.min(createdAt.length(), 25)), CLI_CREATED_AT).toInstant();
+    } catch (DateTimeParseException ex) {
+      return null;
     }
-    ObjectMapper objectMapper = new ObjectMapper();
-    return objectMapper.readValue(result.getOutput(), Map.class);
+  }
+
+  private static Consumer<String> nonEmpty(Consumer<String> lineConsumer) {
+    return line -> {
+      if (!line.isBlank()) {
+        lineConsumer.accept(line);
+      }
+    };
   }
 
   public static final class DockerImage {
@@ -103,12 +395,14 @@ public class DockerUtils {
     private final String repository;
     private final String tag;
     private final String id;
+    private final Instant created;
     private final String createdSince;
 
-    private DockerImage(String repository, String tag, String id, String createdSince) {
+    private DockerImage(String repository, String tag, String id, Instant created, String createdSince) {
       this.repository = repository;
       this.tag = tag;
       this.id = id;
+      this.created = created;
       this.createdSince = createdSince;
     }
 
@@ -124,8 +418,18 @@ public class DockerUtils {
       return id;
     }
 
+    public Instant getCreated() {
+      return created;
+    }
+
+    /**
+     * Same representation as the CREATED column of {@code docker images}, computed when called (not when listed).
+     */
     public String getCreatedSince() {
-      return createdSince;
+      if (created == null) {
+        return createdSince;
+      }
+      return humanDuration(Duration.between(created, Instant.now())) + " ago";
     }
   }
 }
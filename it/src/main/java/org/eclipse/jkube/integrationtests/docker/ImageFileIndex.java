@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index of the paths present in the filesystem of an image.
+ *
+ * <p> The index is computed by streaming the layer tarballs of a {@code docker save} archive and applying them in
+ * order (including whiteout and opaque directory markers), so no container (or shell in the image) is needed.
+ */
+public final class ImageFileIndex {
+
+  private static final String WHITEOUT_PREFIX = ".wh.";
+  private static final String OPAQUE_WHITEOUT = ".wh..wh..opq";
+
+  private final NavigableSet<String> paths;
+
+  private ImageFileIndex(NavigableSet<String> paths) {
+    this.paths = Collections.unmodifiableNavigableSet(paths);
+  }
+
+  /**
+   * Builds the index from a {@code docker save} (legacy or OCI layout) archive stream.
+   */
+  public static ImageFileIndex fromImageArchive(InputStream imageArchive) throws IOException {
+    return ImageLayers.fromImageArchive(imageArchive).getFileIndex();
+  }
+
+  /**
+   * Builds the index applying the provided layer changes in order (from the base layer).
+   */
+  static ImageFileIndex of(List<LayerChanges> layers) {
+    final NavigableSet<String> paths = new TreeSet<>();
+    paths.add("/");
+    layers.forEach(changes -> changes.applyTo(paths));
+    return new ImageFileIndex(paths);
+  }
+
+  public boolean contains(String path) {
+    return paths.contains(normalizePath(path));
+  }
+
+  /**
+   * Lists the provided directory and all of its descendants (same entries as {@code find baseDir -print}).
+   */
+  public List<String> list(String baseDir) {
+    final String dir = normalizePath(Optional.ofNullable(baseDir).orElse("/"));
+    if (!paths.contains(dir)) {
+      return Collections.emptyList();
+    }
+    final List<String> result = new ArrayList<>();
+    result.add(dir);
+    result.addAll(descendants(paths, dir));
+    return result;
+  }
+
+  public int size() {
+    return paths.size();
+  }
+
+  static NavigableSet<String> descendants(NavigableSet<String> paths, String dir) {
+    final String prefix = dir.equals("/") ? "/" : dir + "/";
+    return paths.subSet(prefix, false, prefix + Character.MAX_VALUE, false);
+  }
+
+  static String normalizeArchiveName(String name) {
+    return name.startsWith("./") ? name.substring(2) : name;
+  }
+
+  static String normalizePath(String path) {
+    String normalized = path.startsWith("./") ? path.substring(1) : path;
+    if (!normalized.startsWith("/")) {
+      normalized = "/" + normalized;
+    }
+    while (normalized.length() > 1 && normalized.endsWith("/")) {
+      normalized = normalized.substring(0, normalized.length() - 1);
+    }
+    return normalized;
+  }
+
+  private static String parent(String path) {
+    final int lastSlash = path.lastIndexOf('/');
+    return lastSlash <= 0 ? "/" : path.substring(0, lastSlash);
+  }
+
+  static final class LayerChanges {
+
+    private final Set<String> added = new TreeSet<>();
+    private final Set<String> whiteouts = new TreeSet<>();
+    private final Set<String> opaqueDirectories = new TreeSet<>();
+
+    /**
+     * Records a layer tar entry.
+     *
+     * @return the normalized path of the entry if it adds a path to the filesystem, null for whiteout markers.
+     */
+    String accept(String entryName) {
+      final String path = normalizePath(entryName);
+      final String fileName = path.substring(path.lastIndexOf('/') + 1);
+      if (fileName.equals(OPAQUE_WHITEOUT)) {
+        opaqueDirectories.add(parent(path));
+        return null;
+      } else if (fileName.startsWith(WHITEOUT_PREFIX)) {
+        whiteouts.add(parent(path).equals("/") ?
+          "/" + fileName.substring(WHITEOUT_PREFIX.length()) :
+          parent(path) + "/" + fileName.substring(WHITEOUT_PREFIX.length()));
+        return null;
+      }
+      added.add(path);
+      return path;
+    }
+
+    Set<String> getWhiteouts() {
+      return whiteouts;
+    }
+
+    Set<String> getOpaqueDirectories() {
+      return opaqueDirectories;
+    }
+
+    private void applyTo(NavigableSet<String> paths) {
+      // Whiteouts only affect the lower layers, so they're applied before the layer contents
+      opaqueDirectories.forEach(dir -> descendants(paths, dir).clear());
+      for (String whiteout : whiteouts) {
+        paths.remove(whiteout);
+        descendants(paths, whiteout).clear();
+      }
+      for (String path : added) {
+        String current = path;
+        while (paths.add(current)) {
+          current = parent(current);
+        }
+      }
+    }
+  }
+}
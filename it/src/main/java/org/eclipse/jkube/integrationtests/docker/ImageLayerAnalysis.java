@@ -0,0 +1,322 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Size and layer efficiency of the images built by the tests.
+ *
+ * <p> For each analyzed image, the {@link ImageLayers} (size, creating instruction, shadowed and duplicated bytes)
+ * are written to {@value #JSON_REPORT}. The images built in the same run are compared in pairs: the bytes of the
+ * layers they share (same digest, only pulled once by a node) and the bytes of the tracked files that are duplicated
+ * in layers that are not shared (e.g. the same dependencies in a fat jar and in a layered jar).
+ *
+ * <p> Size budgets per image repository (e.g. {@code integration-tests/spring-boot-complete=350MiB}) are read from
+ * the properties file provided with the {@value #IMAGE_SIZE_BUDGETS_SYSTEM_PROPERTY} system property (defaults to
+ * the {@value #DEFAULT_BUDGETS_RESOURCE} resource, {@code off} to disable). Saving and hashing the image layers is
+ * expensive, so by default only the images with a budget are analyzed: the
+ * {@value #IMAGE_LAYER_ANALYSIS_SYSTEM_PROPERTY} system property can be set to {@code on} to analyze every image
+ * (e.g. to report the sizes before setting budgets, written to {@value #BUDGETS_REPORT}) or to {@code off}.
+ */
+public class ImageLayerAnalysis {
+
+  public static final String IMAGE_LAYER_ANALYSIS_SYSTEM_PROPERTY = "imageLayerAnalysis";
+  public static final String IMAGE_SIZE_BUDGETS_SYSTEM_PROPERTY = "imageSizeBudgets";
+  public static final String JSON_REPORT = "jkube-image-layers.json";
+  public static final String BUDGETS_REPORT = "jkube-image-size-budgets.properties";
+  private static final String DEFAULT_BUDGETS_RESOURCE = "/image-size-budgets.properties";
+  private static final Pattern SIZE =
+    Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*([KMGT]i?B?|B)?", Pattern.CASE_INSENSITIVE);
+  private static final int SUMMARY_PAIRS = 5;
+  private static final int BUDGET_HEADROOM_PERCENT = 10;
+  private static final Map<String, Image> IMAGES = new LinkedHashMap<>();
+
+  private ImageLayerAnalysis() { }
+
+  /**
+   * @return true if the provided image (repository[:tag]) should be analyzed.
+   */
+  public static boolean isEnabled(String imageName) throws IOException {
+    final String imageLayerAnalysis = System.getProperty(IMAGE_LAYER_ANALYSIS_SYSTEM_PROPERTY, "budget")
+      .toLowerCase(Locale.ROOT);
+    switch (imageLayerAnalysis) {
+      case "budget":
+        return budgets().containsKey(repository(imageName));
+      case "on":
+        return true;
+      case "off":
+        return false;
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Unsupported %s: %s (budget, on, off)", IMAGE_LAYER_ANALYSIS_SYSTEM_PROPERTY, imageLayerAnalysis));
+    }
+  }
+
+  /**
+   * Analyzes the layers of the provided image (repository[:tag]) and records them for the report.
+   */
+  public static Image analyze(String imageName) throws IOException, InterruptedException {
+    final Image image = new Image(imageName, DockerUtils.getImageId(imageName), PhaseTimings.currentTest(),
+      DockerUtils.imageLayers(imageName));
+    synchronized (IMAGES) {
+      IMAGES.put(imageName, image);
+    }
+    return image;
+  }
+
+  /**
+   * @return a snapshot of the images analyzed so far.
+   */
+  public static List<Image> getImages() {
+    synchronized (IMAGES) {
+      return new ArrayList<>(IMAGES.values());
+    }
+  }
+
+  /**
+   * @return the size budget (in bytes) of each image repository.
+   */
+  public static Map<String, Long> budgets() throws IOException {
+    final String configured = System.getProperty(IMAGE_SIZE_BUDGETS_SYSTEM_PROPERTY, "");
+    final Properties properties = new Properties();
+    if (configured.equalsIgnoreCase("off")) {
+      return new HashMap<>();
+    } else if (configured.isBlank()) {
+      try (InputStream resource = ImageLayerAnalysis.class.getResourceAsStream(DEFAULT_BUDGETS_RESOURCE)) {
+        if (resource != null) {
+          properties.load(resource);
+        }
+      }
+    } else {
+      try (InputStream file = Files.newInputStream(Path.of(configured))) {
+        properties.load(file);
+      }
+    }
+    final Map<String, Long> budgets = new HashMap<>();
+    properties.stringPropertyNames().forEach(repository ->
+      budgets.put(repository, parseSize(properties.getProperty(repository))));
+    return budgets;
+  }
+
+  public static void write(File directory, List<Image> images) throws IOException {
+    final Map<String, Object> report = new LinkedHashMap<>();
+    report.put("images", images.stream().map(Image::toMap).collect(Collectors.toList()));
+    report.put("pairs", pairs(images).stream().map(ImagePair::toMap).collect(Collectors.toList()));
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(directory, JSON_REPORT), report);
+    // Measured sizes (plus some headroom, rounded up to MiB) in the format of the budgets file
+    final Map<String, Long> sizes = new TreeMap<>();
+    images.forEach(i -> sizes.merge(i.getRepository(), i.layers.getSize(), Math::max));
+    final List<String> budgets = new ArrayList<>();
+    sizes.forEach((repository, size) -> budgets.add(String.format("%s=%sMiB", repository,
+      (long) Math.ceil(size * (100D + BUDGET_HEADROOM_PERCENT) / 100D / (1024D * 1024D)))));
+    Files.write(directory.toPath().resolve(BUDGETS_REPORT), budgets);
+  }
+
+  /**
+   * @return human-readable list of the image sizes (largest first) and the pairs of images with the most duplicated
+   * bytes.
+   */
+  public static List<String> summary(List<Image> images) {
+    final List<String> lines = new ArrayList<>();
+    if (images.isEmpty()) {
+      return lines;
+    }
+    lines.add(String.format("Image sizes (%s):", images.size()));
+    images.stream().sorted(Comparator.comparingLong((Image i) -> i.layers.getSize()).reversed()).forEach(i ->
+      lines.add(String.format("  %10s %s (%s layers, %s shadowed, %s duplicated)", formatSize(i.layers.getSize()),
+        i.name, i.layers.getLayers().size(), formatSize(i.layers.getShadowedBytes()),
+        formatSize(i.layers.getDuplicatedBytes()))));
+    final List<ImagePair> duplicated = pairs(images).stream()
+      .filter(p -> p.duplicatedBytes > 0)
+      .sorted(Comparator.comparingLong((ImagePair p) -> p.duplicatedBytes).reversed())
+      .limit(SUMMARY_PAIRS)
+      .collect(Collectors.toList());
+    if (!duplicated.isEmpty()) {
+      lines.add("Bytes duplicated across images (not in shared layers):");
+      duplicated.forEach(p -> lines.add(String.format("  %10s %s - %s (%s in shared layers)",
+        formatSize(p.duplicatedBytes), p.first, p.second, formatSize(p.sharedLayerBytes))));
+    }
+    return lines;
+  }
+
+  static List<ImagePair> pairs(List<Image> images) {
+    final List<ImagePair> pairs = new ArrayList<>();
+    for (int i = 0; i < images.size(); i++) {
+      for (int j = i + 1; j < images.size(); j++) {
+        if (!images.get(i).id.equals(images.get(j).id)) {
+          pairs.add(new ImagePair(images.get(i), images.get(j)));
+        }
+      }
+    }
+    return pairs;
+  }
+
+  private static String repository(String imageName) {
+    final int tag = imageName.lastIndexOf(':');
+    return tag > imageName.lastIndexOf('/') ? imageName.substring(0, tag) : imageName;
+  }
+
+  static long parseSize(String value) {
+    final Matcher matcher = SIZE.matcher(value.trim());
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(String.format(
+        "Invalid %s size: %s (e.g. 350MiB)", IMAGE_SIZE_BUDGETS_SYSTEM_PROPERTY, value));
+    }
+    final String unit = Optional.ofNullable(matcher.group(2)).orElse("B").toUpperCase(Locale.ROOT);
+    final double base = unit.contains("I") || unit.length() == 1 ? 1024D : 1000D;
+    final int exponent = "BKMGT".indexOf(unit.charAt(0));
+    return Math.round(Double.parseDouble(matcher.group(1)) * Math.pow(base, exponent));
+  }
+
+  static String formatSize(long bytes) {
+    if (bytes < 1024L) {
+      return bytes + " B";
+    }
+    final int exponent = (int) (Math.log(bytes) / Math.log(1024D));
+    return String.format(Locale.ROOT, "%.1f %siB", bytes / Math.pow(1024D, exponent), "KMGT".charAt(exponent - 1));
+  }
+
+  public static final class Image {
+
+    private final String name;
+    private final String id;
+    private final String test;
+    private final ImageLayers layers;
+
+    private Image(String name, String id, String test, ImageLayers layers) {
+      this.name = name;
+      this.id = id;
+      this.test = test;
+      this.layers = layers;
+    }
+
+    /**
+     * @return the image repository (without tag), used as the budget key.
+     */
+    public String getRepository() {
+      return repository(name);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public ImageLayers getLayers() {
+      return layers;
+    }
+
+    /**
+     * @return the budget exceeded by the image, if any.
+     */
+    public Optional<String> exceeded(Map<String, Long> budgets) {
+      final Long budget = budgets.get(getRepository());
+      if (budget == null || layers.getSize() <= budget) {
+        return Optional.empty();
+      }
+      return Optional.of(String.format("Image %s is %s (budget %s)%n%s", name, formatSize(layers.getSize()),
+        formatSize(budget), this));
+    }
+
+    @Override
+    public String toString() {
+      final List<String> lines = new ArrayList<>();
+      lines.add(String.format("Image %s layers (%s, %s shadowed, %s duplicated):", name,
+        formatSize(layers.getSize()), formatSize(layers.getShadowedBytes()), formatSize(layers.getDuplicatedBytes())));
+      layers.getLayers().forEach(l -> lines.add(String.format("  %10s %6s files %s", formatSize(l.getSize()),
+        l.getFileCount(), l.getCreatedBy())));
+      return String.join(System.lineSeparator(), lines);
+    }
+
+    private Map<String, Object> toMap() {
+      final Map<String, Object> map = new LinkedHashMap<>();
+      map.put("image", name);
+      map.put("id", id);
+      map.put("test", test);
+      map.put("sizeBytes", layers.getSize());
+      map.put("shadowedBytes", layers.getShadowedBytes());
+      map.put("duplicatedBytes", layers.getDuplicatedBytes());
+      map.put("layers", layers.getLayers().stream().map(l -> {
+        final Map<String, Object> layer = new LinkedHashMap<>();
+        layer.put("digest", l.getDigest());
+        layer.put("createdBy", l.getCreatedBy());
+        layer.put("sizeBytes", l.getSize());
+        layer.put("files", l.getFileCount());
+        return layer;
+      }).collect(Collectors.toList()));
+      return map;
+    }
+  }
+
+  static final class ImagePair {
+
+    private final String first;
+    private final String second;
+    private final long sharedLayerBytes;
+    private final long duplicatedBytes;
+
+    private ImagePair(Image first, Image second) {
+      this.first = first.name;
+      this.second = second.name;
+      final Set<String> firstDigests = first.layers.getLayers().stream()
+        .map(ImageLayers.Layer::getDigest).collect(Collectors.toSet());
+      final List<ImageLayers.Layer> shared = new ArrayList<>();
+      final List<ImageLayers.Layer> notShared = new ArrayList<>();
+      second.layers.getLayers().forEach(l -> (firstDigests.contains(l.getDigest()) ? shared : notShared).add(l));
+      final Set<String> sharedDigests = shared.stream().map(ImageLayers.Layer::getDigest).collect(Collectors.toSet());
+      this.sharedLayerBytes = shared.stream().mapToLong(ImageLayers.Layer::getSize).sum();
+      final Map<String, Long> firstContents = new HashMap<>();
+      first.layers.getLayers().stream()
+        .filter(l -> !sharedDigests.contains(l.getDigest()))
+        .forEach(l -> firstContents.putAll(l.getContents()));
+      final Set<String> counted = new HashSet<>();
+      this.duplicatedBytes = notShared.stream()
+        .flatMap(l -> l.getContents().entrySet().stream())
+        .filter(c -> firstContents.containsKey(c.getKey()) && counted.add(c.getKey()))
+        .mapToLong(Map.Entry::getValue)
+        .sum();
+    }
+
+    private Map<String, Object> toMap() {
+      final Map<String, Object> map = new LinkedHashMap<>();
+      map.put("images", List.of(first, second));
+      map.put("sharedLayerBytes", sharedLayerBytes);
+      map.put("duplicatedBytes", duplicatedBytes);
+      return map;
+    }
+  }
+}
@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.jkube.integrationtests.docker.ImageFileIndex.LayerChanges;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.eclipse.jkube.integrationtests.DigestUtil.hex;
+import static org.eclipse.jkube.integrationtests.DigestUtil.sha256;
+
+/**
+ * Layers of an image with their size, creating instruction and the bytes wasted within the image.
+ *
+ * <p> Computed in a single pass over a {@code docker save} (legacy or OCI layout) archive, the
+ * {@link ImageFileIndex} of the image is computed in the same pass. Unless only the file index is needed, the contents
+ * of the files of at least {@value #TRACKED_FILE_MIN_BYTES} bytes are hashed (SHA-256) so that duplicates can be
+ * detected within the image and across images (see {@link ImageLayerAnalysis}).
+ */
+public final class ImageLayers {
+
+  static final long TRACKED_FILE_MIN_BYTES = 4096L;
+  private static final String MANIFEST = "manifest.json";
+  private static final int MAX_METADATA_BYTES = 4 * 1024 * 1024;
+
+  private final List<Layer> layers;
+  private final long shadowedBytes;
+  private final long duplicatedBytes;
+  private final ImageFileIndex fileIndex;
+
+  private ImageLayers(List<Layer> layers, long shadowedBytes, long duplicatedBytes, ImageFileIndex fileIndex) {
+    this.layers = Collections.unmodifiableList(layers);
+    this.shadowedBytes = shadowedBytes;
+    this.duplicatedBytes = duplicatedBytes;
+    this.fileIndex = fileIndex;
+  }
+
+  public static ImageLayers fromImageArchive(InputStream imageArchive) throws IOException {
+    return fromImageArchive(imageArchive, true);
+  }
+
+  /**
+   * @param trackContents false to skip the hashing of the file contents (no duplicated bytes are detected), e.g. when
+   * only the file index is needed.
+   */
+  @SuppressWarnings("unchecked")
+  public static ImageLayers fromImageArchive(InputStream imageArchive, boolean trackContents) throws IOException {
+    final TarReader archive = TarReader.of(imageArchive);
+    final Map<String, LayerContent> contents = new HashMap<>();
+    final Map<String, byte[]> metadata = new HashMap<>();
+    final Map<String, String> links = new HashMap<>();
+    TarReader.Entry entry;
+    while ((entry = archive.next()) != null) {
+      final String name = ImageFileIndex.normalizeArchiveName(entry.getName());
+      if (entry.isSymbolicLink()) {
+        links.put(name, ImageFileIndex.normalizeArchiveName(
+          Path.of(name).resolveSibling(entry.getLinkName()).normalize().toString()));
+      } else if (entry.isRegularFile() && entry.getSize() > 0) {
+        final BufferedInputStream content = new BufferedInputStream(archive.content(), 64 * 1024);
+        if (TarReader.isArchive(content)) {
+          contents.put(name, LayerContent.read(content, trackContents));
+        } else if (entry.getSize() <= MAX_METADATA_BYTES) {
+          // manifest.json, image configuration (legacy <id>.json or OCI blob)...
+          metadata.put(name, content.readAllBytes());
+        }
+      }
+    }
+    final ObjectMapper objectMapper = new ObjectMapper();
+    if (!metadata.containsKey(MANIFEST)) {
+      throw new IOException("Invalid image archive, " + MANIFEST + " not found");
+    }
+    final List<Map<String, Object>> manifest = objectMapper.readValue(metadata.get(MANIFEST), List.class);
+    if (manifest.isEmpty()) {
+      throw new IOException("Invalid image archive, " + MANIFEST + " is empty");
+    }
+    final String configName = resolve(links, String.valueOf(manifest.get(0).get("Config")));
+    final Map<String, Object> config = metadata.containsKey(configName) ?
+      objectMapper.readValue(metadata.get(configName), Map.class) : Collections.emptyMap();
+    final List<String> createdBy = createdBy(config);
+    final List<Object> diffIds = (List<Object>) ((Map<String, Object>) config.getOrDefault("rootfs",
+      Collections.emptyMap())).getOrDefault("diff_ids", Collections.emptyList());
+    final List<Object> layerNames = (List<Object>) manifest.get(0).get("Layers");
+    final List<LayerContent> ordered = new ArrayList<>();
+    final List<Layer> layers = new ArrayList<>();
+    for (int it = 0; it < layerNames.size(); it++) {
+      final String layerName = resolve(links, String.valueOf(layerNames.get(it)));
+      final LayerContent content = contents.get(layerName);
+      if (content == null) {
+        throw new IOException("Invalid image archive, layer " + layerName + " not found");
+      }
+      ordered.add(content);
+      layers.add(new Layer(it, it < diffIds.size() ? String.valueOf(diffIds.get(it)) : layerName,
+        it < createdBy.size() ? createdBy.get(it) : "", content));
+    }
+    final List<LayerChanges> changes = new ArrayList<>();
+    ordered.forEach(c -> changes.add(c.changes));
+    return new ImageLayers(layers, shadowedBytes(ordered), duplicatedBytes(ordered), ImageFileIndex.of(changes));
+  }
+
+  public List<Layer> getLayers() {
+    return layers;
+  }
+
+  /**
+   * @return the total size of the files in the layers (uncompressed).
+   */
+  public long getSize() {
+    return layers.stream().mapToLong(Layer::getSize).sum();
+  }
+
+  /**
+   * @return bytes of the files that are overwritten or deleted by an upper layer (present in the image layers but
+   * not in its filesystem).
+   */
+  public long getShadowedBytes() {
+    return shadowedBytes;
+  }
+
+  /**
+   * @return bytes of the (tracked) files whose content was already added by a lower layer.
+   */
+  public long getDuplicatedBytes() {
+    return duplicatedBytes;
+  }
+
+  public ImageFileIndex getFileIndex() {
+    return fileIndex;
+  }
+
+  private static String resolve(Map<String, String> links, String name) {
+    final String normalized = ImageFileIndex.normalizeArchiveName(name);
+    return links.getOrDefault(normalized, normalized);
+  }
+
+  // The history entries that didn't create a layer (e.g. ENV, LABEL) are flagged as empty
+  @SuppressWarnings("unchecked")
+  private static List<String> createdBy(Map<String, Object> config) {
+    final List<String> createdBy = new ArrayList<>();
+    for (Object history : (List<Object>) config.getOrDefault("history", Collections.emptyList())) {
+      final Map<String, Object> entry = (Map<String, Object>) history;
+      if (!Boolean.TRUE.equals(entry.get("empty_layer"))) {
+        createdBy.add(Objects.toString(entry.get("created_by"), ""));
+      }
+    }
+    return createdBy;
+  }
+
+  private static long shadowedBytes(List<LayerContent> layers) {
+    final NavigableMap<String, Long> visible = new TreeMap<>();
+    long shadowed = 0L;
+    for (LayerContent layer : layers) {
+      for (String dir : layer.changes.getOpaqueDirectories()) {
+        shadowed += removeDescendants(visible, dir);
+      }
+      for (String whiteout : layer.changes.getWhiteouts()) {
+        shadowed += Objects.requireNonNullElse(visible.remove(whiteout), 0L) + removeDescendants(visible, whiteout);
+      }
+      for (Map.Entry<String, Long> file : layer.fileSizes.entrySet()) {
+        shadowed += Objects.requireNonNullElse(visible.put(file.getKey(), file.getValue()), 0L);
+      }
+    }
+    return shadowed;
+  }
+
+  private static long removeDescendants(NavigableMap<String, Long> files, String dir) {
+    final String prefix = dir.equals("/") ? "/" : dir + "/";
+    final Map<String, Long> descendants = files.subMap(prefix, false, prefix + Character.MAX_VALUE, false);
+    final long size = descendants.values().stream().mapToLong(Long::longValue).sum();
+    descendants.clear();
+    return size;
+  }
+
+  private static long duplicatedBytes(List<LayerContent> layers) {
+    final Set<String> lower = new HashSet<>();
+    long duplicated = 0L;
+    for (LayerContent layer : layers) {
+      for (Map.Entry<String, Long> content : layer.contents.entrySet()) {
+        // Duplicates within the same layer are counted too (each file is hashed)
+        duplicated += (layer.contentCounts.get(content.getKey()) - (lower.contains(content.getKey()) ? 0 : 1))
+          * content.getValue();
+      }
+      lower.addAll(layer.contents.keySet());
+    }
+    return duplicated;
+  }
+
+  public static final class Layer {
+
+    private final int index;
+    private final String digest;
+    private final String createdBy;
+    private final long size;
+    private final int fileCount;
+    private final Map<String, Long> contents;
+
+    private Layer(int index, String digest, String createdBy, LayerContent content) {
+      this.index = index;
+      this.digest = digest;
+      this.createdBy = createdBy;
+      this.size = content.fileSizes.values().stream().mapToLong(Long::longValue).sum();
+      this.fileCount = content.fileSizes.size();
+      this.contents = Collections.unmodifiableMap(content.contents);
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    /**
+     * @return the layer digest (diff ID) or its name in the archive if the image configuration is not available.
+     */
+    public String getDigest() {
+      return digest;
+    }
+
+    /**
+     * @return the instruction that created the layer (e.g. {@code COPY dir:... in /deployments}).
+     */
+    public String getCreatedBy() {
+      return createdBy;
+    }
+
+    public long getSize() {
+      return size;
+    }
+
+    public int getFileCount() {
+      return fileCount;
+    }
+
+    /**
+     * @return the SHA-256 of the tracked file contents of the layer and their size.
+     */
+    Map<String, Long> getContents() {
+      return contents;
+    }
+  }
+
+  private static final class LayerContent {
+
+    private final LayerChanges changes = new LayerChanges();
+    private final Map<String, Long> fileSizes = new HashMap<>();
+    private final Map<String, Long> contents = new HashMap<>();
+    private final Map<String, Integer> contentCounts = new HashMap<>();
+
+    private static LayerContent read(InputStream layerTar, boolean trackContents) throws IOException {
+      final LayerContent layer = new LayerContent();
+      final TarReader tar = TarReader.of(layerTar);
+      final byte[] buffer = new byte[64 * 1024];
+      TarReader.Entry entry;
+      while ((entry = tar.next()) != null) {
+        final String path = layer.changes.accept(entry.getName());
+        if (path == null || !entry.isRegularFile()) {
+          continue;
+        }
+        layer.fileSizes.put(path, entry.getSize());
+        if (trackContents && entry.getSize() >= TRACKED_FILE_MIN_BYTES) {
+          final DigestInputStream digest = new DigestInputStream(tar.content(), sha256());
+          while (digest.read(buffer) != -1) {
+            // Consumed to compute the digest
+          }
+          final String hash = hex(digest.getMessageDigest().digest());
+          layer.contents.put(hash, entry.getSize());
+          layer.contentCounts.merge(hash, 1, Integer::sum);
+        }
+      }
+      return layer;
+    }
+  }
+}
@@ -0,0 +1,680 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.eclipse.jkube.integrationtests.DigestUtil.hex;
+import static org.eclipse.jkube.integrationtests.DigestUtil.sha256;
+
+/**
+ * In-process registry implementing the (plain HTTP) OCI distribution spec API used by Docker, JIB and Helm pushes
+ * and pulls: blobs (HEAD, GET, DELETE), monolithic and chunked uploads, cross-repository mounts, manifests (by tag or
+ * digest), tags list and catalog.
+ *
+ * <p> Blobs are stored (content-addressed, SHA-256 only) in a temporary directory deleted once the registry is
+ * closed, and are linked to the repositories they were pushed to or mounted in. Manifests are kept in memory.
+ * Every request is recorded in the registry {@link Metrics}, which are written to {@value #JSON_REPORT} once the
+ * registry is closed.
+ */
+public final class InMemoryRegistry implements AutoCloseable {
+
+  public static final String JSON_REPORT = "jkube-registry-metrics.json";
+  private static final Logger log = LoggerFactory.getLogger(InMemoryRegistry.class);
+  private static final String NAME = "[a-z0-9]+(?:[._-][a-z0-9]+)*(?:/[a-z0-9]+(?:[._-][a-z0-9]+)*)*";
+  private static final Pattern BASE = Pattern.compile("^/v2/?$");
+  private static final Pattern CATALOG = Pattern.compile("^/v2/_catalog$");
+  private static final Pattern TAGS = Pattern.compile("^/v2/(" + NAME + ")/tags/list$");
+  private static final Pattern MANIFEST = Pattern.compile("^/v2/(" + NAME + ")/manifests/([^/]+)$");
+  private static final Pattern UPLOADS = Pattern.compile("^/v2/(" + NAME + ")/blobs/uploads/?$");
+  private static final Pattern UPLOAD = Pattern.compile("^/v2/(" + NAME + ")/blobs/uploads/([^/]+)$");
+  private static final Pattern BLOB = Pattern.compile("^/v2/(" + NAME + ")/blobs/([^/]+)$");
+  private static final Pattern CONTENT_RANGE = Pattern.compile("^(?:bytes[ =])?(\\d+)-(\\d+)");
+  private static final String SHA256 = "sha256:";
+  private static final String DEFAULT_MANIFEST_TYPE = "application/vnd.oci.image.manifest.v1+json";
+  private static final List<Metrics> CLOSED = new ArrayList<>();
+
+  private final String name;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final Path storage;
+  private final Map<String, Set<String>> repositoryBlobs;
+  private final Map<String, Map<String, Manifest>> manifests;
+  private final Map<String, Map<String, String>> tags;
+  private final Map<String, Upload> uploads;
+  private final Metrics metrics;
+
+  private InMemoryRegistry(String name, HttpServer server, Path storage) {
+    this.name = name;
+    this.server = server;
+    // Own threads, requests blocked on (slow) uploads mustn't take the shared async executor threads
+    final AtomicInteger count = new AtomicInteger();
+    this.executor = Executors.newCachedThreadPool(r -> {
+      final Thread thread = new Thread(r, "registry-" + name + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.storage = storage;
+    this.repositoryBlobs = new ConcurrentHashMap<>();
+    this.manifests = new ConcurrentHashMap<>();
+    this.tags = new ConcurrentHashMap<>();
+    this.uploads = new ConcurrentHashMap<>();
+    this.metrics = new Metrics(name);
+  }
+
+  /**
+   * Starts a registry listening on the provided port (loopback interface, 0 for any free port).
+   *
+   * @param name identifies the registry (e.g. test class) in its metrics.
+   */
+  public static InMemoryRegistry start(String name, int port) throws IOException {
+    final HttpServer server;
+    try {
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    } catch (BindException ex) {
+      throw new IOException(String.format("Registry port %s is already in use", port), ex);
+    }
+    final InMemoryRegistry registry = new InMemoryRegistry(name, server,
+      Files.createTempDirectory("jkube-it-registry-"));
+    server.createContext("/", registry::handle);
+    server.setExecutor(registry.executor);
+    server.start();
+    log.debug("Registry {} started on port {}", name, registry.getPort());
+    return registry;
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  public Metrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public void close() throws IOException {
+    server.stop(0);
+    executor.shutdownNow();
+    synchronized (CLOSED) {
+      CLOSED.add(metrics);
+    }
+    log.debug("Registry {} closed: {}", name, metrics);
+    try (Stream<Path> paths = Files.walk(storage)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  /**
+   * @return a snapshot of the metrics of the registries closed so far.
+   */
+  public static List<Metrics> getClosedMetrics() {
+    synchronized (CLOSED) {
+      return new ArrayList<>(CLOSED);
+    }
+  }
+
+  public static void write(File directory, List<Metrics> registries) throws IOException {
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(directory, JSON_REPORT),
+      registries.stream().map(Metrics::toMap).collect(Collectors.toList()));
+  }
+
+  public static List<String> summary(List<Metrics> registries) {
+    final List<String> lines = new ArrayList<>();
+    if (!registries.isEmpty()) {
+      lines.add(String.format("In-JVM registries (%s):", registries.size()));
+      registries.forEach(m -> lines.add("  " + m));
+    }
+    return lines;
+  }
+
+  private void handle(HttpExchange exchange) {
+    final long start = System.nanoTime();
+    final Request request = new Request(exchange);
+    try {
+      exchange.getResponseHeaders().set("Docker-Distribution-API-Version", "registry/2.0");
+      route(request);
+    } catch (IOException | RuntimeException ex) {
+      log.debug("Registry {} failed to handle {} {}", name, exchange.getRequestMethod(), exchange.getRequestURI(), ex);
+      request.error(500, "UNKNOWN", String.valueOf(ex.getMessage()));
+    } finally {
+      exchange.close();
+      metrics.record(request, System.nanoTime() - start);
+    }
+  }
+
+  private void route(Request request) throws IOException {
+    final String path = request.exchange.getRequestURI().getPath();
+    final String method = request.exchange.getRequestMethod();
+    Matcher matcher;
+    if (BASE.matcher(path).matches()) {
+      request.endpoint = "base";
+      request.json(200, Collections.emptyMap());
+    } else if (CATALOG.matcher(path).matches() && method.equals("GET")) {
+      request.endpoint = "catalog";
+      final Set<String> repositories = new TreeSet<>(manifests.keySet());
+      request.json(200, Collections.singletonMap("repositories", paginate(repositories, request)));
+    } else if ((matcher = TAGS.matcher(path)).matches() && method.equals("GET")) {
+      request.endpoint = "tags";
+      tags(request, matcher.group(1));
+    } else if ((matcher = MANIFEST.matcher(path)).matches()) {
+      request.endpoint = "manifest";
+      manifest(request, matcher.group(1), matcher.group(2));
+    } else if ((matcher = UPLOADS.matcher(path)).matches() && method.equals("POST")) {
+      request.endpoint = "upload";
+      startUpload(request, matcher.group(1));
+    } else if ((matcher = UPLOAD.matcher(path)).matches()) {
+      request.endpoint = "upload";
+      upload(request, matcher.group(1), matcher.group(2));
+    } else if ((matcher = BLOB.matcher(path)).matches()) {
+      request.endpoint = "blob";
+      blob(request, matcher.group(1), matcher.group(2));
+    } else {
+      request.error(404, "NOT_FOUND", path);
+    }
+  }
+
+  private void tags(Request request, String repository) throws IOException {
+    final Map<String, String> repositoryTags = tags.get(repository);
+    if (repositoryTags == null) {
+      request.error(404, "NAME_UNKNOWN", repository);
+      return;
+    }
+    final Map<String, Object> body = new LinkedHashMap<>();
+    body.put("name", repository);
+    body.put("tags", paginate(new TreeSet<>(repositoryTags.keySet()), request));
+    request.json(200, body);
+  }
+
+  private void manifest(Request request, String repository, String reference) throws IOException {
+    final String method = request.exchange.getRequestMethod();
+    if (method.equals("PUT")) {
+      final byte[] content = request.body();
+      final String digest = SHA256 + hex(sha256().digest(content));
+      if (reference.startsWith(SHA256) && !reference.equals(digest)) {
+        request.error(400, "DIGEST_INVALID", reference);
+        return;
+      }
+      final List<String> referencedBlobs;
+      try {
+        referencedBlobs = referencedBlobs(content);
+      } catch (JsonProcessingException ex) {
+        request.error(400, "MANIFEST_INVALID", ex.getOriginalMessage());
+        return;
+      }
+      final Set<String> blobs = repositoryBlobs.getOrDefault(repository, Collections.emptySet());
+      final Optional<String> unknownBlob = referencedBlobs.stream().filter(b -> !blobs.contains(b)).findFirst();
+      if (unknownBlob.isPresent()) {
+        request.error(400, "MANIFEST_BLOB_UNKNOWN", unknownBlob.get());
+        return;
+      }
+      final String contentType = Optional.ofNullable(request.exchange.getRequestHeaders().getFirst("Content-Type"))
+        .orElse(DEFAULT_MANIFEST_TYPE);
+      manifests.computeIfAbsent(repository, r -> new ConcurrentHashMap<>())
+        .put(digest, new Manifest(contentType, content));
+      final Map<String, String> repositoryTags = tags.computeIfAbsent(repository, r -> new ConcurrentHashMap<>());
+      if (!reference.startsWith(SHA256)) {
+        repositoryTags.put(reference, digest);
+      }
+      request.exchange.getResponseHeaders().set("Location", String.format("/v2/%s/manifests/%s", repository, digest));
+      request.exchange.getResponseHeaders().set("Docker-Content-Digest", digest);
+      request.empty(201);
+      return;
+    }
+    final String digest = reference.startsWith(SHA256) ? reference :
+      tags.getOrDefault(repository, Collections.emptyMap()).get(reference);
+    final Manifest manifest = digest == null ? null :
+      manifests.getOrDefault(repository, Collections.emptyMap()).get(digest);
+    if (manifest == null) {
+      request.error(404, "MANIFEST_UNKNOWN", repository + ":" + reference);
+    } else if (method.equals("GET") || method.equals("HEAD")) {
+      request.exchange.getResponseHeaders().set("Content-Type", manifest.contentType);
+      request.exchange.getResponseHeaders().set("Docker-Content-Digest", digest);
+      request.bytes(200, manifest.content);
+    } else if (method.equals("DELETE")) {
+      manifests.get(repository).remove(digest);
+      tags.getOrDefault(repository, Collections.emptyMap()).values().removeIf(digest::equals);
+      request.empty(202);
+    } else {
+      request.error(405, "UNSUPPORTED", method);
+    }
+  }
+
+  // Config and layers of an image manifest, indexes (manifest lists) reference manifests instead of blobs
+  @SuppressWarnings("unchecked")
+  private static List<String> referencedBlobs(byte[] manifest) throws IOException {
+    final Map<String, Object> json = new ObjectMapper().readValue(manifest, Map.class);
+    final List<Object> descriptors = new ArrayList<>();
+    Optional.ofNullable(json.get("config")).ifPresent(descriptors::add);
+    Optional.ofNullable((List<Object>) json.get("layers")).ifPresent(descriptors::addAll);
+    return descriptors.stream()
+      .filter(Map.class::isInstance)
+      .map(descriptor -> ((Map<String, Object>) descriptor).get("digest"))
+      .filter(Objects::nonNull)
+      .map(String::valueOf)
+      .collect(Collectors.toList());
+  }
+
+  private void startUpload(Request request, String repository) throws IOException {
+    final Map<String, String> query = request.query();
+    final String mount = query.get("mount");
+    if (mount != null) {
+      if (repositoryBlobs.getOrDefault(query.getOrDefault("from", ""), Collections.emptySet()).contains(mount)) {
+        metrics.mountHits.incrementAndGet();
+        link(repository, mount);
+        request.exchange.getResponseHeaders().set("Location", String.format("/v2/%s/blobs/%s", repository, mount));
+        request.exchange.getResponseHeaders().set("Docker-Content-Digest", mount);
+        request.empty(201);
+        return;
+      }
+      // Blob not available in the source repository, a regular upload is started instead
+      metrics.mountMisses.incrementAndGet();
+    }
+    final Upload upload = new Upload(repository, Files.createTempFile(storage, "upload-", ""));
+    uploads.put(upload.uuid, upload);
+    final String digest = query.get("digest");
+    if (digest != null) {
+      upload.append(request);
+      complete(request, upload, digest);
+      return;
+    }
+    request.exchange.getResponseHeaders().set("Location", upload.location());
+    request.exchange.getResponseHeaders().set("Docker-Upload-UUID", upload.uuid);
+    request.exchange.getResponseHeaders().set("Range", "0-0");
+    request.empty(202);
+  }
+
+  private void upload(Request request, String repository, String uuid) throws IOException {
+    final Upload upload = uploads.get(uuid);
+    if (upload == null || !upload.repository.equals(repository)) {
+      request.error(404, "BLOB_UPLOAD_UNKNOWN", uuid);
+      return;
+    }
+    final String method = request.exchange.getRequestMethod();
+    synchronized (upload) {
+      switch (method) {
+        case "PATCH":
+          final Matcher range = CONTENT_RANGE.matcher(
+            Optional.ofNullable(request.exchange.getRequestHeaders().getFirst("Content-Range")).orElse(""));
+          if (range.find() && Long.parseLong(range.group(1)) != upload.size) {
+            request.exchange.getResponseHeaders().set("Range", upload.range());
+            request.error(416, "BLOB_UPLOAD_INVALID", "Unexpected chunk start " + range.group(1));
+            return;
+          }
+          upload.append(request);
+          request.exchange.getResponseHeaders().set("Location", upload.location());
+          request.exchange.getResponseHeaders().set("Docker-Upload-UUID", upload.uuid);
+          request.exchange.getResponseHeaders().set("Range", upload.range());
+          request.empty(202);
+          return;
+        case "PUT":
+          upload.append(request);
+          complete(request, upload, request.query().get("digest"));
+          return;
+        case "GET":
+          request.exchange.getResponseHeaders().set("Location", upload.location());
+          request.exchange.getResponseHeaders().set("Docker-Upload-UUID", upload.uuid);
+          request.exchange.getResponseHeaders().set("Range", upload.range());
+          request.empty(204);
+          return;
+        case "DELETE":
+          uploads.remove(uuid);
+          Files.deleteIfExists(upload.file);
+          request.empty(204);
+          return;
+        default:
+          request.error(405, "UNSUPPORTED", method);
+      }
+    }
+  }
+
+  private void complete(Request request, Upload upload, String digest) throws IOException {
+    uploads.remove(upload.uuid);
+    final String actual = SHA256 + hex(upload.digest.digest());
+    if (digest == null || !digest.equals(actual)) {
+      Files.deleteIfExists(upload.file);
+      request.error(400, "DIGEST_INVALID", String.format("Expected %s, was %s", digest, actual));
+      return;
+    }
+    Files.move(upload.file, blobPath(digest), StandardCopyOption.REPLACE_EXISTING);
+    link(upload.repository, digest);
+    request.exchange.getResponseHeaders().set("Location",
+      String.format("/v2/%s/blobs/%s", upload.repository, digest));
+    request.exchange.getResponseHeaders().set("Docker-Content-Digest", digest);
+    request.empty(201);
+  }
+
+  private void blob(Request request, String repository, String digest) throws IOException {
+    final String method = request.exchange.getRequestMethod();
+    if (!repositoryBlobs.getOrDefault(repository, Collections.emptySet()).contains(digest)) {
+      request.error(404, "BLOB_UNKNOWN", digest);
+    } else if (method.equals("HEAD") || method.equals("GET")) {
+      final Path blob = blobPath(digest);
+      request.exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+      request.exchange.getResponseHeaders().set("Docker-Content-Digest", digest);
+      request.file(200, blob);
+    } else if (method.equals("DELETE")) {
+      repositoryBlobs.get(repository).remove(digest);
+      request.empty(202);
+    } else {
+      request.error(405, "UNSUPPORTED", method);
+    }
+  }
+
+  private void link(String repository, String digest) {
+    repositoryBlobs.computeIfAbsent(repository, r -> ConcurrentHashMap.newKeySet()).add(digest);
+  }
+
+  private Path blobPath(String digest) {
+    final String hex = digest.substring(SHA256.length());
+    if (!hex.matches("[a-f0-9]{64}")) {
+      throw new IllegalArgumentException("Unsupported digest: " + digest);
+    }
+    return storage.resolve(hex);
+  }
+
+  private static List<String> paginate(Set<String> sorted, Request request) {
+    final Map<String, String> query = request.query();
+    final String last = query.get("last");
+    return sorted.stream()
+      .filter(entry -> last == null || entry.compareTo(last) > 0)
+      .limit(Optional.ofNullable(query.get("n")).map(Long::parseLong).orElse(Long.MAX_VALUE))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Requests served by the registry (grouped by method, endpoint, and status) and their transferred bytes.
+   */
+  public static final class Metrics {
+
+    private final String registry;
+    private final Map<String, RequestStats> requests;
+    private final AtomicLong mountHits;
+    private final AtomicLong mountMisses;
+
+    private Metrics(String registry) {
+      this.registry = registry;
+      this.requests = new ConcurrentHashMap<>();
+      this.mountHits = new AtomicLong();
+      this.mountMisses = new AtomicLong();
+    }
+
+    private void record(Request request, long nanos) {
+      final String key = String.format("%s %s %s",
+        request.exchange.getRequestMethod(), request.endpoint, request.status);
+      requests.computeIfAbsent(key, k -> new RequestStats()).add(request.bytesIn, request.bytesOut, nanos);
+    }
+
+    /**
+     * @return the number of blob existence checks (HEAD) and how many of them found the blob.
+     */
+    public long getBlobHeads() {
+      return count(key -> key.startsWith("HEAD blob "));
+    }
+
+    public long getBlobHeadHits() {
+      return count(key -> key.equals("HEAD blob 200"));
+    }
+
+    /**
+     * @return the bytes received by the (monolithic and chunked) blob uploads.
+     */
+    public long getUploadedBytes() {
+      return requests.entrySet().stream().filter(e -> e.getKey().contains(" upload "))
+        .mapToLong(e -> e.getValue().bytesIn.get()).sum();
+    }
+
+    public long getMountHits() {
+      return mountHits.get();
+    }
+
+    public long getMountMisses() {
+      return mountMisses.get();
+    }
+
+    /**
+     * @return the number of requests, received and sent bytes, and total time per method, endpoint, and status.
+     */
+    public Map<String, Map<String, Long>> getRequests() {
+      final Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+      requests.forEach((key, stats) -> snapshot.put(key, stats.toMap()));
+      return snapshot;
+    }
+
+    private long count(Predicate<String> key) {
+      return requests.entrySet().stream().filter(e -> key.test(e.getKey()))
+        .mapToLong(e -> e.getValue().count.get()).sum();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s: %s requests, %s blob HEADs (%s found), %s uploaded, %s mounts (%s missed)", registry,
+        requests.values().stream().mapToLong(s -> s.count.get()).sum(), getBlobHeads(), getBlobHeadHits(),
+        ImageLayerAnalysis.formatSize(getUploadedBytes()), getMountHits(), getMountMisses());
+    }
+
+    private Map<String, Object> toMap() {
+      final Map<String, Object> map = new LinkedHashMap<>();
+      map.put("registry", registry);
+      map.put("blobHeads", getBlobHeads());
+      map.put("blobHeadHits", getBlobHeadHits());
+      map.put("uploadedBytes", getUploadedBytes());
+      map.put("mountHits", getMountHits());
+      map.put("mountMisses", getMountMisses());
+      map.put("requests", getRequests());
+      return map;
+    }
+  }
+
+  private static final class RequestStats {
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private void add(long in, long out, long elapsedNanos) {
+      count.incrementAndGet();
+      bytesIn.addAndGet(in);
+      bytesOut.addAndGet(out);
+      nanos.addAndGet(elapsedNanos);
+    }
+
+    private Map<String, Long> toMap() {
+      final Map<String, Long> map = new LinkedHashMap<>();
+      map.put("count", count.get());
+      map.put("bytesIn", bytesIn.get());
+      map.put("bytesOut", bytesOut.get());
+      map.put("millis", nanos.get() / 1_000_000L);
+      return map;
+    }
+  }
+
+  private static final class Request {
+
+    private final HttpExchange exchange;
+    private String endpoint = "unknown";
+    private int status;
+    private long bytesIn;
+    private long bytesOut;
+
+    private Request(HttpExchange exchange) {
+      this.exchange = exchange;
+    }
+
+    private Map<String, String> query() {
+      final Map<String, String> query = new HashMap<>();
+      final String raw = exchange.getRequestURI().getRawQuery();
+      if (raw != null) {
+        for (String parameter : raw.split("&")) {
+          final String[] entry = parameter.split("=", 2);
+          query.put(URLDecoder.decode(entry[0], StandardCharsets.UTF_8),
+            entry.length > 1 ? URLDecoder.decode(entry[1], StandardCharsets.UTF_8) : "");
+        }
+      }
+      return query;
+    }
+
+    private byte[] body() throws IOException {
+      final byte[] body = exchange.getRequestBody().readAllBytes();
+      bytesIn += body.length;
+      return body;
+    }
+
+    private void empty(int statusCode) throws IOException {
+      if (statusCode != 204) {
+        exchange.getResponseHeaders().set("Content-Length", "0");
+      }
+      status = statusCode;
+      exchange.sendResponseHeaders(statusCode, -1);
+    }
+
+    private void json(int statusCode, Object body) throws IOException {
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      bytes(statusCode, new ObjectMapper().writeValueAsBytes(body));
+    }
+
+    private void error(int statusCode, String code, String detail) {
+      final Map<String, Object> error = new LinkedHashMap<>();
+      error.put("code", code);
+      error.put("message", code.toLowerCase(Locale.ROOT).replace('_', ' '));
+      error.put("detail", detail);
+      try {
+        json(statusCode, Collections.singletonMap("errors", Collections.singletonList(error)));
+      } catch (IOException ex) {
+        // Response already (partially) sent or connection closed
+      }
+    }
+
+    // Content-Length is set explicitly so that it's also sent for HEAD requests (which have no body)
+    private void bytes(int statusCode, byte[] body) throws IOException {
+      status = statusCode;
+      exchange.getResponseHeaders().set("Content-Length", String.valueOf(body.length));
+      if (exchange.getRequestMethod().equals("HEAD")) {
+        exchange.sendResponseHeaders(statusCode, -1);
+        return;
+      }
+      exchange.sendResponseHeaders(statusCode, body.length);
+      exchange.getResponseBody().write(body);
+      bytesOut += body.length;
+    }
+
+    private void file(int statusCode, Path file) throws IOException {
+      status = statusCode;
+      final long size = Files.size(file);
+      exchange.getResponseHeaders().set("Content-Length", String.valueOf(size));
+      if (exchange.getRequestMethod().equals("HEAD")) {
+        exchange.sendResponseHeaders(statusCode, -1);
+        return;
+      }
+      exchange.sendResponseHeaders(statusCode, size == 0 ? -1 : size);
+      try (InputStream content = Files.newInputStream(file)) {
+        bytesOut += content.transferTo(exchange.getResponseBody());
+      }
+    }
+  }
+
+  private static final class Upload {
+
+    private final String uuid;
+    private final String repository;
+    private final Path file;
+    private final MessageDigest digest;
+    private long size;
+
+    private Upload(String repository, Path file) {
+      this.uuid = UUID.randomUUID().toString();
+      this.repository = repository;
+      this.file = file;
+      this.digest = sha256();
+    }
+
+    private void append(Request request) throws IOException {
+      final byte[] buffer = new byte[64 * 1024];
+      try (InputStream body = request.exchange.getRequestBody();
+           OutputStream out = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+          out.write(buffer, 0, read);
+          digest.update(buffer, 0, read);
+          size += read;
+          request.bytesIn += read;
+        }
+      }
+    }
+
+    private String location() {
+      return String.format("/v2/%s/blobs/uploads/%s", repository, uuid);
+    }
+
+    // Inclusive range of the received bytes, as expected by Docker
+    private String range() {
+      return String.format("0-%s", Math.max(0L, size - 1));
+    }
+  }
+
+  private static final class Manifest {
+
+    private final String contentType;
+    private final byte[] content;
+
+    private Manifest(String contentType, byte[] content) {
+      this.contentType = contentType;
+      this.content = content;
+    }
+  }
+}
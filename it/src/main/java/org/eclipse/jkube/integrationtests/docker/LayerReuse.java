@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jkube.integrationtests.docker.ImageLayerAnalysis.formatSize;
+
+/**
+ * Layer reuse of an image rebuilt and pushed again after a source-only change of its project.
+ *
+ * <p> The layers of the rebuilt image are compared with the original ones by digest (diff ID), and the pushed
+ * manifests by blob digest: the new blobs are the ones referenced by the second manifest that weren't referenced
+ * by the first one. They're inferred from the manifests, not measured: they're the blobs the second push needed,
+ * the bytes actually transferred are only measured by the {@link InMemoryRegistry} metrics. The rebuilds are written
+ * to {@value #JSON_REPORT} and summarized at the end of the report.
+ */
+public class LayerReuse {
+
+  public static final String JSON_REPORT = "jkube-layer-reuse.json";
+  private static final List<LayerReuse> REBUILDS = new ArrayList<>();
+
+  private final String test;
+  private final String image;
+  private final List<ImageLayers.Layer> changedLayers;
+  private final int layerCount;
+  private final long imageSize;
+  private final Map<String, Long> newBlobs;
+  private final int pushedBlobCount;
+  private final long pushedSize;
+
+  private LayerReuse(String image, ImageLayers before, ImageLayers after,
+    RegistryManifest pushedBefore, RegistryManifest pushedAfter) {
+
+    this.test = PhaseTimings.currentTest();
+    this.image = image;
+    final Set<String> previousLayers = before.getLayers().stream()
+      .map(ImageLayers.Layer::getDigest).collect(Collectors.toSet());
+    this.changedLayers = after.getLayers().stream()
+      .filter(l -> !previousLayers.contains(l.getDigest()))
+      .collect(Collectors.toList());
+    this.layerCount = after.getLayers().size();
+    this.imageSize = after.getSize();
+    this.newBlobs = new LinkedHashMap<>(pushedAfter.getBlobs());
+    this.newBlobs.keySet().removeAll(pushedBefore.getBlobs().keySet());
+    this.pushedBlobCount = pushedAfter.getBlobs().size();
+    this.pushedSize = pushedAfter.getSize();
+  }
+
+  /**
+   * Compares the rebuilt image with the original one and records the result for the report.
+   */
+  public static LayerReuse record(String image, ImageLayers before, ImageLayers after,
+    RegistryManifest pushedBefore, RegistryManifest pushedAfter) {
+
+    final LayerReuse rebuild = new LayerReuse(image, before, after, pushedBefore, pushedAfter);
+    synchronized (REBUILDS) {
+      REBUILDS.add(rebuild);
+    }
+    return rebuild;
+  }
+
+  /**
+   * @return a snapshot of the rebuilds recorded so far.
+   */
+  public static List<LayerReuse> getRebuilds() {
+    synchronized (REBUILDS) {
+      return new ArrayList<>(REBUILDS);
+    }
+  }
+
+  public static void write(File directory, List<LayerReuse> rebuilds) throws IOException {
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(directory, JSON_REPORT),
+      rebuilds.stream().map(LayerReuse::toMap).collect(Collectors.toList()));
+  }
+
+  public static List<String> summary(List<LayerReuse> rebuilds) {
+    final List<String> lines = new ArrayList<>();
+    if (!rebuilds.isEmpty()) {
+      lines.add(String.format("Layer reuse after source-only changes (%s):", rebuilds.size()));
+      rebuilds.forEach(r -> lines.add(String.format("  %s: %s/%s layers changed, %s in new blobs (%s pushed)",
+        r.image, r.changedLayers.size(), r.layerCount, formatSize(r.getNewBlobBytes()), formatSize(r.pushedSize))));
+    }
+    return lines;
+  }
+
+  public String getImage() {
+    return image;
+  }
+
+  /**
+   * @return the layers of the rebuilt image that aren't in the original image.
+   */
+  public List<ImageLayers.Layer> getChangedLayers() {
+    return Collections.unmodifiableList(changedLayers);
+  }
+
+  /**
+   * @return the blobs (digest and compressed size) of the second push that weren't in the first one.
+   */
+  public Map<String, Long> getNewBlobs() {
+    return Collections.unmodifiableMap(newBlobs);
+  }
+
+  public long getNewBlobBytes() {
+    return newBlobs.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  /**
+   * @return the (compressed) size of all the blobs of the pushed image.
+   */
+  public long getPushedSize() {
+    return pushedSize;
+  }
+
+  @Override
+  public String toString() {
+    final List<String> lines = new ArrayList<>();
+    lines.add(String.format("Image %s rebuilt, %s/%s layers changed (%s of %s), %s/%s blobs new (%s of %s):",
+      image, changedLayers.size(), layerCount,
+      formatSize(changedLayers.stream().mapToLong(ImageLayers.Layer::getSize).sum()), formatSize(imageSize),
+      newBlobs.size(), pushedBlobCount, formatSize(getNewBlobBytes()), formatSize(pushedSize)));
+    changedLayers.forEach(l -> lines.add(String.format("  %10s %s %s", formatSize(l.getSize()), l.getDigest(),
+      l.getCreatedBy())));
+    return String.join(System.lineSeparator(), lines);
+  }
+
+  private Map<String, Object> toMap() {
+    final Map<String, Object> map = new LinkedHashMap<>();
+    map.put("test", test);
+    map.put("image", image);
+    map.put("layers", layerCount);
+    map.put("imageSizeBytes", imageSize);
+    map.put("changedLayers", changedLayers.stream().map(l -> {
+      final Map<String, Object> layer = new LinkedHashMap<>();
+      layer.put("index", l.getIndex());
+      layer.put("digest", l.getDigest());
+      layer.put("createdBy", l.getCreatedBy());
+      layer.put("sizeBytes", l.getSize());
+      return layer;
+    }).collect(Collectors.toList()));
+    map.put("newBlobs", newBlobs);
+    map.put("newBlobBytes", getNewBlobBytes());
+    map.put("pushedBytes", pushedSize);
+    return map;
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manifest of an image pushed to a (plain HTTP) registry, retrieved through the registry v2 API.
+ *
+ * <p> Only the blobs (config and layers) and their compressed size are kept. The registry deduplicates blobs, so
+ * pushing a new manifest only uploads the blobs it doesn't have yet. For manifest lists (image indexes), the first
+ * manifest is resolved.
+ */
+public final class RegistryManifest {
+
+  private static final String ACCEPT = String.join(",",
+    "application/vnd.docker.distribution.manifest.v2+json",
+    "application/vnd.docker.distribution.manifest.list.v2+json",
+    "application/vnd.oci.image.manifest.v1+json",
+    "application/vnd.oci.image.index.v1+json");
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  private final String reference;
+  private final Map<String, Long> blobs;
+
+  private RegistryManifest(String reference, Map<String, Long> blobs) {
+    this.reference = reference;
+    this.blobs = Collections.unmodifiableMap(blobs);
+  }
+
+  /**
+   * Retrieves the manifest of the provided repository and tag from the registry (host:port).
+   */
+  @SuppressWarnings("unchecked")
+  public static RegistryManifest fetch(String registry, String repository, String tag)
+    throws IOException, InterruptedException {
+
+    final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    Map<String, Object> manifest = get(httpClient, registry, repository, tag);
+    final List<Map<String, Object>> manifests = (List<Map<String, Object>>) manifest.get("manifests");
+    if (manifests != null && !manifests.isEmpty()) {
+      manifest = get(httpClient, registry, repository, String.valueOf(manifests.get(0).get("digest")));
+    }
+    final Map<String, Long> blobs = new LinkedHashMap<>();
+    final List<Map<String, Object>> descriptors = new ArrayList<>();
+    if (manifest.get("config") != null) {
+      descriptors.add((Map<String, Object>) manifest.get("config"));
+    }
+    descriptors.addAll((List<Map<String, Object>>) manifest.getOrDefault("layers", Collections.emptyList()));
+    descriptors.forEach(d -> blobs.put(String.valueOf(d.get("digest")), ((Number) d.get("size")).longValue()));
+    return new RegistryManifest(String.format("%s/%s:%s", registry, repository, tag), blobs);
+  }
+
+  public String getReference() {
+    return reference;
+  }
+
+  /**
+   * @return the digest of each blob (config first, then the layers) and its (compressed) size in bytes.
+   */
+  public Map<String, Long> getBlobs() {
+    return blobs;
+  }
+
+  public long getSize() {
+    return blobs.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> get(HttpClient httpClient, String registry, String repository, String reference)
+    throws IOException, InterruptedException {
+
+    final HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(
+        URI.create(String.format("http://%s/v2/%s/manifests/%s", registry, repository, reference)))
+      .header("Accept", ACCEPT)
+      .timeout(TIMEOUT)
+      .build(), HttpResponse.BodyHandlers.ofByteArray());
+    if (response.statusCode() != 200) {
+      throw new IOException(String.format("Manifest %s/%s:%s couldn't be retrieved (%s): %s",
+        registry, repository, reference, response.statusCode(), new String(response.body(), StandardCharsets.UTF_8)));
+    }
+    return new ObjectMapper().readValue(response.body(), Map.class);
+  }
+}
@@ -0,0 +1,276 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.docker;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sequential reader for (optionally gzipped) tar streams supporting the ustar, GNU long name and PAX path
+ * extensions used by docker save and image layers.
+ *
+ * <p> Entries are never buffered, the content of the current entry must be consumed (or skipped) through
+ * {@link #content()} before moving to the next one.
+ */
+final class TarReader {
+
+  private static final int BLOCK_SIZE = 512;
+
+  private final InputStream in;
+  private long remaining;
+  private long padding;
+
+  private TarReader(InputStream in) {
+    this.in = in;
+  }
+
+  static TarReader of(InputStream stream) throws IOException {
+    final InputStream buffered = stream.markSupported() ? stream : new BufferedInputStream(stream, 64 * 1024);
+    buffered.mark(2);
+    final int b1 = buffered.read();
+    final int b2 = buffered.read();
+    buffered.reset();
+    if (b1 == 0x1F && b2 == 0x8B) {
+      return new TarReader(new BufferedInputStream(new GZIPInputStream(buffered, 64 * 1024), 64 * 1024));
+    }
+    return new TarReader(buffered);
+  }
+
+  /**
+   * Checks if the stream starts with gzip magic, a valid tar header (ustar or v7, validated through its checksum)
+   * or the end-of-archive zero block of an empty tar, without consuming it.
+   */
+  static boolean isArchive(BufferedInputStream stream) throws IOException {
+    stream.mark(BLOCK_SIZE);
+    try {
+      final byte[] header = stream.readNBytes(BLOCK_SIZE);
+      if (header.length >= 2 && (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B) {
+        return true;
+      }
+      return header.length == BLOCK_SIZE && (isZeroBlock(header) || hasValidChecksum(header));
+    } finally {
+      stream.reset();
+    }
+  }
+
+  /**
+   * @return the next entry or null if the end of the archive was reached.
+   */
+  Entry next() throws IOException {
+    skipCurrent();
+    String longName = null;
+    while (true) {
+      final byte[] header = in.readNBytes(BLOCK_SIZE);
+      if (header.length < BLOCK_SIZE || isZeroBlock(header)) {
+        return null;
+      }
+      final char type = (char) header[156];
+      final long size = size(header);
+      startEntry(size);
+      if (type == 'L') {
+        longName = trimNull(new String(content().readAllBytes(), StandardCharsets.UTF_8));
+        skipCurrent();
+        continue;
+      } else if (type == 'x') {
+        final String paxPath = paxPath(new String(content().readAllBytes(), StandardCharsets.UTF_8));
+        longName = paxPath != null ? paxPath : longName;
+        skipCurrent();
+        continue;
+      } else if (type == 'g') {
+        skipCurrent();
+        continue;
+      }
+      String name = string(header, 0, 100);
+      final String prefix = string(header, 345, 155);
+      if (string(header, 257, 5).equals("ustar") && !prefix.isEmpty()) {
+        name = prefix + "/" + name;
+      }
+      if (longName != null) {
+        name = longName;
+      }
+      return new Entry(name, type, size, string(header, 157, 100));
+    }
+  }
+
+  InputStream content() {
+    return new InputStream() {
+      @Override
+      public int read() throws IOException {
+        if (remaining <= 0) {
+          return -1;
+        }
+        final int b = in.read();
+        if (b >= 0) {
+          remaining--;
+        }
+        return b;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        if (remaining <= 0) {
+          return -1;
+        }
+        final int read = in.read(b, off, (int) Math.min(len, remaining));
+        if (read > 0) {
+          remaining -= read;
+        }
+        return read;
+      }
+
+      @Override
+      public void close() {
+        // Entry streams are closed by moving to the next entry
+      }
+    };
+  }
+
+  private void startEntry(long size) {
+    remaining = size;
+    padding = (BLOCK_SIZE - (size % BLOCK_SIZE)) % BLOCK_SIZE;
+  }
+
+  private void skipCurrent() throws IOException {
+    skipFully(remaining + padding);
+    remaining = 0;
+    padding = 0;
+  }
+
+  private void skipFully(long bytes) throws IOException {
+    long toSkip = bytes;
+    while (toSkip > 0) {
+      final long skipped = in.skip(toSkip);
+      if (skipped <= 0) {
+        if (in.read() == -1) {
+          throw new IOException("Unexpected end of tar archive");
+        }
+        toSkip--;
+      } else {
+        toSkip -= skipped;
+      }
+    }
+  }
+
+  private static long size(byte[] header) {
+    if ((header[124] & 0x80) != 0) {
+      // GNU base-256 encoding for entries larger than 8 GiB
+      long size = 0;
+      for (int i = 125; i < 136; i++) {
+        size = (size << 8) | (header[i] & 0xFF);
+      }
+      return size;
+    }
+    final String octal = string(header, 124, 12).trim();
+    return octal.isEmpty() ? 0 : Long.parseLong(octal, 8);
+  }
+
+  private static String paxPath(String records) {
+    String path = null;
+    int offset = 0;
+    while (offset < records.length()) {
+      final int space = records.indexOf(' ', offset);
+      if (space < 0) {
+        break;
+      }
+      final int length = Integer.parseInt(records.substring(offset, space));
+      final String record = records.substring(space + 1, Math.min(records.length(), offset + length - 1));
+      if (record.startsWith("path=")) {
+        path = record.substring("path=".length());
+      }
+      offset += length;
+    }
+    return path;
+  }
+
+  // The checksum field (148-155) is computed as if it were filled with spaces, some writers use signed bytes
+  private static boolean hasValidChecksum(byte[] header) {
+    final String octal = string(header, 148, 8).trim();
+    if (octal.isEmpty() || !octal.chars().allMatch(c -> c >= '0' && c <= '7')) {
+      return false;
+    }
+    final long expected = Long.parseLong(octal, 8);
+    long unsigned = 0;
+    long signed = 0;
+    for (int i = 0; i < BLOCK_SIZE; i++) {
+      final byte b = i >= 148 && i < 156 ? (byte) ' ' : header[i];
+      unsigned += b & 0xFF;
+      signed += b;
+    }
+    return expected == unsigned || expected == signed;
+  }
+
+  private static boolean isZeroBlock(byte[] block) {
+    for (byte b : block) {
+      if (b != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String string(byte[] header, int offset, int length) {
+    return trimNull(new String(header, offset, length, StandardCharsets.UTF_8));
+  }
+
+  private static String trimNull(String s) {
+    final int nullChar = s.indexOf('\0');
+    return nullChar >= 0 ? s.substring(0, nullChar) : s;
+  }
+
+  static final class Entry {
+
+    private final String name;
+    private final char type;
+    private final long size;
+    private final String linkName;
+
+    private Entry(String name, char type, long size, String linkName) {
+      this.name = name;
+      this.type = type;
+      this.size = size;
+      this.linkName = linkName;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    long getSize() {
+      return size;
+    }
+
+    String getLinkName() {
+      return linkName;
+    }
+
+    boolean isDirectory() {
+      return type == '5' || name.endsWith("/");
+    }
+
+    boolean isSymbolicLink() {
+      return type == '2';
+    }
+
+    boolean isHardLink() {
+      return type == '1';
+    }
+
+    boolean isRegularFile() {
+      return type == '0' || type == '\0' || type == '7';
+    }
+  }
+}
@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.gradle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.eclipse.jkube.integrationtests.DigestUtil.hex;
+import static org.eclipse.jkube.integrationtests.DigestUtil.sha256;
+
+/**
+ * Resolves the Gradle installation used to run the Gradle tests, in order of preference:
+ * <ol>
+ *   <li>A local installation (GRADLE_HOME or {@code gradle} in the PATH) of the requested version.</li>
+ *   <li>A distribution already unpacked in the shared cache ({@value #GRADLE_DISTRIBUTION_CACHE_SYSTEM_PROPERTY}).</li>
+ *   <li>A {@code gradle-<version>-bin.zip} distribution in the pre-seeded directory
+ *   ({@value #GRADLE_DISTRIBUTION_DIR_SYSTEM_PROPERTY}), verified with the adjacent {@code .sha256} file or the
+ *   {@value #GRADLE_DISTRIBUTION_SHA256_SYSTEM_PROPERTY} system property.</li>
+ *   <li>The distribution downloaded from services.gradle.org, verified with the published checksum.</li>
+ * </ol>
+ *
+ * <p> Distributions are unpacked into the shared cache once per host, a file lock prevents concurrent test JVMs from
+ * unpacking the same distribution at the same time.
+ */
+public class GradleDistributionResolver {
+
+  public static final String GRADLE_DISTRIBUTION_DIR_SYSTEM_PROPERTY = "gradleDistributionDir";
+  public static final String GRADLE_DISTRIBUTION_SHA256_SYSTEM_PROPERTY = "gradleDistributionSha256";
+  public static final String GRADLE_DISTRIBUTION_CACHE_SYSTEM_PROPERTY = "gradleDistributionCache";
+  private static final String DISTRIBUTIONS_URL = "https://services.gradle.org/distributions/";
+  private static final Logger log = LoggerFactory.getLogger(GradleDistributionResolver.class);
+  private static final Map<String, File> RESOLVED = new HashMap<>();
+
+  private GradleDistributionResolver() { }
+
+  public static synchronized File resolve(String gradleVersion) throws IOException, InterruptedException {
+    if (gradleVersion == null || gradleVersion.isBlank()) {
+      throw new IllegalArgumentException("Gradle version is required");
+    }
+    final File resolved = RESOLVED.get(gradleVersion);
+    if (resolved != null) {
+      return resolved;
+    }
+    final Optional<File> local = findLocalInstallation(gradleVersion);
+    final File installation = local.isPresent() ? local.get() : resolveCached(gradleVersion);
+    log.info("Using Gradle {} installation at {}", gradleVersion, installation);
+    RESOLVED.put(gradleVersion, installation);
+    return installation;
+  }
+
+  private static Optional<File> findLocalInstallation(String gradleVersion) {
+    final Stream<Path> fromGradleHome = Stream.ofNullable(System.getenv("GRADLE_HOME")).map(Path::of);
+    final Stream<Path> fromPath = Stream.of(Optional.ofNullable(System.getenv("PATH")).orElse("").split(File.pathSeparator))
+      .filter(path -> !path.isEmpty())
+      .map(path -> Path.of(path, "gradle"))
+      .filter(Files::isExecutable)
+      .map(GradleDistributionResolver::toRealPath)
+      // <installation>/bin/gradle
+      .map(gradle -> gradle.getParent().getParent());
+    return Stream.concat(fromGradleHome, fromPath)
+      .filter(installation -> isInstallation(installation, gradleVersion))
+      .map(Path::toFile)
+      .findFirst();
+  }
+
+  private static File resolveCached(String gradleVersion) throws IOException, InterruptedException {
+    final Path cache = Path.of(System.getProperty(GRADLE_DISTRIBUTION_CACHE_SYSTEM_PROPERTY,
+      Path.of(System.getProperty("user.home"), ".cache", "jkube-integration-tests", "gradle").toString()));
+    final Path installation = cache.resolve("gradle-" + gradleVersion);
+    if (isInstallation(installation, gradleVersion)) {
+      return installation.toFile();
+    }
+    Files.createDirectories(cache);
+    try (
+      FileChannel lockChannel = FileChannel.open(cache.resolve("gradle-" + gradleVersion + ".lock"),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      FileLock ignored = lockChannel.lock()
+    ) {
+      // Another JVM might have unpacked the distribution while waiting for the lock
+      if (isInstallation(installation, gradleVersion)) {
+        return installation.toFile();
+      }
+      final String distributionName = "gradle-" + gradleVersion + "-bin.zip";
+      final Optional<Path> seeded = Optional.ofNullable(System.getProperty(GRADLE_DISTRIBUTION_DIR_SYSTEM_PROPERTY))
+        .map(dir -> Path.of(dir, distributionName))
+        .filter(Files::isRegularFile);
+      final Path distribution;
+      final String expectedSha256;
+      if (seeded.isPresent()) {
+        distribution = seeded.get();
+        expectedSha256 = seededSha256(distribution);
+      } else {
+        distribution = cache.resolve(distributionName + ".part");
+        expectedSha256 = download(URI.create(DISTRIBUTIONS_URL + distributionName), distribution);
+      }
+      try {
+        verifySha256(distribution, expectedSha256);
+        unpack(distribution, cache, installation, gradleVersion);
+      } finally {
+        if (!seeded.isPresent()) {
+          Files.deleteIfExists(distribution);
+        }
+      }
+      return installation.toFile();
+    }
+  }
+
+  private static String seededSha256(Path distribution) throws IOException {
+    final Path checksumFile = distribution.resolveSibling(distribution.getFileName() + ".sha256");
+    if (Files.isRegularFile(checksumFile)) {
+      return Files.readString(checksumFile, StandardCharsets.UTF_8);
+    }
+    return Optional.ofNullable(System.getProperty(GRADLE_DISTRIBUTION_SHA256_SYSTEM_PROPERTY)).orElseThrow(() ->
+      new IOException(String.format("Gradle distribution %s can't be verified, provide %s or the %s system property",
+        distribution, checksumFile.getFileName(), GRADLE_DISTRIBUTION_SHA256_SYSTEM_PROPERTY)));
+  }
+
+  /**
+   * @return the published SHA-256 checksum of the downloaded distribution.
+   */
+  private static String download(URI uri, Path target) throws IOException, InterruptedException {
+    log.info("Downloading Gradle distribution {}", uri);
+    final HttpClient httpClient = HttpClient.newBuilder()
+      .followRedirects(HttpClient.Redirect.NORMAL)
+      .connectTimeout(Duration.ofSeconds(30))
+      .build();
+    final HttpResponse<String> checksum = httpClient.send(
+      HttpRequest.newBuilder(URI.create(uri + ".sha256")).build(), HttpResponse.BodyHandlers.ofString());
+    if (checksum.statusCode() != 200) {
+      throw new IOException("Gradle distribution checksum can't be downloaded: " + checksum.statusCode());
+    }
+    final HttpResponse<Path> distribution = httpClient.send(
+      HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofFile(target));
+    if (distribution.statusCode() != 200) {
+      throw new IOException("Gradle distribution can't be downloaded: " + distribution.statusCode());
+    }
+    return checksum.body();
+  }
+
+  private static void verifySha256(Path distribution, String expectedSha256) throws IOException {
+    final MessageDigest digest = sha256();
+    try (InputStream is = new DigestInputStream(Files.newInputStream(distribution), digest)) {
+      is.transferTo(OutputStream.nullOutputStream());
+    }
+    final String actual = hex(digest.digest());
+    // Checksum files might contain the file name too (sha256sum format)
+    final String expected = expectedSha256.trim().split("\\s+")[0];
+    if (!actual.equalsIgnoreCase(expected)) {
+      throw new IOException(String.format("Gradle distribution %s checksum mismatch, expected %s but was %s",
+        distribution.getFileName(), expected, actual));
+    }
+  }
+
+  private static void unpack(Path distribution, Path cache, Path installation, String gradleVersion)
+    throws IOException {
+
+    final Path staging = Files.createTempDirectory(cache, "gradle-" + gradleVersion + "-");
+    try {
+      try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(distribution))) {
+        ZipEntry entry;
+        while ((entry = zis.getNextEntry()) != null) {
+          final Path target = staging.resolve(entry.getName()).normalize();
+          if (!target.startsWith(staging)) {
+            throw new IOException("Invalid Gradle distribution entry: " + entry.getName());
+          }
+          if (entry.isDirectory()) {
+            Files.createDirectories(target);
+          } else {
+            Files.createDirectories(target.getParent());
+            Files.copy(zis, target, StandardCopyOption.REPLACE_EXISTING);
+          }
+        }
+      }
+      final Path unpacked = staging.resolve("gradle-" + gradleVersion);
+      if (!isInstallation(unpacked, gradleVersion)) {
+        throw new IOException("Invalid Gradle distribution: " + distribution);
+      }
+      try (Stream<Path> scripts = Files.list(unpacked.resolve("bin"))) {
+        scripts.forEach(script -> script.toFile().setExecutable(true));
+      }
+      Files.move(unpacked, installation, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      deleteRecursively(staging);
+    }
+  }
+
+  private static boolean isInstallation(Path path, String gradleVersion) {
+    return Files.isRegularFile(path.resolve("lib").resolve("gradle-base-services-" + gradleVersion + ".jar"));
+  }
+
+  private static Path toRealPath(Path path) {
+    try {
+      return path.toRealPath();
+    } catch (IOException ex) {
+      return path.toAbsolutePath();
+    }
+  }
+
+  private static void deleteRecursively(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(path)) {
+      for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(p);
+      }
+    }
+  }
+}
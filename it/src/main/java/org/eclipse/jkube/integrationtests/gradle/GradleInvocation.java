@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.gradle;
+
+import org.eclipse.jkube.integrationtests.docker.DockerUtils;
+import org.eclipse.jkube.integrationtests.host.HostAdmission;
+import org.eclipse.jkube.integrationtests.timing.Phase;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings;
+import org.gradle.testkit.runner.BuildResult;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Gradle build prepared by {@link JKubeGradleRunner#tasks(String...)}, run with {@link #build()} or
+ * {@link #buildAndFail()}.
+ */
+public final class GradleInvocation {
+
+  private final GradleInvoker invoker;
+  private final List<String> arguments;
+  private final boolean imageBuild;
+
+  GradleInvocation(GradleInvoker invoker, List<String> arguments, boolean imageBuild) {
+    this.invoker = invoker;
+    this.arguments = arguments;
+    this.imageBuild = imageBuild;
+  }
+
+  public List<String> getArguments() {
+    return arguments;
+  }
+
+  public BuildResult build() {
+    try (HostAdmission.Permit ignore = admit()) {
+      final Instant start = Instant.now();
+      try {
+        return invoker.build(arguments);
+      } finally {
+        recordTiming(start);
+      }
+    } finally {
+      invalidateImageCache();
+    }
+  }
+
+  public BuildResult buildAndFail() {
+    try (HostAdmission.Permit ignore = admit()) {
+      final Instant start = Instant.now();
+      try {
+        return invoker.buildAndFail(arguments);
+      } finally {
+        recordTiming(start);
+      }
+    } finally {
+      invalidateImageCache();
+    }
+  }
+
+  private static HostAdmission.Permit admit() {
+    try {
+      return HostAdmission.acquire(HostAdmission.Footprint.GRADLE_BUILD);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for host admission", ex);
+    }
+  }
+
+  private void recordTiming(Instant start) {
+    final String tasks = arguments.stream().filter(a -> !a.startsWith("-")).collect(Collectors.joining(" "));
+    PhaseTimings.record(Phase.ofGradleArguments(arguments), tasks, start);
+  }
+
+  private void invalidateImageCache() {
+    if (imageBuild) {
+      DockerUtils.invalidateImageCache();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs Gradle builds for the provided command line arguments.
+ *
+ * <p> The {@value #GRADLE_RUNNER_SYSTEM_PROPERTY} system property selects the implementation: {@code testkit}
+ * (default, Gradle TestKit runner) or {@code tooling} (pooled Tooling API connections to persistent daemons, see
+ * {@link ToolingApiGradleInvoker}).
+ */
+public interface GradleInvoker {
+
+  String GRADLE_RUNNER_SYSTEM_PROPERTY = "gradleRunner";
+
+  /**
+   * @throws org.gradle.testkit.runner.UnexpectedBuildFailure if the build fails.
+   */
+  BuildResult build(List<String> arguments);
+
+  /**
+   * @throws org.gradle.testkit.runner.UnexpectedBuildSuccess if the build succeeds.
+   */
+  BuildResult buildAndFail(List<String> arguments);
+
+  static GradleInvoker create(Path projectDir, File gradleInstallation, boolean forwardOutput) {
+    final String gradleRunner = System.getProperty(GRADLE_RUNNER_SYSTEM_PROPERTY, "testkit").toLowerCase();
+    switch (gradleRunner) {
+      case "testkit":
+        return new TestKitGradleInvoker(projectDir, gradleInstallation, forwardOutput);
+      case "tooling":
+        return new ToolingApiGradleInvoker(projectDir, gradleInstallation, forwardOutput);
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Unsupported %s: %s (testkit, tooling)", GRADLE_RUNNER_SYSTEM_PROPERTY, gradleRunner));
+    }
+  }
+}
@@ -13,12 +13,12 @@
  */
 package org.eclipse.jkube.integrationtests.gradle;
 
-import org.gradle.testkit.runner.GradleRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.eclipse.jkube.integrationtests.JKubeCase.JKUBE_VERSION_SYSTEM_PROPERTY;
@@ -27,23 +27,24 @@ public class JKubeGradleRunner {
 
   private static final Logger log = LoggerFactory.getLogger(JKubeGradleRunner.class);
   private static final String JKUBE_VERSION_GRADLE_PROPERTY = JKUBE_VERSION_SYSTEM_PROPERTY;
-  private final GradleRunner gradleRunner;
+  private static final Set<String> IMAGE_BUILD_TASKS = Set.of("k8sBuild", "ocBuild");
+  private final GradleInvoker gradleInvoker;
 
   private final String module;
 
   private final Path projectPath;
 
-  public JKubeGradleRunner(GradleRunner gradleRunner, String module, Path projectPath) {
-    this.gradleRunner = gradleRunner;
+  public JKubeGradleRunner(GradleInvoker gradleInvoker, String module, Path projectPath) {
+    this.gradleInvoker = gradleInvoker;
     this.module = module;
     this.projectPath = projectPath;
   }
 
-  public GradleRunner tasks(String... tasks) {
+  public GradleInvocation tasks(String... tasks) {
     return tasks(true, true, tasks);
   }
 
-  public GradleRunner tasks(boolean offline, boolean forModule, String... tasks) {
+  public GradleInvocation tasks(boolean offline, boolean forModule, String... tasks) {
     final ArrayList<String> arguments = new ArrayList<>();
     if (offline) {
       arguments.add("--offline");
@@ -56,7 +57,7 @@ public class JKubeGradleRunner {
       arguments.add(0, "-P" + JKUBE_VERSION_GRADLE_PROPERTY + "=" + jKubeVersion);
     }
     log.info("Running 'gradle {}'", String.join(" ", arguments));
-    return gradleRunner.withArguments(arguments);
+    return new GradleInvocation(gradleInvoker, arguments, Stream.of(tasks).anyMatch(IMAGE_BUILD_TASKS::contains));
   }
 
   public Path getProjectPath() {
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * {@link GradleInvoker} backed by Gradle TestKit, a new runner is created for each build so that concurrent builds
+ * don't share the (mutable) runner arguments.
+ */
+final class TestKitGradleInvoker implements GradleInvoker {
+
+  private final Path projectDir;
+  private final File gradleInstallation;
+  private final boolean forwardOutput;
+
+  TestKitGradleInvoker(Path projectDir, File gradleInstallation, boolean forwardOutput) {
+    this.projectDir = projectDir;
+    this.gradleInstallation = gradleInstallation;
+    this.forwardOutput = forwardOutput;
+  }
+
+  @Override
+  public BuildResult build(List<String> arguments) {
+    return runner(arguments).build();
+  }
+
+  @Override
+  public BuildResult buildAndFail(List<String> arguments) {
+    return runner(arguments).buildAndFail();
+  }
+
+  private GradleRunner runner(List<String> arguments) {
+    final GradleRunner gradleRunner = GradleRunner.create()
+      .withGradleInstallation(gradleInstallation)
+      .withProjectDir(projectDir.toFile())
+      .withArguments(arguments);
+    if (forwardOutput) {
+      gradleRunner.forwardOutput();
+    }
+    return gradleRunner;
+  }
+}
@@ -0,0 +1,298 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.BuildTask;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.gradle.testkit.runner.UnexpectedBuildFailure;
+import org.gradle.testkit.runner.UnexpectedBuildSuccess;
+import org.gradle.tooling.BuildException;
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.events.OperationType;
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+import org.gradle.tooling.events.task.TaskOperationResult;
+import org.gradle.tooling.events.task.TaskSkippedResult;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * {@link GradleInvoker} backed by the Gradle Tooling API.
+ *
+ * <p> Builds are run through a JVM-wide pool of {@link ProjectConnection}s (shared by every Gradle test class for the
+ * same project and Gradle installation) to persistent Gradle daemons, so that subsequent builds reuse warm daemons with
+ * their cached build script classes instead of starting or attaching to a TestKit daemon each time. The pool size
+ * is limited by the {@value #GRADLE_RUNNER_CONNECTIONS_SYSTEM_PROPERTY} system property. Task outcomes are
+ * collected from the build progress events.
+ */
+final class ToolingApiGradleInvoker implements GradleInvoker {
+
+  static final String GRADLE_RUNNER_CONNECTIONS_SYSTEM_PROPERTY = "gradleRunnerConnections";
+  private static final Logger log = LoggerFactory.getLogger(ToolingApiGradleInvoker.class);
+  private static final Map<String, ConnectionPool> POOLS = new ConcurrentHashMap<>();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> POOLS.values().forEach(ConnectionPool::close)));
+  }
+
+  private final Path projectDir;
+  private final boolean forwardOutput;
+  private final ConnectionPool pool;
+
+  ToolingApiGradleInvoker(Path projectDir, File gradleInstallation, boolean forwardOutput) {
+    this.projectDir = projectDir;
+    this.forwardOutput = forwardOutput;
+    this.pool = POOLS.computeIfAbsent(projectDir.toAbsolutePath() + "#" + gradleInstallation, k ->
+      new ConnectionPool(projectDir, gradleInstallation,
+        Integer.getInteger(GRADLE_RUNNER_CONNECTIONS_SYSTEM_PROPERTY, Runtime.getRuntime().availableProcessors())));
+  }
+
+  @Override
+  public BuildResult build(List<String> arguments) {
+    final ToolingApiBuildResult result = run(arguments);
+    if (result.failure != null) {
+      throw new UnexpectedBuildFailure(message("Unexpected build execution failure", arguments, result), result);
+    }
+    return result;
+  }
+
+  @Override
+  public BuildResult buildAndFail(List<String> arguments) {
+    final ToolingApiBuildResult result = run(arguments);
+    if (result.failure == null) {
+      throw new UnexpectedBuildSuccess(message("Unexpected build execution success", arguments, result), result);
+    }
+    return result;
+  }
+
+  private ToolingApiBuildResult run(List<String> arguments) {
+    final ToolingApiBuildResult result = new ToolingApiBuildResult();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final OutputStream out = forwardOutput ? new ForwardingOutputStream(output) : output;
+    final ProjectConnection connection = pool.borrow();
+    boolean reusable = true;
+    try {
+      connection.newBuild()
+        .withArguments(arguments)
+        .setStandardOutput(out)
+        .setStandardError(out)
+        .addProgressListener(result::onProgressEvent, OperationType.TASK)
+        .run();
+    } catch (BuildException ex) {
+      result.failure = ex;
+    } catch (GradleConnectionException ex) {
+      reusable = false;
+      throw new IllegalStateException("Gradle connection failed: " + ex.getMessage(), ex);
+    } finally {
+      pool.release(connection, reusable);
+      result.output = output.toString(StandardCharsets.UTF_8);
+    }
+    return result;
+  }
+
+  private String message(String description, List<String> arguments, BuildResult result) {
+    return String.format("%s in %s with arguments %s%n%nOutput:%n%s",
+      description, projectDir, arguments, result.getOutput());
+  }
+
+  private static final class ConnectionPool {
+
+    private final Path projectDir;
+    private final File gradleInstallation;
+    private final Semaphore permits;
+    private final Deque<ProjectConnection> idle;
+    private final Set<ProjectConnection> connections;
+
+    private ConnectionPool(Path projectDir, File gradleInstallation, int size) {
+      this.projectDir = projectDir;
+      this.gradleInstallation = gradleInstallation;
+      this.permits = new Semaphore(size, true);
+      this.idle = new ConcurrentLinkedDeque<>();
+      this.connections = ConcurrentHashMap.newKeySet();
+    }
+
+    private ProjectConnection borrow() {
+      try {
+        permits.acquire();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for a Gradle connection", ex);
+      }
+      final ProjectConnection pooled = idle.pollFirst();
+      if (pooled != null) {
+        return pooled;
+      }
+      try {
+        final ProjectConnection connection = GradleConnector.newConnector()
+          .forProjectDirectory(projectDir.toFile())
+          .useInstallation(gradleInstallation)
+          .connect();
+        connections.add(connection);
+        log.debug("Opened Gradle connection {} for {}", connections.size(), projectDir);
+        return connection;
+      } catch (RuntimeException ex) {
+        permits.release();
+        throw ex;
+      }
+    }
+
+    private void release(ProjectConnection connection, boolean reusable) {
+      if (reusable) {
+        // LIFO, the most recently used connection is the warmest one
+        idle.offerFirst(connection);
+      } else {
+        connections.remove(connection);
+        connection.close();
+      }
+      permits.release();
+    }
+
+    private void close() {
+      connections.forEach(ProjectConnection::close);
+      connections.clear();
+      idle.clear();
+    }
+  }
+
+  private static final class ToolingApiBuildResult implements BuildResult {
+
+    private final List<BuildTask> tasks = new CopyOnWriteArrayList<>();
+    private volatile String output = "";
+    private volatile BuildException failure;
+
+    private void onProgressEvent(ProgressEvent event) {
+      if (event instanceof TaskFinishEvent) {
+        final TaskFinishEvent taskFinish = (TaskFinishEvent) event;
+        final TaskOperationResult taskResult = taskFinish.getResult();
+        final ToolingApiBuildTask task = new ToolingApiBuildTask(
+          taskFinish.getDescriptor().getTaskPath(), outcome(taskResult));
+        tasks.add(task);
+        log.debug("{} in {} ms", task, taskResult.getEndTime() - taskResult.getStartTime());
+      }
+    }
+
+    @Override
+    public String getOutput() {
+      return output;
+    }
+
+    @Override
+    public List<BuildTask> getTasks() {
+      return Collections.unmodifiableList(tasks);
+    }
+
+    @Override
+    public List<BuildTask> tasks(TaskOutcome outcome) {
+      return tasks.stream().filter(t -> t.getOutcome() == outcome).collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public List<String> taskPaths(TaskOutcome outcome) {
+      return tasks(outcome).stream().map(BuildTask::getPath).collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public BuildTask task(String taskPath) {
+      return tasks.stream().filter(t -> t.getPath().equals(taskPath)).findFirst().orElse(null);
+    }
+
+    private static TaskOutcome outcome(TaskOperationResult result) {
+      if (result instanceof TaskSuccessResult) {
+        final TaskSuccessResult success = (TaskSuccessResult) result;
+        if (success.isFromCache()) {
+          return TaskOutcome.FROM_CACHE;
+        }
+        return success.isUpToDate() ? TaskOutcome.UP_TO_DATE : TaskOutcome.SUCCESS;
+      } else if (result instanceof TaskSkippedResult) {
+        return "NO-SOURCE".equals(((TaskSkippedResult) result).getSkipMessage()) ?
+          TaskOutcome.NO_SOURCE : TaskOutcome.SKIPPED;
+      }
+      return TaskOutcome.FAILED;
+    }
+  }
+
+  private static final class ToolingApiBuildTask implements BuildTask {
+
+    private final String path;
+    private final TaskOutcome outcome;
+
+    private ToolingApiBuildTask(String path, TaskOutcome outcome) {
+      this.path = path;
+      this.outcome = outcome;
+    }
+
+    @Override
+    public String getPath() {
+      return path;
+    }
+
+    @Override
+    public TaskOutcome getOutcome() {
+      return outcome;
+    }
+
+    @Override
+    public String toString() {
+      return path + "=" + outcome;
+    }
+  }
+
+  private static final class ForwardingOutputStream extends OutputStream {
+
+    private final OutputStream output;
+
+    private ForwardingOutputStream(OutputStream output) {
+      this.output = output;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      output.write(b);
+      System.out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      output.write(b, off, len);
+      System.out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      output.flush();
+      System.out.flush();
+    }
+  }
+}
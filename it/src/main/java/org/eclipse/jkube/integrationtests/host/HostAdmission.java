@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.host;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+import static org.eclipse.jkube.integrationtests.host.HostResources.MIB;
+
+/**
+ * Admits the expensive host operations started by the tests (Maven forks, Gradle builds, HTTP probes)
+ * according to their expected {@link Footprint} so that the test classes running in parallel don't oversubscribe the
+ * host CPUs and memory.
+ *
+ * <p> The budget is the number of available processors and the memory available when the first operation is
+ * admitted (minus a reserve). The budget is a one-time snapshot taken at first use and never refreshed, memory freed
+ * or consumed by other workloads afterwards is only accounted by the memory pressure check below. Operations are
+ * admitted in FIFO order while their footprint fits the remaining budget, {@link Footprint#HTTP_PROBE HTTP probes}
+ * are lightweight and skip the queue. Before admitting an operation, the
+ * memory currently available in the host is checked too, if the host is under memory pressure (e.g. the admitted
+ * processes use more than their expected footprint, or another workload is running) the operation is delayed with
+ * an exponential backoff until some memory is freed.
+ *
+ * <p> An operation is always admitted when nothing else is running, so a footprint larger than the host never
+ * blocks. The {@value #HOST_ADMISSION_SYSTEM_PROPERTY} system property can be set to {@code off} to disable the
+ * admission control.
+ */
+public class HostAdmission {
+
+  public static final String HOST_ADMISSION_SYSTEM_PROPERTY = "hostAdmission";
+  public static final String HOST_ADMISSION_MEMORY_RESERVE_SYSTEM_PROPERTY = "hostAdmissionMemoryReserveMiB";
+  private static final long INITIAL_BACKOFF_MILLIS = 250L;
+  private static final long MAX_BACKOFF_MILLIS = 5000L;
+  private static final Logger log = LoggerFactory.getLogger(HostAdmission.class);
+  private static final Permit NO_OP = () -> { };
+
+  private HostAdmission() { }
+
+  // Initialization on demand, the budget is snapshotted once when the first operation is admitted
+  private static class BudgetHolder {
+    public static final Budget INSTANCE = new Budget(
+      HostResources.availableProcessors() * 1000L,
+      Math.max(0L, HostResources.availableMemory() - memoryReserve()));
+  }
+
+  /**
+   * Expected resources consumed by an operation while it runs.
+   */
+  public enum Footprint {
+    /**
+     * New Maven JVM (the JKube goals, including Docker or Jib image builds driven by the forked JVM).
+     */
+    MAVEN_FORK(1000L, 768L * MIB),
+    /**
+     * Gradle build (the build runs in a Gradle daemon which is reused, only its working memory is accounted).
+     */
+    GRADLE_BUILD(1000L, 512L * MIB),
+    /**
+     * HTTP request to an application deployed in the cluster.
+     */
+    HTTP_PROBE(0L, 16L * MIB);
+
+    private final long cpuMillis;
+    private final long memoryBytes;
+
+    Footprint(long cpuMillis, long memoryBytes) {
+      this.cpuMillis = cpuMillis;
+      this.memoryBytes = memoryBytes;
+    }
+
+    long getCpuMillis() {
+      return cpuMillis;
+    }
+
+    long getMemoryBytes() {
+      return memoryBytes;
+    }
+  }
+
+  /**
+   * Admission of an operation, must be closed once the operation completes.
+   */
+  @FunctionalInterface
+  public interface Permit extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  /**
+   * Blocks until the operation with the provided footprint can be started.
+   */
+  public static Permit acquire(Footprint footprint) throws InterruptedException {
+    if (!isEnabled()) {
+      return NO_OP;
+    }
+    final Budget budget = BudgetHolder.INSTANCE;
+    budget.acquire(footprint);
+    return new Permit() {
+      private boolean closed;
+
+      @Override
+      public synchronized void close() {
+        if (!closed) {
+          closed = true;
+          budget.release(footprint);
+        }
+      }
+    };
+  }
+
+  private static boolean isEnabled() {
+    final String hostAdmission = System.getProperty(HOST_ADMISSION_SYSTEM_PROPERTY, "on").toLowerCase(Locale.ROOT);
+    switch (hostAdmission) {
+      case "on":
+        return true;
+      case "off":
+        return false;
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Unsupported %s: %s (on, off)", HOST_ADMISSION_SYSTEM_PROPERTY, hostAdmission));
+    }
+  }
+
+  static long memoryReserve() {
+    return Long.getLong(HOST_ADMISSION_MEMORY_RESERVE_SYSTEM_PROPERTY, 512L) * MIB;
+  }
+
+  private static final class Budget {
+
+    private final long cpuMillis;
+    private final long memoryBytes;
+    private final Deque<Object> queue;
+    private long usedCpuMillis;
+    private long usedMemoryBytes;
+    private int admitted;
+
+    private Budget(long cpuMillis, long memoryBytes) {
+      this.cpuMillis = cpuMillis;
+      this.memoryBytes = memoryBytes;
+      this.queue = new ArrayDeque<>();
+      log.info("Host admission budget: {}m CPU, {} MiB memory", cpuMillis, memoryBytes / MIB);
+    }
+
+    private synchronized void acquire(Footprint footprint) throws InterruptedException {
+      // Each waiter gets its own ticket (footprints aren't unique)
+      final Object ticket = footprint == Footprint.HTTP_PROBE ? null : new Object();
+      if (ticket != null) {
+        queue.addLast(ticket);
+      }
+      long backoff = INITIAL_BACKOFF_MILLIS;
+      try {
+        while (true) {
+          if ((ticket == null || queue.peekFirst() == ticket) && fits(footprint)) {
+            if (admitted == 0 || !underMemoryPressure(footprint)) {
+              break;
+            }
+            log.debug("Host under memory pressure, {} delayed for {} ms", footprint, backoff);
+            wait(backoff);
+            backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+          } else {
+            wait();
+          }
+        }
+      } finally {
+        if (ticket != null) {
+          queue.remove(ticket);
+        }
+        notifyAll();
+      }
+      usedCpuMillis += footprint.getCpuMillis();
+      usedMemoryBytes += footprint.getMemoryBytes();
+      admitted++;
+    }
+
+    private synchronized void release(Footprint footprint) {
+      usedCpuMillis -= footprint.getCpuMillis();
+      usedMemoryBytes -= footprint.getMemoryBytes();
+      admitted--;
+      notifyAll();
+    }
+
+    private boolean fits(Footprint footprint) {
+      return admitted == 0 || (usedCpuMillis + footprint.getCpuMillis() <= cpuMillis
+        && usedMemoryBytes + footprint.getMemoryBytes() <= memoryBytes);
+    }
+
+    private static boolean underMemoryPressure(Footprint footprint) {
+      return HostResources.availableMemory() - memoryReserve() < footprint.getMemoryBytes();
+    }
+  }
+}
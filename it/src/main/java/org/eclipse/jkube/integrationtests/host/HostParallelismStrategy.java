@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.host;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.eclipse.jkube.integrationtests.host.HostResources.MIB;
+
+/**
+ * JUnit Platform parallel execution strategy that sizes the number of test classes run concurrently from the
+ * available processors and memory of the host.
+ *
+ * <p> Each test class is expected to use {@code cores-per-class} processors and {@code memory-per-class} MiB of memory
+ * (its Maven forks, builds and probes are further limited at runtime by {@link HostAdmission}), the parallelism is the
+ * lower of both limits, bounded by {@code min-parallelism} and {@code max-parallelism}. The values can be configured
+ * with the {@value #CONFIG_PREFIX} prefixed configuration parameters (e.g. in {@code junit-platform.properties}).
+ */
+public class HostParallelismStrategy implements ParallelExecutionConfigurationStrategy {
+
+  static final String CONFIG_PREFIX = "junit.jupiter.execution.parallel.config.custom.";
+  private static final double DEFAULT_CORES_PER_CLASS = 1D;
+  private static final long DEFAULT_MEMORY_PER_CLASS_MIB = 1024L;
+  private static final int DEFAULT_MIN_PARALLELISM = 1;
+  private static final int DEFAULT_MAX_PARALLELISM = 32;
+  // Same as the JUnit dynamic strategy, blocked workers (e.g. ResourceLock) are compensated with additional threads
+  private static final int MAX_POOL_SIZE_OFFSET = 256;
+  private static final int KEEP_ALIVE_SECONDS = 30;
+  private static final Logger log = LoggerFactory.getLogger(HostParallelismStrategy.class);
+
+  @Override
+  public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+    final double coresPerClass = configurationParameters.get(CONFIG_PREFIX + "cores-per-class", Double::parseDouble)
+      .orElse(DEFAULT_CORES_PER_CLASS);
+    final long memoryPerClass = configurationParameters.get(CONFIG_PREFIX + "memory-per-class", Long::parseLong)
+      .orElse(DEFAULT_MEMORY_PER_CLASS_MIB) * MIB;
+    final int minParallelism = configurationParameters.get(CONFIG_PREFIX + "min-parallelism", Integer::parseInt)
+      .orElse(DEFAULT_MIN_PARALLELISM);
+    final int maxParallelism = configurationParameters.get(CONFIG_PREFIX + "max-parallelism", Integer::parseInt)
+      .orElse(DEFAULT_MAX_PARALLELISM);
+    final int processors = HostResources.availableProcessors();
+    final long availableMemory = Math.max(0L, HostResources.availableMemory() - HostAdmission.memoryReserve());
+    final int parallelism = parallelism(processors, availableMemory, coresPerClass, memoryPerClass,
+      minParallelism, maxParallelism);
+    log.info("Running up to {} test classes in parallel ({} processors, {} MiB available memory)",
+      parallelism, processors, availableMemory / MIB);
+    return new Configuration(parallelism);
+  }
+
+  static int parallelism(int processors, long availableMemory, double coresPerClass, long memoryPerClass,
+    int minParallelism, int maxParallelism) {
+
+    final long byCores = coresPerClass > 0D ? (long) Math.floor(processors / coresPerClass) : Long.MAX_VALUE;
+    final long byMemory = memoryPerClass > 0L ? availableMemory / memoryPerClass : Long.MAX_VALUE;
+    final long parallelism = Math.min(Math.min(byCores, byMemory), maxParallelism);
+    return (int) Math.max(Math.max(1, minParallelism), parallelism);
+  }
+
+  private static final class Configuration implements ParallelExecutionConfiguration {
+
+    private final int parallelism;
+
+    private Configuration(int parallelism) {
+      this.parallelism = parallelism;
+    }
+
+    @Override
+    public int getParallelism() {
+      return parallelism;
+    }
+
+    @Override
+    public int getMinimumRunnable() {
+      return parallelism;
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+      return parallelism + MAX_POOL_SIZE_OFFSET;
+    }
+
+    @Override
+    public int getCorePoolSize() {
+      return parallelism;
+    }
+
+    @Override
+    public int getKeepAliveSeconds() {
+      return KEEP_ALIVE_SECONDS;
+    }
+  }
+}
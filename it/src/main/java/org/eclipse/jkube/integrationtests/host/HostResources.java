@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.host;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Available processors and memory of the host (or container) running the tests.
+ *
+ * <p> The available memory is the memory that can be allocated without swapping ({@code MemAvailable}, which
+ * includes the reclaimable page cache), limited by the cgroup memory limit when the tests run in a container.
+ */
+public class HostResources {
+
+  public static final long MIB = 1024L * 1024L;
+  private static final Path MEMINFO = Paths.get("/proc/meminfo");
+  private static final Path CGROUP_V2_MAX = Paths.get("/sys/fs/cgroup/memory.max");
+  private static final Path CGROUP_V2_CURRENT = Paths.get("/sys/fs/cgroup/memory.current");
+  private static final Path CGROUP_V1_LIMIT = Paths.get("/sys/fs/cgroup/memory/memory.limit_in_bytes");
+  private static final Path CGROUP_V1_USAGE = Paths.get("/sys/fs/cgroup/memory/memory.usage_in_bytes");
+
+  private HostResources() { }
+
+  public static int availableProcessors() {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * @return the total memory of the host (or the container memory limit).
+   */
+  public static long totalMemory() {
+    return operatingSystem().getTotalPhysicalMemorySize();
+  }
+
+  /**
+   * @return the memory currently available to start new processes.
+   */
+  public static long availableMemory() {
+    long available = meminfo("MemAvailable:").orElseGet(() -> operatingSystem().getFreePhysicalMemorySize());
+    final OptionalLong cgroupAvailable = cgroupAvailable(CGROUP_V2_MAX, CGROUP_V2_CURRENT);
+    if (cgroupAvailable.isPresent()) {
+      available = Math.min(available, cgroupAvailable.getAsLong());
+    } else {
+      final OptionalLong cgroupV1Available = cgroupAvailable(CGROUP_V1_LIMIT, CGROUP_V1_USAGE);
+      if (cgroupV1Available.isPresent()) {
+        available = Math.min(available, cgroupV1Available.getAsLong());
+      }
+    }
+    return Math.max(0L, available);
+  }
+
+  private static com.sun.management.OperatingSystemMXBean operatingSystem() {
+    return (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+  }
+
+  private static OptionalLong meminfo(String key) {
+    for (String line : readLines(MEMINFO)) {
+      if (line.startsWith(key)) {
+        // e.g. MemAvailable:   12345678 kB
+        final String[] parts = line.substring(key.length()).trim().split("\\s+");
+        try {
+          return OptionalLong.of(Long.parseLong(parts[0]) * 1024L);
+        } catch (NumberFormatException ex) {
+          return OptionalLong.empty();
+        }
+      }
+    }
+    return OptionalLong.empty();
+  }
+
+  private static OptionalLong cgroupAvailable(Path limitFile, Path usageFile) {
+    final List<String> limit = readLines(limitFile);
+    final List<String> usage = readLines(usageFile);
+    if (limit.isEmpty() || usage.isEmpty() || limit.get(0).trim().equals("max")) {
+      return OptionalLong.empty();
+    }
+    try {
+      final long limitBytes = Long.parseLong(limit.get(0).trim());
+      // cgroup v1 reports a huge value (page counter max) when there's no limit
+      if (limitBytes >= Long.MAX_VALUE / 2) {
+        return OptionalLong.empty();
+      }
+      return OptionalLong.of(limitBytes - Long.parseLong(usage.get(0).trim()));
+    } catch (NumberFormatException ex) {
+      return OptionalLong.empty();
+    }
+  }
+
+  private static List<String> readLines(Path file) {
+    if (!Files.isReadable(file)) {
+      return List.of();
+    }
+    try {
+      return Files.readAllLines(file, StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      return List.of();
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.extension.ClusterAdmissionExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Admits the test once the cluster has enough free capacity for the application it deploys.
+ *
+ * <p> The requested resources are inferred from the generated manifests (sum of the container requests of the
+ * Deployments and DeploymentConfigs) unless provided.
+ */
+@Target({METHOD, TYPE})
+@Retention(RUNTIME)
+@ExtendWith({ClusterAdmissionExtension.class})
+public @interface ClusterAdmission {
+
+  /**
+   * CPU requested by the test (e.g. {@code 500m}).
+   */
+  String cpu() default "";
+
+  /**
+   * Memory requested by the test (e.g. {@code 512Mi}).
+   */
+  String memory() default "";
+}
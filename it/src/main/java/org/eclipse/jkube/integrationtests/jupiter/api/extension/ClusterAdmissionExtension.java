@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.KubernetesList;
+import io.fabric8.kubernetes.api.model.PodTemplateSpec;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.Project;
+import org.eclipse.jkube.integrationtests.gradle.JKubeGradleRunner;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
+import org.eclipse.jkube.integrationtests.jupiter.api.Gradle;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Admits the {@link ClusterAdmission} annotated tests according to the free capacity of the cluster (see
+ * {@link ClusterCapacity}), tests that don't fit wait until enough capacity is released by the running ones.
+ *
+ * <p> The {@value #CLUSTER_ADMISSION_SYSTEM_PROPERTY} system property selects the mode: {@code capacity} (default)
+ * or {@code serial} (a single test is admitted at a time). When the requested resources can't be inferred from the
+ * manifests, {@value #DEFAULT_CPU_SYSTEM_PROPERTY} and {@value #DEFAULT_MEMORY_SYSTEM_PROPERTY} are requested.
+ *
+ * <p> The deployed application keeps running after the admitted test (until it's undeployed by a later test of the
+ * same class), so the reservation is held by the test class and released once all of its tests completed. A class
+ * admitted again (e.g. {@code oc:build} and then {@code oc:apply}) swaps its previous reservation for the new one.
+ */
+public class ClusterAdmissionExtension implements BeforeEachCallback {
+
+  public static final String CLUSTER_ADMISSION_SYSTEM_PROPERTY = "clusterAdmission";
+  public static final String DEFAULT_CPU_SYSTEM_PROPERTY = "clusterAdmissionDefaultCpu";
+  public static final String DEFAULT_MEMORY_SYSTEM_PROPERTY = "clusterAdmissionDefaultMemory";
+  private static final ExtensionContext.Namespace NAMESPACE =
+    ExtensionContext.Namespace.create(ClusterAdmissionExtension.class);
+  private static final Logger log = LoggerFactory.getLogger(ClusterAdmissionExtension.class);
+
+  @Override
+  public void beforeEach(ExtensionContext context) throws Exception {
+    final Object testInstance = context.getRequiredTestInstance();
+    if (!(testInstance instanceof JKubeCase)) {
+      throw new IllegalStateException("@ClusterAdmission requires a JKubeCase test class");
+    }
+    final KubernetesClient kubernetesClient = ((JKubeCase) testInstance).getKubernetesClient();
+    final ClusterCapacity capacity = ClusterCapacity.of(kubernetesClient,
+      System.getProperty(CLUSTER_ADMISSION_SYSTEM_PROPERTY, "capacity"));
+    final ClusterCapacity.Request request = request(context, testInstance, kubernetesClient);
+    final ExtensionContext.Store classStore = context.getParent().orElse(context).getStore(NAMESPACE);
+    final Reservation held = classStore.get(Reservation.class, Reservation.class);
+    if (held != null && held.capacity == capacity && held.request.covers(request)) {
+      return;
+    }
+    if (held != null) {
+      // Released before acquiring the new one, the class would otherwise wait for its own reservation
+      classStore.remove(Reservation.class, Reservation.class).close();
+    }
+    final long start = System.nanoTime();
+    capacity.acquire(request);
+    log.debug(() -> String.format("%s admitted after %s ms", request, (System.nanoTime() - start) / 1_000_000L));
+    // Closed (released) by JUnit once the test class completes
+    classStore.put(Reservation.class, new Reservation(capacity, request));
+  }
+
+  private static ClusterCapacity.Request request(
+    ExtensionContext context, Object testInstance, KubernetesClient kubernetesClient) throws IOException {
+
+    final String name = context.getRequiredTestClass().getSimpleName() + "#" + context.getDisplayName();
+    final Optional<ClusterAdmission> annotation = AnnotationSupport
+      .findAnnotation(context.getRequiredTestMethod(), ClusterAdmission.class)
+      .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), ClusterAdmission.class));
+    final String defaultCpu = System.getProperty(DEFAULT_CPU_SYSTEM_PROPERTY, "500m");
+    final String defaultMemory = System.getProperty(DEFAULT_MEMORY_SYSTEM_PROPERTY, "512Mi");
+    if (annotation.isPresent() && !annotation.get().cpu().isEmpty() && !annotation.get().memory().isEmpty()) {
+      return new ClusterCapacity.Request(name,
+        cpuMillis(new Quantity(annotation.get().cpu())), bytes(new Quantity(annotation.get().memory())));
+    }
+    final List<PodTemplateSpec> templates = podTemplates(testInstance, kubernetesClient);
+    long cpu = 0L;
+    long memory = 0L;
+    for (PodTemplateSpec template : templates) {
+      for (Container container : template.getSpec().getContainers()) {
+        final Optional<Map<String, Quantity>> requests = Optional.ofNullable(container.getResources())
+          .map(ResourceRequirements::getRequests);
+        cpu += requests.map(r -> r.get("cpu")).map(ClusterAdmissionExtension::cpuMillis).orElse(0L);
+        memory += requests.map(r -> r.get("memory")).map(ClusterAdmissionExtension::bytes).orElse(0L);
+      }
+    }
+    if (annotation.isPresent() && !annotation.get().cpu().isEmpty()) {
+      cpu = cpuMillis(new Quantity(annotation.get().cpu()));
+    }
+    if (annotation.isPresent() && !annotation.get().memory().isEmpty()) {
+      memory = bytes(new Quantity(annotation.get().memory()));
+    }
+    return new ClusterCapacity.Request(name,
+      cpu > 0L ? cpu : cpuMillis(new Quantity(defaultCpu)), memory > 0L ? memory : bytes(new Quantity(defaultMemory)));
+  }
+
+  /**
+   * @return the pod templates (one per replica) of the most recently generated manifest for the project.
+   */
+  private static List<PodTemplateSpec> podTemplates(Object testInstance, KubernetesClient kubernetesClient)
+    throws IOException {
+
+    final Optional<Path> jkubeDir = jkubeDir(testInstance);
+    if (jkubeDir.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final Optional<Path> manifest = Stream.of("kubernetes.yml", "openshift.yml")
+      .map(jkubeDir.get()::resolve)
+      .filter(Files::isRegularFile)
+      .max(Comparator.comparing(ClusterAdmissionExtension::lastModified));
+    if (manifest.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final Object resources;
+    try (InputStream is = Files.newInputStream(manifest.get())) {
+      resources = kubernetesClient.getKubernetesSerialization().unmarshal(is);
+    }
+    final List<?> items = resources instanceof KubernetesList ?
+      ((KubernetesList) resources).getItems() : Collections.singletonList(resources);
+    final List<PodTemplateSpec> templates = new ArrayList<>();
+    for (Object item : items) {
+      if (item instanceof Deployment && ((Deployment) item).getSpec() != null) {
+        final Deployment deployment = (Deployment) item;
+        templates.addAll(Collections.nCopies(Optional.ofNullable(deployment.getSpec().getReplicas()).orElse(1),
+          deployment.getSpec().getTemplate()));
+      } else if (item instanceof DeploymentConfig && ((DeploymentConfig) item).getSpec() != null) {
+        final DeploymentConfig deploymentConfig = (DeploymentConfig) item;
+        templates.addAll(Collections.nCopies(Optional.ofNullable(deploymentConfig.getSpec().getReplicas()).orElse(1),
+          deploymentConfig.getSpec().getTemplate()));
+      }
+    }
+    templates.removeIf(t -> t == null || t.getSpec() == null);
+    return templates;
+  }
+
+  /**
+   * @return the directory with the generated manifests of the Gradle ({@link Gradle} annotated runner) or Maven
+   * ({@link Project}) project tested by the provided test instance.
+   */
+  private static Optional<Path> jkubeDir(Object testInstance) {
+    final Optional<JKubeGradleRunner> gradle = AnnotationSupport.findAnnotatedFields(
+        testInstance.getClass(), Gradle.class, f -> JKubeGradleRunner.class.isAssignableFrom(f.getType()),
+        HierarchyTraversalMode.TOP_DOWN).stream()
+      .findFirst()
+      .flatMap(f -> ReflectionSupport.tryToReadFieldValue(f, testInstance).toOptional())
+      .map(JKubeGradleRunner.class::cast);
+    if (gradle.isPresent()) {
+      return Optional.of(gradle.get().getModulePath()
+        .resolve("build").resolve("classes").resolve("java").resolve("main").resolve("META-INF").resolve("jkube"));
+    }
+    if (testInstance instanceof Project) {
+      return Optional.of(
+        Path.of("..", ((Project) testInstance).getProject(), "target", "classes", "META-INF", "jkube"));
+    }
+    return Optional.empty();
+  }
+
+  static long cpuMillis(Quantity quantity) {
+    return Quantity.getAmountInBytes(quantity).multiply(BigDecimal.valueOf(1000L)).longValue();
+  }
+
+  static long bytes(Quantity quantity) {
+    return Quantity.getAmountInBytes(quantity).longValue();
+  }
+
+  private static long lastModified(Path path) {
+    return path.toFile().lastModified();
+  }
+
+  private static final class Reservation implements ExtensionContext.Store.CloseableResource {
+
+    private final ClusterCapacity capacity;
+    private final ClusterCapacity.Request request;
+
+    private Reservation(ClusterCapacity capacity, ClusterCapacity.Request request) {
+      this.capacity = capacity;
+      this.request = request;
+    }
+
+    @Override
+    public void close() {
+      capacity.release(request);
+    }
+  }
+}
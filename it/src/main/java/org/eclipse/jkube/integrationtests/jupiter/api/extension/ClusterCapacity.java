@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.jupiter.api.extension;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.NodeCondition;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Free CPU and memory of a cluster shared by the tests admitted by {@link ClusterAdmissionExtension}.
+ *
+ * <p> The capacity is computed once per cluster as the allocatable resources of the ready and schedulable nodes
+ * minus the requests of the pods already running in them. The snapshot isn't refreshed: the capacity used by the
+ * admitted tests is tracked by their reservations, which last until the deployed application is no longer running.
+ * Requests are admitted in FIFO order (so that large requests aren't starved), and a request is always admitted if
+ * nothing else is running.
+ */
+final class ClusterCapacity {
+
+  private static final Logger log = LoggerFactory.getLogger(ClusterCapacity.class);
+  private static final Map<String, ClusterCapacity> CAPACITIES = new ConcurrentHashMap<>();
+
+  private final long cpuMillis;
+  private final long memoryBytes;
+  private final Deque<Request> queue;
+  private long usedCpuMillis;
+  private long usedMemoryBytes;
+  private int admitted;
+
+  private ClusterCapacity(long cpuMillis, long memoryBytes) {
+    this.cpuMillis = cpuMillis;
+    this.memoryBytes = memoryBytes;
+    this.queue = new ArrayDeque<>();
+  }
+
+  static ClusterCapacity of(KubernetesClient kubernetesClient, String mode) {
+    switch (mode.toLowerCase(Locale.ROOT)) {
+      case "capacity":
+        return CAPACITIES.computeIfAbsent(kubernetesClient.getMasterUrl().toString(), k -> compute(kubernetesClient));
+      case "serial":
+        return CAPACITIES.computeIfAbsent("serial", k -> new ClusterCapacity(0L, 0L));
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Unsupported %s: %s (capacity, serial)", ClusterAdmissionExtension.CLUSTER_ADMISSION_SYSTEM_PROPERTY, mode));
+    }
+  }
+
+  synchronized void acquire(Request request) throws InterruptedException {
+    queue.addLast(request);
+    try {
+      while (queue.peekFirst() != request || !fits(request)) {
+        wait();
+      }
+    } finally {
+      queue.remove(request);
+      notifyAll();
+    }
+    usedCpuMillis += request.cpuMillis;
+    usedMemoryBytes += request.memoryBytes;
+    admitted++;
+  }
+
+  synchronized void release(Request request) {
+    usedCpuMillis -= request.cpuMillis;
+    usedMemoryBytes -= request.memoryBytes;
+    admitted--;
+    notifyAll();
+  }
+
+  private boolean fits(Request request) {
+    return admitted == 0 || (usedCpuMillis + request.cpuMillis <= cpuMillis
+      && usedMemoryBytes + request.memoryBytes <= memoryBytes);
+  }
+
+  private static ClusterCapacity compute(KubernetesClient kubernetesClient) {
+    final List<Node> nodes;
+    try {
+      nodes = kubernetesClient.nodes().list().getItems().stream()
+        .filter(n -> n.getSpec() == null || !Boolean.TRUE.equals(n.getSpec().getUnschedulable()))
+        .filter(ClusterCapacity::isReady)
+        .collect(Collectors.toList());
+    } catch (KubernetesClientException ex) {
+      log.warn(() -> "Cluster nodes can't be listed, tests will be admitted serially: " + ex.getMessage());
+      return new ClusterCapacity(0L, 0L);
+    }
+    long cpu = 0L;
+    long memory = 0L;
+    for (Node node : nodes) {
+      final Map<String, Quantity> allocatable = Optional.ofNullable(node.getStatus().getAllocatable())
+        .orElse(Collections.emptyMap());
+      cpu += Optional.ofNullable(allocatable.get("cpu")).map(ClusterAdmissionExtension::cpuMillis).orElse(0L);
+      memory += Optional.ofNullable(allocatable.get("memory")).map(ClusterAdmissionExtension::bytes).orElse(0L);
+    }
+    final Set<String> nodeNames = nodes.stream().map(n -> n.getMetadata().getName()).collect(Collectors.toSet());
+    try {
+      for (Pod pod : kubernetesClient.pods().inAnyNamespace().list().getItems()) {
+        final String phase = pod.getStatus() == null ? null : pod.getStatus().getPhase();
+        if (!nodeNames.contains(pod.getSpec().getNodeName()) || "Succeeded".equals(phase) || "Failed".equals(phase)) {
+          continue;
+        }
+        for (Container container : pod.getSpec().getContainers()) {
+          final Optional<Map<String, Quantity>> requests = Optional.ofNullable(container.getResources())
+            .map(ResourceRequirements::getRequests);
+          cpu -= requests.map(r -> r.get("cpu")).map(ClusterAdmissionExtension::cpuMillis).orElse(0L);
+          memory -= requests.map(r -> r.get("memory")).map(ClusterAdmissionExtension::bytes).orElse(0L);
+        }
+      }
+    } catch (KubernetesClientException ex) {
+      log.warn(() ->
+        "Cluster pods can't be listed, capacity is based on the allocatable resources: " + ex.getMessage());
+    }
+    final long freeCpu = Math.max(0L, cpu);
+    final long freeMemory = Math.max(0L, memory);
+    log.info(() -> String.format("Cluster capacity for admission: %s nodes, %sm CPU, %s MiB memory",
+      nodes.size(), freeCpu, freeMemory / (1024L * 1024L)));
+    return new ClusterCapacity(freeCpu, freeMemory);
+  }
+
+  private static boolean isReady(Node node) {
+    return node.getStatus() != null && node.getStatus().getConditions() != null
+      && node.getStatus().getConditions().stream()
+        .filter(c -> Objects.equals(c.getType(), "Ready"))
+        .map(NodeCondition::getStatus)
+        .anyMatch("True"::equals);
+  }
+
+  static final class Request {
+
+    private final String name;
+    private final long cpuMillis;
+    private final long memoryBytes;
+
+    Request(String name, long cpuMillis, long memoryBytes) {
+      this.name = name;
+      this.cpuMillis = cpuMillis;
+      this.memoryBytes = memoryBytes;
+    }
+
+    /**
+     * @return true if this request reserves at least the resources of the provided one.
+     */
+    boolean covers(Request other) {
+      return cpuMillis >= other.cpuMillis && memoryBytes >= other.memoryBytes;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s (%sm CPU, %s MiB memory)", name, cpuMillis, memoryBytes / (1024L * 1024L));
+    }
+  }
+}
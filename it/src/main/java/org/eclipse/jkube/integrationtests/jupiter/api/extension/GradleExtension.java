@@ -14,31 +14,46 @@
 package org.eclipse.jkube.integrationtests.jupiter.api.extension;
 
 import io.fabric8.junit.jupiter.BaseExtension;
-import org.eclipse.jkube.integrationtests.cli.CliUtils;
+import org.eclipse.jkube.integrationtests.gradle.GradleDistributionResolver;
+import org.eclipse.jkube.integrationtests.gradle.GradleInvoker;
 import org.eclipse.jkube.integrationtests.gradle.JKubeGradleRunner;
 import org.eclipse.jkube.integrationtests.jupiter.api.Gradle;
-import org.gradle.testkit.runner.GradleRunner;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
 import static org.eclipse.jkube.integrationtests.JKubeCase.GRADLE_VERSION_SYSTEM_PROPERTY;
 
+/**
+ * Injects the {@link JKubeGradleRunner} for the {@link Gradle} annotated field.
+ *
+ * <p> The annotated subproject is bootstrapped (cleaned and built) once per JVM, bootstraps of independent
+ * subprojects run concurrently, and test classes for the same subproject share (and wait for) the same bootstrap.
+ * A failed bootstrap fails the classes waiting for it, and is retried by the next class.
+ * The bootstrap duration is published as the {@value #BOOTSTRAP_DURATION_REPORT_ENTRY} report entry.
+ */
 public class GradleExtension implements BaseExtension, BeforeAllCallback, BeforeEachCallback {
 
-  private volatile boolean cleanBuild = false;
+  public static final String BOOTSTRAP_DURATION_REPORT_ENTRY = "gradleBootstrapMillis";
+  private static final Logger log = LoggerFactory.getLogger(GradleExtension.class);
+  private static final Map<String, CompletableFuture<Duration>> BOOTSTRAPS = new ConcurrentHashMap<>();
 
   @Override
   public synchronized void beforeAll(ExtensionContext context) throws Exception {
@@ -57,52 +72,73 @@ public class GradleExtension implements BaseExtension, BeforeAllCallback, Before
     }
   }
 
-  private JKubeGradleRunner getJKubeGradleRunner(ExtensionContext context) throws URISyntaxException {
-    synchronized (context.getRoot()) {
-      var singletonJKubeGradleRunner = getStore(context).get(JKubeGradleRunner.class, JKubeGradleRunner.class);
-      if (singletonJKubeGradleRunner != null) {
-        return singletonJKubeGradleRunner;
-      }
-      final var fields = extractFields(context, JKubeGradleRunner.class, withAnnotation());
-      if (fields.length != 1) {
-        throw new IllegalStateException("Invalid @Gradle annotation: expected 1 but found " + fields.length);
-      }
-      final var annotation = fields[0].getAnnotation(Gradle.class);
-      var rootPath = Path.of("").toAbsolutePath();
-      while (!rootPath.resolve(".github").toFile().exists()) {
-        rootPath = rootPath.getParent();
-      }
-      var projectPath = rootPath.resolve("projects-to-be-tested").resolve("gradle");
-      var gradleRunner = GradleRunner.create()
-        .withGradleDistribution(new URI("https://services.gradle.org/distributions/gradle-" + System.getProperty(GRADLE_VERSION_SYSTEM_PROPERTY) + "-bin.zip"))
-        .withProjectDir(projectPath.toFile());
-      if (annotation.forwardOutput()) {
-        gradleRunner.forwardOutput();
-      }
-      final var jKubeGradleRunner = new JKubeGradleRunner(
-        gradleRunner, String.join(":", annotation.project()), projectPath);
-      if (!cleanBuild) {
-        final List<String> cleanBuildTasks = new ArrayList<>();
-        if (annotation.clean()) {
-          cleanBuildTasks.add("clean");
-          cleanBuildTasks.add("k8sConfigView");
-          cleanBuildTasks.add("ocConfigView");
-        }
-        if (annotation.build()) {
-          cleanBuildTasks.add("build");
-        }
-        jKubeGradleRunner.tasks(false, false, cleanBuildTasks.toArray(new String[0])).build();
-      }
-      cleanBuild = true;
-      gradleRunner.withArguments(Collections.emptyList());
-      getStore(context).put(JKubeGradleRunner.class, jKubeGradleRunner);
-      return jKubeGradleRunner;
+  /**
+   * @return the duration of the completed subproject bootstraps (keyed by subproject path and bootstrap tasks).
+   */
+  public static Map<String, Duration> getBootstrapDurations() {
+    return BOOTSTRAPS.entrySet().stream()
+      .filter(e -> e.getValue().isDone() && !e.getValue().isCompletedExceptionally())
+      .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().join()));
+  }
+
+  private JKubeGradleRunner getJKubeGradleRunner(ExtensionContext context)
+    throws IOException, InterruptedException {
+
+    final var singletonJKubeGradleRunner = getStore(context).get(JKubeGradleRunner.class, JKubeGradleRunner.class);
+    if (singletonJKubeGradleRunner != null) {
+      return singletonJKubeGradleRunner;
+    }
+    final var fields = extractFields(context, JKubeGradleRunner.class, withAnnotation());
+    if (fields.length != 1) {
+      throw new IllegalStateException("Invalid @Gradle annotation: expected 1 but found " + fields.length);
     }
+    final var annotation = fields[0].getAnnotation(Gradle.class);
+    var rootPath = Path.of("").toAbsolutePath();
+    while (!rootPath.resolve(".github").toFile().exists()) {
+      rootPath = rootPath.getParent();
+    }
+    var projectPath = rootPath.resolve("projects-to-be-tested").resolve("gradle");
+    final var gradleInvoker = GradleInvoker.create(projectPath,
+      GradleDistributionResolver.resolve(System.getProperty(GRADLE_VERSION_SYSTEM_PROPERTY)), annotation.forwardOutput());
+    final var jKubeGradleRunner = new JKubeGradleRunner(
+      gradleInvoker, String.join(":", annotation.project()), projectPath);
+    bootstrap(context, annotation, jKubeGradleRunner);
+    getStore(context).put(JKubeGradleRunner.class, jKubeGradleRunner);
+    return jKubeGradleRunner;
   }
 
-  private static File getGradleInstallation() throws IOException, InterruptedException {
-    final var localGradle = CliUtils.runCommand("readlink -f $(which gradle)").getOutput();
-    return new File(localGradle).getAbsoluteFile().getParentFile().getParentFile();
+  private static void bootstrap(ExtensionContext context, Gradle annotation, JKubeGradleRunner jKubeGradleRunner)
+    throws InterruptedException {
+
+    final List<String> bootstrapTasks = new ArrayList<>();
+    if (annotation.clean()) {
+      bootstrapTasks.add("clean");
+      bootstrapTasks.add("k8sConfigView");
+      bootstrapTasks.add("ocConfigView");
+    }
+    if (annotation.build()) {
+      bootstrapTasks.add("build");
+    }
+    if (bootstrapTasks.isEmpty()) {
+      return;
+    }
+    final var project = ":" + String.join(":", annotation.project());
+    final var key = project + " " + bootstrapTasks;
+    final var bootstrap = BOOTSTRAPS.computeIfAbsent(key, k ->
+      CompletableFuture.supplyAsync(() -> {
+        final long start = System.nanoTime();
+        jKubeGradleRunner.tasks(false, true, bootstrapTasks.toArray(new String[0])).build();
+        final var duration = Duration.ofNanos(System.nanoTime() - start);
+        log.info(() -> String.format("Gradle project %s bootstrapped in %s ms", project, duration.toMillis()));
+        return duration;
+      }, executorService()));
+    try {
+      context.publishReportEntry(BOOTSTRAP_DURATION_REPORT_ENTRY, String.valueOf(bootstrap.get().toMillis()));
+    } catch (ExecutionException ex) {
+      // Don't cache the failure, the next test class for the subproject retries the bootstrap
+      BOOTSTRAPS.remove(key, bootstrap);
+      throw new IllegalStateException("Gradle project " + project + " bootstrap failed", ex.getCause());
+    }
   }
 
   private static Predicate<Field> withAnnotation() {
@@ -15,6 +15,7 @@ package org.eclipse.jkube.integrationtests.jupiter.api.extension;
 
 import io.fabric8.junit.jupiter.HasKubernetesClient;
 import org.eclipse.jkube.integrationtests.cli.CliUtils;
+import org.eclipse.jkube.integrationtests.docker.InMemoryRegistry;
 import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistry;
 import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistryHost;
 import org.hamcrest.Matchers;
@@ -28,20 +29,44 @@ import org.junit.platform.commons.logging.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Locale;
 
 import static org.eclipse.jkube.integrationtests.cli.CliUtils.isWindows;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+/**
+ * Starts a registry for the test classes annotated with {@link DockerRegistry}.
+ *
+ * <p> The {@value #DOCKER_REGISTRY_SYSTEM_PROPERTY} system property selects the registry: {@code container}
+ * (default, a registry container started with {@code docker run}) or {@code jvm} (an {@link InMemoryRegistry} started
+ * in the test JVM, no image needed). The in-JVM registry requires a local Docker daemon (no {@code DOCKER_HOST} or
+ * a Unix socket, named pipe, or loopback address one), and its address is injected as {@code localhost:<port>}
+ * which the daemon allows over plain HTTP (loopback addresses are insecure registries by default).
+ */
 public class RegistryExtension implements HasKubernetesClient, BeforeAllCallback, BeforeEachCallback, AfterAllCallback {
 
+  public static final String DOCKER_REGISTRY_SYSTEM_PROPERTY = "dockerRegistry";
   private static final Logger log = LoggerFactory.getLogger(RegistryExtension.class);
+  private static final ExtensionContext.Namespace NAMESPACE =
+    ExtensionContext.Namespace.create(RegistryExtension.class);
 
+  private static final Duration DOCKER_CONTAINER_TIMEOUT = Duration.ofMinutes(1);
   private static final String DOCKER_REGISTRY_AMD64_LINUX_IMAGE = "registry:2.8.2@sha256:0f7e785a49386d7e98c502151f9b01dc5578aa4f13078a346b2c5cf50433f663";
 
   @Override
   public void beforeAll(ExtensionContext context) throws Exception {
     final var annotation = context.getRequiredTestClass().getAnnotation(DockerRegistry.class);
-    CliUtils.runCommand("docker rm -f " + getName(annotation));
+    if (isInJvm()) {
+      assertLocalDockerDaemon();
+      final var registry = InMemoryRegistry.start(context.getRequiredTestClass().getSimpleName(), annotation.port());
+      context.getStore(NAMESPACE).put(InMemoryRegistry.class, registry);
+      log.debug(() -> "In-JVM Docker Registry started successfully");
+      return;
+    }
+    CliUtils.runCommand("docker rm -f " + getName(annotation), DOCKER_CONTAINER_TIMEOUT);
     log.debug(() -> "Starting Docker Registry Extension");
     final CliUtils.CliResult dockerRegistry;
     if (isWindows()) {
@@ -58,7 +83,8 @@ public class RegistryExtension implements HasKubernetesClient, BeforeAllCallback
     final var annotation = context.getRequiredTestClass().getAnnotation(DockerRegistry.class);
     for (Field f : context.getRequiredTestClass().getDeclaredFields()) {
       if (f.isAnnotationPresent(DockerRegistryHost.class) && f.getType() == String.class) {
-        setFieldValue(f, context.getRequiredTestInstance(), getDockerHost() + ":" + annotation.port());
+        setFieldValue(f, context.getRequiredTestInstance(),
+          (isInJvm() ? "localhost" : getDockerHost()) + ":" + annotation.port());
       }
     }
   }
@@ -66,7 +92,13 @@ public class RegistryExtension implements HasKubernetesClient, BeforeAllCallback
   @Override
   public void afterAll(ExtensionContext context) throws Exception {
     log.debug(() -> "Closing Docker Registry");
-    CliUtils.runCommand("docker stop " + getName(context.getRequiredTestClass().getAnnotation(DockerRegistry.class)));
+    final var registry = context.getStore(NAMESPACE).remove(InMemoryRegistry.class, InMemoryRegistry.class);
+    if (registry != null) {
+      registry.close();
+      return;
+    }
+    CliUtils.runCommand("docker stop " + getName(context.getRequiredTestClass().getAnnotation(DockerRegistry.class)),
+      DOCKER_CONTAINER_TIMEOUT);
   }
 
   private static CliUtils.CliResult startRegularDockerRegistry(DockerRegistry dockerRegistry) throws IOException, InterruptedException {
@@ -85,6 +117,31 @@ public class RegistryExtension implements HasKubernetesClient, BeforeAllCallback
       getName(dockerRegistry) + " -v C:\\registry:C:\\registry marcnuri/docker-registry-windows:ltsc2022");
   }
 
+  private static boolean isInJvm() {
+    final String dockerRegistry = System.getProperty(DOCKER_REGISTRY_SYSTEM_PROPERTY, "container");
+    switch (dockerRegistry.toLowerCase(Locale.ROOT)) {
+      case "container":
+        return false;
+      case "jvm":
+        return true;
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Unsupported %s: %s (container, jvm)", DOCKER_REGISTRY_SYSTEM_PROPERTY, dockerRegistry));
+    }
+  }
+
+  // The daemon of a remote DOCKER_HOST can't reach the registry listening in the test JVM (at least not at the
+  // address injected in the tests)
+  private static void assertLocalDockerDaemon() throws UnknownHostException {
+    final var dockerHost = System.getenv("DOCKER_HOST");
+    if (dockerHost != null && dockerHost.startsWith("tcp://")
+      && !InetAddress.getByName(getDockerHost()).isLoopbackAddress()) {
+      throw new IllegalStateException(String.format(
+        "%s=jvm requires a local Docker daemon, the daemon at DOCKER_HOST=%s can't reach the in-JVM registry " +
+          "(use %s=container)", DOCKER_REGISTRY_SYSTEM_PROPERTY, dockerHost, DOCKER_REGISTRY_SYSTEM_PROPERTY));
+    }
+  }
+
   private static String getName(DockerRegistry dockerRegistry) {
     return dockerRegistry.containerName() + "-" + dockerRegistry.port();
   }
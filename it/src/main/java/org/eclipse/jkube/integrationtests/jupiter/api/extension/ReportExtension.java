@@ -13,8 +13,18 @@
  */
 package org.eclipse.jkube.integrationtests.jupiter.api.extension;
 
+import org.eclipse.jkube.integrationtests.docker.ImageLayerAnalysis;
+import org.eclipse.jkube.integrationtests.docker.InMemoryRegistry;
+import org.eclipse.jkube.integrationtests.docker.LayerReuse;
+import org.eclipse.jkube.integrationtests.timing.Phase;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimingReport;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings;
+import org.eclipse.jkube.integrationtests.timing.PodLifecycle;
+import org.eclipse.jkube.integrationtests.timing.StartupTimings;
+import org.eclipse.jkube.integrationtests.timing.TimingHistory;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
 
@@ -23,12 +33,31 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.nio.file.StandardOpenOption.APPEND;
 import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
 
-public class ReportExtension implements BeforeAllCallback, AfterEachCallback, CloseableResource {
+/**
+ * Reports the result of each test in {@code target/jkube-test-report.txt}.
+ *
+ * <p> The durations of the test phases recorded in the {@link PhaseTimings} are written to
+ * {@value PhaseTimingReport#JSON_REPORT} and {@value PhaseTimingReport#CSV_REPORT}, and summarized at the end of the
+ * report with the slowest tests ({@value #REPORT_SLOWEST_TESTS_SYSTEM_PROPERTY}, 10 by default) and the percentiles
+ * of each phase. The timings are compared with (and appended to) the {@link TimingHistory}, performance regressions
+ * are listed at the end of the report. The {@link PodLifecycle} of the awaited Pods (including the image pulls), the
+ * application {@link StartupTimings} (if sampled), the {@link ImageLayerAnalysis} of the built images, the
+ * {@link LayerReuse} of the rebuilt images, and the metrics of the {@link InMemoryRegistry} instances are reported
+ * too.
+ */
+public class ReportExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback, CloseableResource {
+
+  public static final String REPORT_SLOWEST_TESTS_SYSTEM_PROPERTY = "reportSlowestTests";
+  private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ReportExtension.class);
+  private static final String TEST_START = "testStart";
 
   private volatile boolean testsStarted = false;
   private final AtomicInteger testCount = new AtomicInteger(0);
@@ -48,8 +77,20 @@ public class ReportExtension implements BeforeAllCallback, AfterEachCallback, Cl
     }
   }
 
+  @Override
+  public void beforeEach(ExtensionContext context) {
+    PhaseTimings.setCurrentTest(testName(context));
+    context.getStore(NAMESPACE).put(TEST_START, Instant.now());
+  }
+
   @Override
   public synchronized void afterEach(ExtensionContext context) throws Exception {
+    final Instant start = context.getStore(NAMESPACE).remove(TEST_START, Instant.class);
+    if (start != null) {
+      PhaseTimings.record(testName(context), Phase.TEST, context.getDisplayName(), start,
+        Duration.between(start, Instant.now()));
+    }
+    PhaseTimings.setCurrentTest(null);
     testCount.incrementAndGet();
     reportTestResult(context);
     if (context.getExecutionException().isPresent()) {
@@ -65,6 +106,60 @@ public class ReportExtension implements BeforeAllCallback, AfterEachCallback, Cl
     } else {
       writeToReport(String.format("[✓] All tests (%s) passed successfully!!!", testCount.get()));
     }
+    final List<PhaseTimings.Timing> timings = PhaseTimings.getTimings();
+    PhaseTimingReport.write(report.getParentFile(), timings);
+    final int slowest = Integer.getInteger(REPORT_SLOWEST_TESTS_SYSTEM_PROPERTY, 10);
+    for (String line : PhaseTimingReport.summary(timings, slowest)) {
+      writeToReport(line);
+    }
+    final List<TimingHistory.Regression> regressions = TimingHistory.update(timings);
+    if (!regressions.isEmpty()) {
+      writeToReport(String.format("[!] Performance regressions (%s):", regressions.size()));
+      for (TimingHistory.Regression regression : regressions) {
+        writeToReport("  " + regression);
+      }
+    }
+    final List<PodLifecycle> lifecycles = PodLifecycle.getLifecycles();
+    if (!lifecycles.isEmpty()) {
+      PodLifecycle.write(report.getParentFile(), lifecycles);
+      for (String line : PodLifecycle.summary(lifecycles)) {
+        writeToReport(line);
+      }
+    }
+    final List<StartupTimings.Sample> startupSamples = StartupTimings.getSamples();
+    if (!startupSamples.isEmpty()) {
+      StartupTimings.write(report.getParentFile(), startupSamples);
+      for (String line : StartupTimings.summary(startupSamples)) {
+        writeToReport(line);
+      }
+    }
+    final List<ImageLayerAnalysis.Image> images = ImageLayerAnalysis.getImages();
+    if (!images.isEmpty()) {
+      ImageLayerAnalysis.write(report.getParentFile(), images);
+      for (String line : ImageLayerAnalysis.summary(images)) {
+        writeToReport(line);
+      }
+    }
+    final List<LayerReuse> rebuilds = LayerReuse.getRebuilds();
+    if (!rebuilds.isEmpty()) {
+      LayerReuse.write(report.getParentFile(), rebuilds);
+      for (String line : LayerReuse.summary(rebuilds)) {
+        writeToReport(line);
+      }
+    }
+    final List<InMemoryRegistry.Metrics> registries = InMemoryRegistry.getClosedMetrics();
+    if (!registries.isEmpty()) {
+      InMemoryRegistry.write(report.getParentFile(), registries);
+      for (String line : InMemoryRegistry.summary(registries)) {
+        writeToReport(line);
+      }
+    }
+  }
+
+  private static String testName(ExtensionContext context) {
+    return String.format("%s - %s",
+      context.getTestClass().map(Class::getSimpleName).orElse("ERROR"),
+      context.getTestMethod().map(Method::getName).orElse("ERROR"));
   }
 
   private void reportTestResult(ExtensionContext context) throws IOException {
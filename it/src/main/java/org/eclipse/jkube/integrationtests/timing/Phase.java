@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.timing;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Phases of the tests whose duration is recorded in the {@link PhaseTimings}.
+ */
+public enum Phase {
+  TEST,
+  MAVEN_INVOCATION,
+  GRADLE_INVOCATION,
+  IMAGE_BUILD,
+  IMAGE_PUSH,
+  MANIFEST_GENERATION,
+  APPLY,
+  UNDEPLOY,
+  POD_SCHEDULED,
+  POD_IMAGE_PULL,
+  POD_CONTAINER_CREATED,
+  POD_CONTAINER_STARTED,
+  POD_READINESS,
+  POD_READY,
+  FIRST_HTTP_RESPONSE;
+
+  private static final Pattern MAVEN_GOAL = Pattern.compile("^(?:k8s|oc):(\\w+)$");
+  private static final Pattern GRADLE_TASK = Pattern.compile("^(?:\\S*:)?(?:k8s|oc)([A-Z]\\w*)$");
+
+  /**
+   * @return the phase of a Maven invocation of the provided goal(s).
+   */
+  public static Phase ofMavenGoal(String goal) {
+    final var matcher = MAVEN_GOAL.matcher(goal == null ? "" : goal.trim());
+    return matcher.matches() ? ofJKubeGoal(matcher.group(1).toLowerCase(), MAVEN_INVOCATION) : MAVEN_INVOCATION;
+  }
+
+  /**
+   * @return the phase of a Gradle invocation with the provided arguments.
+   */
+  public static Phase ofGradleArguments(List<String> arguments) {
+    final List<Phase> phases = arguments.stream()
+      .map(GRADLE_TASK::matcher)
+      .filter(Matcher::matches)
+      .map(m -> ofJKubeGoal(m.group(1).toLowerCase(), GRADLE_INVOCATION))
+      .collect(Collectors.toList());
+    // Several tasks can't be told apart
+    return phases.size() == 1 ? phases.get(0) : GRADLE_INVOCATION;
+  }
+
+  private static Phase ofJKubeGoal(String goal, Phase fallback) {
+    switch (goal) {
+      case "build":
+        return IMAGE_BUILD;
+      case "push":
+        return IMAGE_PUSH;
+      case "resource":
+        return MANIFEST_GENERATION;
+      case "apply":
+        return APPLY;
+      case "undeploy":
+        return UNDEPLOY;
+      default:
+        return fallback;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings.Timing;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the recorded {@link PhaseTimings} as JSON ({@value #JSON_REPORT}) and CSV ({@value #CSV_REPORT}), and
+ * summarizes them with the slowest tests and the percentiles of each phase.
+ */
+public class PhaseTimingReport {
+
+  public static final String JSON_REPORT = "jkube-test-timings.json";
+  public static final String CSV_REPORT = "jkube-test-timings.csv";
+  private static final int[] PERCENTILES = {50, 90, 99};
+
+  private PhaseTimingReport() { }
+
+  public static void write(File directory, List<Timing> timings) throws IOException {
+    final Map<String, Object> report = new LinkedHashMap<>();
+    report.put("phases", phaseStatistics(timings));
+    report.put("timings", timings.stream().map(PhaseTimingReport::toMap).collect(Collectors.toList()));
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(directory, JSON_REPORT), report);
+    final StringBuilder csv = new StringBuilder("test,phase,detail,start,durationMillis\n");
+    for (Timing timing : timings) {
+      csv.append(String.join(",", csvValue(timing.getTest()), timing.getPhase().name(), csvValue(timing.getDetail()),
+        timing.getStart().toString(), Long.toString(timing.getDuration().toMillis()))).append('\n');
+    }
+    Files.write(new File(directory, CSV_REPORT).toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return human-readable summary with the slowest tests and the duration percentiles of each phase.
+   */
+  public static List<String> summary(List<Timing> timings, int slowest) {
+    final List<String> lines = new ArrayList<>();
+    final List<Timing> tests = timings.stream()
+      .filter(t -> t.getPhase() == Phase.TEST)
+      .sorted(Comparator.comparing(Timing::getDuration).reversed())
+      .limit(slowest)
+      .collect(Collectors.toList());
+    if (!tests.isEmpty()) {
+      lines.add(String.format("Slowest %s tests:", tests.size()));
+      tests.forEach(t -> lines.add(String.format("  %8s %s", seconds(t.getDuration().toMillis()), t.getTest())));
+    }
+    final Map<Phase, Map<String, Long>> statistics = phaseStatistics(timings);
+    if (!statistics.isEmpty()) {
+      lines.add(String.format("%-20s %6s %8s %8s %8s %8s", "Phase", "Count", "p50", "p90", "p99", "Max"));
+      statistics.forEach((phase, s) -> lines.add(String.format("%-20s %6s %8s %8s %8s %8s", phase, s.get("count"),
+        seconds(s.get("p50Millis")), seconds(s.get("p90Millis")), seconds(s.get("p99Millis")),
+        seconds(s.get("maxMillis")))));
+    }
+    return lines;
+  }
+
+  private static Map<Phase, Map<String, Long>> phaseStatistics(List<Timing> timings) {
+    final Map<Phase, Map<String, Long>> statistics = new EnumMap<>(Phase.class);
+    timings.stream()
+      .collect(Collectors.groupingBy(Timing::getPhase, () -> new EnumMap<>(Phase.class),
+        Collectors.mapping(t -> t.getDuration().toMillis(), Collectors.toList())))
+      .forEach((phase, durations) -> {
+        final long[] sorted = durations.stream().mapToLong(Long::longValue).sorted().toArray();
+        final Map<String, Long> phaseStatistics = new LinkedHashMap<>();
+        phaseStatistics.put("count", (long) sorted.length);
+        for (int percentile : PERCENTILES) {
+          phaseStatistics.put("p" + percentile + "Millis", percentile(sorted, percentile));
+        }
+        phaseStatistics.put("maxMillis", sorted[sorted.length - 1]);
+        statistics.put(phase, phaseStatistics);
+      });
+    return statistics;
+  }
+
+  /**
+   * Nearest-rank percentile of the provided (sorted) values.
+   */
+  public static long percentile(long[] sorted, int percentile) {
+    final int rank = (int) Math.ceil(percentile / 100D * sorted.length);
+    return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+  }
+
+  private static Map<String, Object> toMap(Timing timing) {
+    final Map<String, Object> map = new LinkedHashMap<>();
+    map.put("test", timing.getTest());
+    map.put("phase", timing.getPhase().name());
+    map.put("detail", timing.getDetail());
+    map.put("start", timing.getStart().toString());
+    map.put("durationMillis", timing.getDuration().toMillis());
+    return map;
+  }
+
+  static String csvValue(String value) {
+    if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+
+  static String seconds(long millis) {
+    return String.format("%.1fs", millis / 1000D);
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.timing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Durations of the phases (Maven/Gradle invocations, image builds, Pod readiness, HTTP probes...) of every test run
+ * in the JVM, reported by the {@link org.eclipse.jkube.integrationtests.jupiter.api.extension.ReportExtension}.
+ *
+ * <p> The test that's currently running in a thread is set by the extension, operations that complete
+ * asynchronously must capture {@link #currentTest()} in the test thread and record their timing with
+ * {@link #record(String, Phase, String, Instant, Duration)}.
+ */
+public class PhaseTimings {
+
+  public static final String UNATTRIBUTED = "(unattributed)";
+  private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+  private static final List<Timing> TIMINGS = new ArrayList<>();
+
+  private PhaseTimings() { }
+
+  public static void setCurrentTest(String test) {
+    if (test == null) {
+      CURRENT_TEST.remove();
+    } else {
+      CURRENT_TEST.set(test);
+    }
+  }
+
+  /**
+   * @return the test running in the current thread.
+   */
+  public static String currentTest() {
+    return Objects.requireNonNullElse(CURRENT_TEST.get(), UNATTRIBUTED);
+  }
+
+  /**
+   * Records the duration (from the provided start to now) of a phase of the test running in the current thread.
+   */
+  public static void record(Phase phase, String detail, Instant start) {
+    record(currentTest(), phase, detail, start, Duration.between(start, Instant.now()));
+  }
+
+  public static void record(String test, Phase phase, String detail, Instant start, Duration duration) {
+    synchronized (TIMINGS) {
+      TIMINGS.add(new Timing(test, phase, detail, start, duration));
+    }
+  }
+
+  /**
+   * @return a snapshot of the timings recorded so far.
+   */
+  public static List<Timing> getTimings() {
+    synchronized (TIMINGS) {
+      return new ArrayList<>(TIMINGS);
+    }
+  }
+
+  public static final class Timing {
+
+    private final String test;
+    private final Phase phase;
+    private final String detail;
+    private final Instant start;
+    private final Duration duration;
+
+    private Timing(String test, Phase phase, String detail, Instant start, Duration duration) {
+      this.test = test;
+      this.phase = phase;
+      this.detail = detail == null ? "" : detail;
+      this.start = start;
+      this.duration = duration;
+    }
+
+    public String getTest() {
+      return test;
+    }
+
+    public Phase getPhase() {
+      return phase;
+    }
+
+    public String getDetail() {
+      return detail;
+    }
+
+    public Instant getStart() {
+      return start;
+    }
+
+    public Duration getDuration() {
+      return duration;
+    }
+  }
+}
@@ -0,0 +1,353 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerState;
+import io.fabric8.kubernetes.api.model.ContainerStateRunning;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.MicroTime;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Startup breakdown of a Pod computed from its Kubernetes Events and status conditions: scheduling, image pull,
+ * container creation, container start, readiness (from the container start) and ready (from the Pod creation).
+ *
+ * <p> The lifecycles of the awaited Pods are recorded in the {@link PhaseTimings} (with the application as detail)
+ * and written to {@value #JSON_REPORT}, including the pulled images and their sizes. Event timestamps have second
+ * precision, except for the image pull whose duration is taken from the {@code Pulled} Event message if available.
+ *
+ * <p> Budgets can be set for each phase with the {@value #POD_LIFECYCLE_BUDGETS_SYSTEM_PROPERTY} system property
+ * (e.g. {@code POD_IMAGE_PULL=10,POD_READY=60}, in seconds).
+ */
+public class PodLifecycle {
+
+  public static final String POD_LIFECYCLE_BUDGETS_SYSTEM_PROPERTY = "podLifecycleBudgets";
+  public static final String JSON_REPORT = "jkube-pod-lifecycles.json";
+  private static final Pattern PULLED_IMAGE = Pattern.compile("Successfully pulled image \"([^\"]+)\"(?: in (\\S+))?");
+  private static final Pattern PULLED_IMAGE_SIZE = Pattern.compile("Image size: (\\d+) bytes");
+  private static final Pattern PRESENT_IMAGE = Pattern.compile("Container image \"([^\"]+)\" already present");
+  private static final Pattern GO_DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)(h|ms|m|s|us|\u00b5s|ns)");
+  private static final List<PodLifecycle> LIFECYCLES = new ArrayList<>();
+
+  private final String application;
+  private final String test;
+  private final String pod;
+  private final Map<Phase, Duration> phases;
+  private final Map<String, Long> pulledImages;
+  private final List<String> presentImages;
+  private final Map<String, String> imagePullPolicies;
+  private final List<String> events;
+
+  private PodLifecycle(String application, String test, Pod pod, List<Event> events) {
+    this.application = application;
+    this.test = test;
+    this.pod = pod.getMetadata().getName();
+    this.phases = new EnumMap<>(Phase.class);
+    this.pulledImages = new LinkedHashMap<>();
+    this.presentImages = new ArrayList<>();
+    this.imagePullPolicies = pod.getSpec().getContainers().stream()
+      .collect(Collectors.toMap(Container::getName, c -> Objects.requireNonNullElse(c.getImagePullPolicy(), ""),
+        (a, b) -> a, LinkedHashMap::new));
+    final List<Event> sorted = events.stream()
+      .sorted(Comparator.comparing(PodLifecycle::time))
+      .collect(Collectors.toList());
+    this.events = sorted.stream()
+      .map(e -> String.format("%s %s %s: %s", time(e), e.getType(), e.getReason(), e.getMessage()))
+      .collect(Collectors.toList());
+    final Instant created = Instant.parse(pod.getMetadata().getCreationTimestamp());
+    final Instant scheduled = first(sorted, "Scheduled").or(() -> condition(pod, "PodScheduled")).orElse(null);
+    final Instant pulling = first(sorted, "Pulling").orElse(null);
+    final Instant pulled = last(sorted, "Pulled").orElse(null);
+    final Instant containerCreated = last(sorted, "Created").orElse(null);
+    final Instant started = last(sorted, "Started").or(() -> containerStarted(pod)).orElse(null);
+    final Instant ready = condition(pod, "Ready").orElse(null);
+    Duration pullDuration = Duration.ZERO;
+    for (Event event : sorted) {
+      final String message = Objects.requireNonNullElse(event.getMessage(), "");
+      final Matcher pulledImage = PULLED_IMAGE.matcher(message);
+      final Matcher presentImage = PRESENT_IMAGE.matcher(message);
+      if (pulledImage.find()) {
+        final Matcher size = PULLED_IMAGE_SIZE.matcher(message);
+        pulledImages.put(pulledImage.group(1), size.find() ? Long.parseLong(size.group(1)) : -1L);
+        pullDuration = pullDuration.plus(Optional.ofNullable(pulledImage.group(2))
+          .map(PodLifecycle::parseGoDuration).orElse(Duration.ZERO));
+      } else if (presentImage.find()) {
+        presentImages.add(presentImage.group(1));
+      }
+    }
+    put(Phase.POD_SCHEDULED, created, scheduled);
+    if (!pulledImages.isEmpty()) {
+      if (pullDuration.isZero()) {
+        put(Phase.POD_IMAGE_PULL, pulling, pulled);
+      } else {
+        phases.put(Phase.POD_IMAGE_PULL, pullDuration);
+      }
+    }
+    put(Phase.POD_CONTAINER_CREATED, pulled != null ? pulled : scheduled, containerCreated);
+    put(Phase.POD_CONTAINER_STARTED, containerCreated, started);
+    put(Phase.POD_READINESS, started, ready);
+    put(Phase.POD_READY, created, ready);
+  }
+
+  /**
+   * Computes the lifecycle of the provided (ready) Pod and records its phases.
+   */
+  public static PodLifecycle record(String application, String test, Pod pod, List<Event> events) {
+    final PodLifecycle lifecycle = new PodLifecycle(application, test, pod, events);
+    final Instant created = Instant.parse(pod.getMetadata().getCreationTimestamp());
+    lifecycle.phases.forEach((phase, duration) -> PhaseTimings.record(test, phase, application, created, duration));
+    synchronized (LIFECYCLES) {
+      LIFECYCLES.add(lifecycle);
+    }
+    return lifecycle;
+  }
+
+  /**
+   * @return a snapshot of the lifecycles recorded so far.
+   */
+  public static List<PodLifecycle> getLifecycles() {
+    synchronized (LIFECYCLES) {
+      return new ArrayList<>(LIFECYCLES);
+    }
+  }
+
+  /**
+   * @return the lifecycle of a Pod that isn't (or might not be) ready, for diagnosis.
+   */
+  public static PodLifecycle of(String application, Pod pod, List<Event> events) {
+    return new PodLifecycle(application, PhaseTimings.currentTest(), pod, events);
+  }
+
+  public static void write(File directory, List<PodLifecycle> lifecycles) throws IOException {
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(directory, JSON_REPORT),
+      lifecycles.stream().map(PodLifecycle::toMap).collect(Collectors.toList()));
+  }
+
+  /**
+   * @return human-readable list of the image pulls (the images of most tests are expected to be present in the node).
+   */
+  public static List<String> summary(List<PodLifecycle> lifecycles) {
+    final List<String> lines = new ArrayList<>();
+    final List<PodLifecycle> pulls = lifecycles.stream()
+      .filter(l -> !l.pulledImages.isEmpty())
+      .collect(Collectors.toList());
+    if (!pulls.isEmpty()) {
+      lines.add(String.format("Pod image pulls (%s):", pulls.size()));
+      pulls.forEach(l -> l.pulledImages.forEach((image, bytes) -> lines.add(String.format(
+        "  %8s %s %s (%s bytes, imagePullPolicy %s)", PhaseTimingReport.seconds(
+          l.phases.getOrDefault(Phase.POD_IMAGE_PULL, Duration.ZERO).toMillis()),
+        l.application, image, bytes, l.imagePullPolicies.values()))));
+    }
+    return lines;
+  }
+
+  /**
+   * @return the configured budget for each phase.
+   */
+  public static Map<Phase, Duration> budgets() {
+    final Map<Phase, Duration> budgets = new EnumMap<>(Phase.class);
+    final String configured = System.getProperty(POD_LIFECYCLE_BUDGETS_SYSTEM_PROPERTY, "");
+    for (String budget : configured.split(",")) {
+      if (budget.isBlank()) {
+        continue;
+      }
+      final String[] entry = budget.split("=", 2);
+      if (entry.length != 2) {
+        throw new IllegalArgumentException(String.format(
+          "Invalid %s entry: %s (<phase>=<seconds>)", POD_LIFECYCLE_BUDGETS_SYSTEM_PROPERTY, budget));
+      }
+      budgets.put(Phase.valueOf(entry[0].trim().toUpperCase(Locale.ROOT)),
+        Duration.ofMillis(Math.round(Double.parseDouble(entry[1].trim()) * 1000D)));
+    }
+    return budgets;
+  }
+
+  /**
+   * @return the phases that exceeded the provided budgets.
+   */
+  public List<String> exceeded(Map<Phase, Duration> budgets) {
+    final List<String> exceeded = new ArrayList<>();
+    budgets.forEach((phase, budget) -> {
+      final Duration duration = phases.get(phase);
+      if (duration != null && duration.compareTo(budget) > 0) {
+        exceeded.add(String.format("%s took %s (budget %s)", phase,
+          PhaseTimingReport.seconds(duration.toMillis()), PhaseTimingReport.seconds(budget.toMillis())));
+      }
+    });
+    return exceeded;
+  }
+
+  public String getApplication() {
+    return application;
+  }
+
+  public String getPod() {
+    return pod;
+  }
+
+  public Map<Phase, Duration> getPhases() {
+    return phases;
+  }
+
+  /**
+   * @return the images pulled for the Pod and their size in bytes (-1 if unknown).
+   */
+  public Map<String, Long> getPulledImages() {
+    return pulledImages;
+  }
+
+  /**
+   * @return the images that were already present in the node.
+   */
+  public List<String> getPresentImages() {
+    return presentImages;
+  }
+
+  public Map<String, String> getImagePullPolicies() {
+    return imagePullPolicies;
+  }
+
+  public List<String> getEvents() {
+    return events;
+  }
+
+  @Override
+  public String toString() {
+    final List<String> lines = new ArrayList<>();
+    lines.add(phases.entrySet().stream()
+      .map(p -> String.format("%s %s", p.getKey(), PhaseTimingReport.seconds(p.getValue().toMillis())))
+      .collect(Collectors.joining(", ", String.format("Pod %s lifecycle: ", pod), "")));
+    pulledImages.forEach((image, bytes) -> lines.add(String.format("  Pulled image %s (%s bytes)", image, bytes)));
+    presentImages.forEach(image -> lines.add(String.format("  Image %s already present", image)));
+    lines.add(String.format("  imagePullPolicy: %s", imagePullPolicies));
+    events.forEach(event -> lines.add("  " + event));
+    return String.join(System.lineSeparator(), lines);
+  }
+
+  private void put(Phase phase, Instant start, Instant end) {
+    if (start != null && end != null) {
+      phases.put(phase, Duration.between(start, end));
+    }
+  }
+
+  private Map<String, Object> toMap() {
+    final Map<String, Object> map = new LinkedHashMap<>();
+    map.put("application", application);
+    map.put("test", test);
+    map.put("pod", pod);
+    final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    phases.forEach((phase, duration) -> phaseMillis.put(phase.name(), duration.toMillis()));
+    map.put("phasesMillis", phaseMillis);
+    map.put("pulledImageBytes", pulledImages);
+    map.put("presentImages", presentImages);
+    map.put("imagePullPolicies", imagePullPolicies);
+    map.put("events", events);
+    return map;
+  }
+
+  private static Optional<Instant> first(List<Event> sorted, String reason) {
+    return sorted.stream().filter(e -> reason.equals(e.getReason())).findFirst().map(PodLifecycle::time);
+  }
+
+  private static Optional<Instant> last(List<Event> sorted, String reason) {
+    return sorted.stream().filter(e -> reason.equals(e.getReason())).reduce((a, b) -> b).map(PodLifecycle::time);
+  }
+
+  private static Optional<Instant> condition(Pod pod, String conditionType) {
+    if (pod.getStatus() == null || pod.getStatus().getConditions() == null) {
+      return Optional.empty();
+    }
+    return pod.getStatus().getConditions().stream()
+      .filter(c -> Objects.equals(c.getType(), conditionType) && "True".equals(c.getStatus()))
+      .map(PodCondition::getLastTransitionTime)
+      .filter(Objects::nonNull)
+      .findFirst()
+      .map(Instant::parse);
+  }
+
+  // The Started Event might be received after the Pod is ready, the Pod is only started once its last container is
+  private static Optional<Instant> containerStarted(Pod pod) {
+    if (pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null
+      || pod.getStatus().getContainerStatuses().isEmpty()) {
+      return Optional.empty();
+    }
+    final List<Optional<String>> startedAt = pod.getStatus().getContainerStatuses().stream()
+      .map(cs -> Optional.ofNullable(cs.getState()).map(ContainerState::getRunning)
+        .map(ContainerStateRunning::getStartedAt))
+      .collect(Collectors.toList());
+    if (startedAt.stream().anyMatch(Optional::isEmpty)) {
+      return Optional.empty();
+    }
+    return startedAt.stream().map(Optional::get).map(Instant::parse).max(Comparator.naturalOrder());
+  }
+
+  // Events from the kubelet might only have the (deprecated) first timestamp, newer ones only the event time
+  private static Instant time(Event event) {
+    return Optional.ofNullable(event.getEventTime()).map(MicroTime::getTime)
+      .or(() -> Optional.ofNullable(event.getFirstTimestamp()))
+      .or(() -> Optional.ofNullable(event.getLastTimestamp()))
+      .or(() -> Optional.ofNullable(event.getMetadata().getCreationTimestamp()))
+      .map(Instant::parse)
+      .orElse(Instant.EPOCH);
+  }
+
+  static Duration parseGoDuration(String value) {
+    final Matcher matcher = GO_DURATION.matcher(value);
+    double nanos = 0D;
+    while (matcher.find()) {
+      final double amount = Double.parseDouble(matcher.group(1));
+      switch (matcher.group(2)) {
+        case "h":
+          nanos += amount * 3_600_000_000_000D;
+          break;
+        case "m":
+          nanos += amount * 60_000_000_000D;
+          break;
+        case "s":
+          nanos += amount * 1_000_000_000D;
+          break;
+        case "ms":
+          nanos += amount * 1_000_000D;
+          break;
+        case "ns":
+          nanos += amount;
+          break;
+        default:
+          nanos += amount * 1_000D;
+      }
+    }
+    return Duration.ofNanos(Math.round(nanos));
+  }
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Startup times of the deployed applications, sampled over several restarts of their Pods when the
+ * {@value #STARTUP_BENCHMARK_RESTARTS_SYSTEM_PROPERTY} system property is set (disabled by default).
+ *
+ * <p> Each sample measures the container start (from the Pod creation), the readiness and the first successful
+ * HTTP response (from the container start), and the total time from the restart to the first response. The
+ * container start and readiness are computed from the Pod status timestamps (second precision), the first response
+ * is observed by the test through the Service, so it also includes the endpoint propagation and any clock skew
+ * between the host and the cluster node. The samples are compared per application in {@value #JSON_REPORT} and
+ * {@value #CSV_REPORT}.
+ */
+public class StartupTimings {
+
+  public static final String STARTUP_BENCHMARK_RESTARTS_SYSTEM_PROPERTY = "startupBenchmarkRestarts";
+  public static final String JSON_REPORT = "jkube-startup-timings.json";
+  public static final String CSV_REPORT = "jkube-startup-timings.csv";
+  private static final List<Sample> SAMPLES = new ArrayList<>();
+
+  private StartupTimings() { }
+
+  /**
+   * @return the number of times each application should be restarted to sample its startup, 0 if disabled.
+   */
+  public static int restarts() {
+    return Math.max(0, Integer.getInteger(STARTUP_BENCHMARK_RESTARTS_SYSTEM_PROPERTY, 0));
+  }
+
+  public static void record(Sample sample) {
+    synchronized (SAMPLES) {
+      SAMPLES.add(sample);
+    }
+  }
+
+  /**
+   * @return a snapshot of the samples recorded so far.
+   */
+  public static List<Sample> getSamples() {
+    synchronized (SAMPLES) {
+      return new ArrayList<>(SAMPLES);
+    }
+  }
+
+  public static void write(File directory, List<Sample> samples) throws IOException {
+    final Map<String, Object> report = new LinkedHashMap<>();
+    report.put("applications", applicationStatistics(samples));
+    report.put("samples", samples.stream().map(StartupTimings::toMap).collect(Collectors.toList()));
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(directory, JSON_REPORT), report);
+    final StringBuilder csv = new StringBuilder(
+      "application,test,pod,restart,containerStartMillis,readinessMillis,firstResponseMillis,totalMillis\n");
+    for (Sample sample : samples) {
+      csv.append(String.join(",", PhaseTimingReport.csvValue(sample.getApplication()),
+        PhaseTimingReport.csvValue(sample.getTest()), sample.getPod(), sample.getRestart().toString(),
+        Long.toString(sample.getContainerStart().toMillis()), Long.toString(sample.getReadiness().toMillis()),
+        Long.toString(sample.getFirstResponse().toMillis()), Long.toString(sample.getTotal().toMillis())))
+        .append('\n');
+    }
+    Files.write(new File(directory, CSV_REPORT).toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return human-readable comparison of the applications (median of each measurement, fastest first).
+   */
+  public static List<String> summary(List<Sample> samples) {
+    final List<String> lines = new ArrayList<>();
+    final Map<String, Map<String, Long>> statistics = applicationStatistics(samples);
+    if (statistics.isEmpty()) {
+      return lines;
+    }
+    lines.add(String.format("%-40s %8s %10s %10s %10s %10s",
+      "Startup (p50)", "Restarts", "Container", "Ready", "Response", "Total"));
+    statistics.entrySet().stream()
+      .sorted(Comparator.comparing(e -> e.getValue().get("firstResponseP50Millis")))
+      .forEach(e -> lines.add(String.format("%-40s %8s %10s %10s %10s %10s", e.getKey(), e.getValue().get("count"),
+        PhaseTimingReport.seconds(e.getValue().get("containerStartP50Millis")),
+        PhaseTimingReport.seconds(e.getValue().get("readinessP50Millis")),
+        PhaseTimingReport.seconds(e.getValue().get("firstResponseP50Millis")),
+        PhaseTimingReport.seconds(e.getValue().get("totalP50Millis")))));
+    return lines;
+  }
+
+  private static Map<String, Map<String, Long>> applicationStatistics(List<Sample> samples) {
+    final Map<String, Map<String, Long>> statistics = new TreeMap<>();
+    samples.stream().collect(Collectors.groupingBy(Sample::getApplication)).forEach((application, s) -> {
+      final Map<String, Long> applicationStatistics = new LinkedHashMap<>();
+      applicationStatistics.put("count", (long) s.size());
+      putStatistics(applicationStatistics, "containerStart", s, Sample::getContainerStart);
+      putStatistics(applicationStatistics, "readiness", s, Sample::getReadiness);
+      putStatistics(applicationStatistics, "firstResponse", s, Sample::getFirstResponse);
+      putStatistics(applicationStatistics, "total", s, Sample::getTotal);
+      statistics.put(application, applicationStatistics);
+    });
+    return statistics;
+  }
+
+  private static void putStatistics(
+    Map<String, Long> statistics, String name, List<Sample> samples, Function<Sample, Duration> measurement) {
+
+    final long[] sorted = samples.stream().map(measurement).mapToLong(Duration::toMillis).sorted().toArray();
+    statistics.put(name + "P50Millis", PhaseTimingReport.percentile(sorted, 50));
+    statistics.put(name + "P90Millis", PhaseTimingReport.percentile(sorted, 90));
+    statistics.put(name + "MaxMillis", sorted[sorted.length - 1]);
+  }
+
+  private static Map<String, Object> toMap(Sample sample) {
+    final Map<String, Object> map = new LinkedHashMap<>();
+    map.put("application", sample.getApplication());
+    map.put("test", sample.getTest());
+    map.put("pod", sample.getPod());
+    map.put("restart", sample.getRestart().toString());
+    map.put("containerStartMillis", sample.getContainerStart().toMillis());
+    map.put("readinessMillis", sample.getReadiness().toMillis());
+    map.put("firstResponseMillis", sample.getFirstResponse().toMillis());
+    map.put("totalMillis", sample.getTotal().toMillis());
+    return map;
+  }
+
+  public static final class Sample {
+
+    private final String application;
+    private final String test;
+    private final String pod;
+    private final Instant restart;
+    private final Duration containerStart;
+    private final Duration readiness;
+    private final Duration firstResponse;
+    private final Duration total;
+
+    /**
+     * @param restart the (host) time at which the previous Pod was deleted.
+     * @param created the (cluster) creation time of the new Pod.
+     * @param containerStarted the (cluster) time at which the last container of the new Pod started.
+     * @param ready the (cluster) time at which the new Pod became ready.
+     * @param firstResponse the (host) time of the first successful response of the new Pod.
+     */
+    public Sample(String application, String test, String pod, Instant restart, Instant created,
+      Instant containerStarted, Instant ready, Instant firstResponse) {
+
+      this.application = application;
+      this.test = test;
+      this.pod = pod;
+      this.restart = restart;
+      this.containerStart = Duration.between(created, containerStarted);
+      this.readiness = Duration.between(containerStarted, ready);
+      this.firstResponse = Duration.between(containerStarted, firstResponse);
+      this.total = Duration.between(restart, firstResponse);
+    }
+
+    public String getApplication() {
+      return application;
+    }
+
+    public String getTest() {
+      return test;
+    }
+
+    public String getPod() {
+      return pod;
+    }
+
+    public Instant getRestart() {
+      return restart;
+    }
+
+    public Duration getContainerStart() {
+      return containerStart;
+    }
+
+    public Duration getReadiness() {
+      return readiness;
+    }
+
+    public Duration getFirstResponse() {
+      return firstResponse;
+    }
+
+    public Duration getTotal() {
+      return total;
+    }
+  }
+}
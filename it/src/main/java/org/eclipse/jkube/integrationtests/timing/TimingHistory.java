@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.timing;
+
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings.Timing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jkube.integrationtests.JKubeCase.JKUBE_VERSION_SYSTEM_PROPERTY;
+
+/**
+ * Append-only history of the {@link PhaseTimings} of the test runs, used to detect performance regressions.
+ *
+ * <p> Each run appends one line per test, phase and detail (e.g. the Maven goal) with the median duration of the run
+ * to the {@value #TIMING_HISTORY_SYSTEM_PROPERTY} file (defaults to
+ * {@code ~/.cache/jkube-integration-tests/timing-history.tsv}, {@code off} disables the history).
+ *
+ * <p> The durations of the current run are compared with the baseline made of the last
+ * {@value #TIMING_HISTORY_BASELINE_RUNS_SYSTEM_PROPERTY} runs (10 by default) that recorded the same entry with the
+ * same JKube version. URLs in the detail are recorded without their host and port (e.g. the random NodePort of the
+ * {@link Phase#FIRST_HTTP_RESPONSE} probes), so that the entries of different runs match.
+ * A duration is a regression if it's an outlier of the baseline (modified z-score, based on the median absolute
+ * deviation, above {@value #OUTLIER_Z_SCORE}) and it's slower than the baseline median by at least
+ * {@value #MIN_RELATIVE_SLOWDOWN_PERCENT}% and {@value #MIN_ABSOLUTE_SLOWDOWN_MILLIS} ms.
+ */
+public class TimingHistory {
+
+  public static final String TIMING_HISTORY_SYSTEM_PROPERTY = "timingHistory";
+  public static final String TIMING_HISTORY_BASELINE_RUNS_SYSTEM_PROPERTY = "timingHistoryBaselineRuns";
+  static final double OUTLIER_Z_SCORE = 3.5D;
+  static final int MIN_RELATIVE_SLOWDOWN_PERCENT = 20;
+  static final long MIN_ABSOLUTE_SLOWDOWN_MILLIS = 1000L;
+  private static final int MIN_BASELINE_RUNS = 3;
+  private static final String SEPARATOR = "\t";
+  private static final Pattern URL_AUTHORITY = Pattern.compile("\\b[a-zA-Z][a-zA-Z0-9+.-]*://[^/\\s]+");
+  private static final Logger log = LoggerFactory.getLogger(TimingHistory.class);
+
+  private TimingHistory() { }
+
+  /**
+   * Compares the timings of the current run with the history and appends them to the history.
+   *
+   * @return the regressions of the current run.
+   */
+  public static List<Regression> update(List<Timing> timings) throws IOException {
+    final String history = System.getProperty(TIMING_HISTORY_SYSTEM_PROPERTY,
+      Path.of(System.getProperty("user.home"), ".cache", "jkube-integration-tests", "timing-history.tsv").toString());
+    if (history.equalsIgnoreCase("off") || timings.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final Path historyFile = Path.of(history);
+    if (historyFile.getParent() != null) {
+      Files.createDirectories(historyFile.getParent());
+    }
+    final String run = timings.stream().map(Timing::getStart).min(Comparator.naturalOrder())
+      .orElseGet(Instant::now).toString();
+    final Map<String, Long> current = aggregate(timings);
+    try (
+      FileChannel channel = FileChannel.open(historyFile,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      FileLock ignored = channel.lock()
+    ) {
+      final String jKubeVersion = sanitize(System.getProperty(JKUBE_VERSION_SYSTEM_PROPERTY, ""));
+      final List<Regression> regressions = compare(read(channel, jKubeVersion), current,
+        Integer.getInteger(TIMING_HISTORY_BASELINE_RUNS_SYSTEM_PROPERTY, 10));
+      final StringBuilder lines = new StringBuilder();
+      current.forEach((key, millis) ->
+        lines.append(String.join(SEPARATOR, run, jKubeVersion, key, Long.toString(millis))).append('\n'));
+      channel.write(ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)), channel.size());
+      regressions.forEach(r -> log.warn("Performance regression: {}", r));
+      return regressions;
+    }
+  }
+
+  /**
+   * @return the median duration (in milliseconds) of each test, phase and detail.
+   */
+  static Map<String, Long> aggregate(List<Timing> timings) {
+    final Map<String, Long> aggregated = new LinkedHashMap<>();
+    timings.stream()
+      .collect(Collectors.groupingBy(TimingHistory::key, LinkedHashMap::new,
+        Collectors.mapping(t -> t.getDuration().toMillis(), Collectors.toList())))
+      .forEach((key, durations) -> aggregated.put(key, median(durations)));
+    return aggregated;
+  }
+
+  /**
+   * @param history the durations of each entry (key) in the previous runs, in order of execution.
+   */
+  static List<Regression> compare(Map<String, List<Long>> history, Map<String, Long> current, int baselineRuns) {
+    final List<Regression> regressions = new ArrayList<>();
+    current.forEach((key, millis) -> {
+      final List<Long> previous = history.getOrDefault(key, Collections.emptyList());
+      if (previous.size() < MIN_BASELINE_RUNS) {
+        return;
+      }
+      final List<Long> baseline = previous.subList(Math.max(0, previous.size() - baselineRuns), previous.size());
+      final long median = median(baseline);
+      final long mad = median(baseline.stream().map(d -> Math.abs(d - median)).collect(Collectors.toList()));
+      // 0.6745 scales the MAD to be consistent with the standard deviation of a normal distribution
+      final double zScore = mad == 0L ? Double.POSITIVE_INFINITY : 0.6745D * (millis - median) / mad;
+      if (zScore > OUTLIER_Z_SCORE
+        && millis - median >= MIN_ABSOLUTE_SLOWDOWN_MILLIS
+        && millis * 100L >= median * (100L + MIN_RELATIVE_SLOWDOWN_PERCENT)) {
+        regressions.add(new Regression(key, median, millis, baseline.size(), zScore));
+      }
+    });
+    regressions.sort(Comparator.comparingLong((Regression r) -> r.currentMillis - r.baselineMillis).reversed());
+    return regressions;
+  }
+
+  // Read through the locked channel (file locks might be mandatory, e.g. Windows), the stream isn't closed since it
+  // would close the channel too
+  private static Map<String, List<Long>> read(FileChannel channel, String jKubeVersion) throws IOException {
+    final byte[] content = Channels.newInputStream(channel.position(0L)).readAllBytes();
+    final Map<String, List<Long>> history = new LinkedHashMap<>();
+    for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+      // run, jkubeVersion, test, phase, detail, millis
+      final String[] fields = line.split(SEPARATOR, -1);
+      // Durations of other JKube versions aren't comparable (the regression might be the version change itself)
+      if (fields.length != 6 || !fields[1].equals(jKubeVersion)) {
+        continue;
+      }
+      try {
+        history.computeIfAbsent(String.join(SEPARATOR, fields[2], fields[3], fields[4]), k -> new ArrayList<>())
+          .add(Long.parseLong(fields[5]));
+      } catch (NumberFormatException ex) {
+        // Truncated line (e.g. interrupted run), ignored
+      }
+    }
+    return history;
+  }
+
+  private static String key(Timing timing) {
+    return String.join(SEPARATOR, sanitize(timing.getTest()), timing.getPhase().name(), detail(timing.getDetail()));
+  }
+
+  // e.g. http://192.168.49.2:31234/hello -> /hello
+  private static String detail(String detail) {
+    return URL_AUTHORITY.matcher(sanitize(detail)).replaceAll("");
+  }
+
+  private static String sanitize(String value) {
+    return Objects.requireNonNullElse(value, "").replaceAll("[\\t\\r\\n]", " ");
+  }
+
+  private static long median(List<Long> values) {
+    final long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+    final int middle = sorted.length / 2;
+    return sorted.length % 2 == 0 ? (sorted[middle - 1] + sorted[middle]) / 2 : sorted[middle];
+  }
+
+  public static final class Regression {
+
+    private final String key;
+    private final long baselineMillis;
+    private final long currentMillis;
+    private final int baselineRuns;
+    private final double zScore;
+
+    private Regression(String key, long baselineMillis, long currentMillis, int baselineRuns, double zScore) {
+      this.key = key;
+      this.baselineMillis = baselineMillis;
+      this.currentMillis = currentMillis;
+      this.baselineRuns = baselineRuns;
+      this.zScore = zScore;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s took %s ms, baseline median %s ms (+%s%%, %s runs, z=%s)",
+        key.replace(SEPARATOR, " - ").replaceAll(" - $", ""), currentMillis, baselineMillis,
+        baselineMillis == 0L ? "n/a" : Math.round((currentMillis - baselineMillis) * 100D / baselineMillis),
+        baselineRuns, Double.isInfinite(zScore) ? "n/a" : String.format("%.1f", zScore));
+    }
+  }
+}
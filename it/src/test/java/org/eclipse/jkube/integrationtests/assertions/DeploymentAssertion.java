@@ -20,8 +20,11 @@ import org.hamcrest.Matcher;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.eclipse.jkube.integrationtests.assertions.LabelAssertion.assertLabels;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -37,9 +40,20 @@ public class DeploymentAssertion extends KubernetesClientAssertion<Deployment> {
     return jKubeCase -> new DeploymentAssertion(jKubeCase, deployment);
   }
 
-  public static void assertDeploymentExists(JKubeCase jKubeCase, Matcher<Boolean> existsMatcher) {
-    final boolean deploymentExists = jKubeCase.getKubernetesClient().apps().deployments().list().getItems().stream()
-      .anyMatch(s -> s.getMetadata().getName().startsWith(jKubeCase.getApplication()));
+  public static void assertDeploymentExists(JKubeCase jKubeCase, Matcher<Boolean> existsMatcher) throws InterruptedException {
+    // The shared index is eventually consistent, give it a chance to catch up with recent (un)deployments
+    final Predicate<Deployment> isApplication = r -> r.getMetadata().getName().startsWith(jKubeCase.getApplication());
+    final var expected = ClusterResourceIndex.of(jKubeCase.getKubernetesClient())
+      .awaitDeployments(isApplication, matching -> existsMatcher.matches(!matching.isEmpty()));
+    try {
+      expected.get(INDEX_CONSISTENCY_SECONDS, TimeUnit.SECONDS);
+    } catch (ExecutionException | TimeoutException ignore) {
+      // NO OP, asserted below
+    } finally {
+      expected.cancel(true);
+    }
+    final boolean deploymentExists = !ClusterResourceIndex.of(jKubeCase.getKubernetesClient())
+      .deployments(isApplication).isEmpty();
     assertThat(deploymentExists, existsMatcher);
   }
 
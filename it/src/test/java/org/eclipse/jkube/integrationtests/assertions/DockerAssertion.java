@@ -14,15 +14,14 @@
 package org.eclipse.jkube.integrationtests.assertions;
 
 import org.eclipse.jkube.integrationtests.docker.DockerUtils;
+import org.eclipse.jkube.integrationtests.docker.ImageLayerAnalysis;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
-import static org.hamcrest.Matchers.greaterThanOrEqualTo;
-import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 
 public class DockerAssertion {
@@ -32,15 +31,27 @@ public class DockerAssertion {
   }
 
   public static void assertImageWasRecentlyBuilt(String repository, String name, String tag) throws IOException, InterruptedException {
-    final List<DockerUtils.DockerImage> dockerImages = DockerUtils.dockerImages();
-    assertThat(dockerImages, hasSize(greaterThanOrEqualTo(1)));
-    final DockerUtils.DockerImage mostRecentImage = dockerImages.stream()
-      .filter(di -> di.getRepository().endsWith("/" + name))
-      .filter(di -> di.getTag().equals(tag))
-      .findFirst().orElse(null);
+    // Inspect the exact reference instead of listing every local image
+    final DockerUtils.DockerImage mostRecentImage = DockerUtils
+      .findImage(String.format("%s/%s:%s", repository, name, tag)).orElse(null);
     assertThat(mostRecentImage, notNullValue());
     assertThat(mostRecentImage.getRepository(), equalTo(String.format("%s/%s",repository, name)));
     assertThat(mostRecentImage.getTag(), equalTo(tag));
     assertThat(mostRecentImage.getCreatedSince(), containsString("second"));
+    assertImageSizeWithinBudget(String.format("%s/%s:%s", repository, name, tag));
+  }
+
+  /**
+   * Analyzes the layers of the image (see {@link ImageLayerAnalysis}), if enabled for the image, and fails if it
+   * exceeds its size budget.
+   */
+  public static void assertImageSizeWithinBudget(String imageName) throws IOException, InterruptedException {
+    if (!ImageLayerAnalysis.isEnabled(imageName)) {
+      return;
+    }
+    final Optional<String> exceeded = ImageLayerAnalysis.analyze(imageName).exceeded(ImageLayerAnalysis.budgets());
+    if (exceeded.isPresent()) {
+      throw new AssertionError(exceeded.get());
+    }
   }
 }
@@ -15,11 +15,12 @@ package org.eclipse.jkube.integrationtests.assertions;
 
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
-
-import java.util.Arrays;
+import org.eclipse.jkube.integrationtests.maven.MavenOutputBuffer;
 
 public class InvocationResultAssertion {
 
+  private static final int MAX_OUTPUT_LINES = 500;
+
   private InvocationResultAssertion() {}
 
   public static void assertInvocation(InvocationResult invocationResult) {
@@ -30,8 +31,11 @@ public class InvocationResultAssertion {
         message.append("\n").append(invocationResult.getExecutionException().getMessage());
       }
       if (invocationResult instanceof MavenInvocationResult){
-        Arrays.stream(((MavenInvocationResult) invocationResult).getStdOut().split("\r?\n"))
-          .forEach(line -> message.append("\n  > ").append(line));
+        final MavenOutputBuffer output = ((MavenInvocationResult) invocationResult).getOutput();
+        if (output.lineCount() > MAX_OUTPUT_LINES) {
+          message.append("\n  > [... ").append(output.lineCount() - MAX_OUTPUT_LINES).append(" lines omitted ...]");
+        }
+        output.tail(MAX_OUTPUT_LINES).forEach(line -> message.append("\n  > ").append(line));
       }
       throw new AssertionError(message.toString());
     }
@@ -18,13 +18,19 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.http.HttpResponse;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.client.OpenShiftClient;
+import org.eclipse.jkube.integrationtests.AsyncUtil.AwaitFuture;
+import org.eclipse.jkube.integrationtests.AsyncUtil.AwaitPolicy;
 import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.timing.Phase;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
@@ -35,16 +41,23 @@ public class KubernetesClientAssertion<T extends KubernetesResource> {
 
   private static final Logger log = LoggerFactory.getLogger(KubernetesClientAssertion.class);
   static final long DEFAULT_AWAIT_TIME_SECONDS = 80L;
+  static final long INDEX_CONSISTENCY_SECONDS = 10L;
 
   CompletableFuture<HttpResponse<String>> getWithRetry(String url) {
-    return await(() -> {
+    final String test = PhaseTimings.currentTest();
+    final Instant start = Instant.now();
+    final AwaitFuture<HttpResponse<String>> response = await(() -> {
       try {
         return jKubeCase.httpGet(url);
       } catch (Exception e) {
         log.warn("Connection to {} failed, retrying", url, e);
       }
       return null;
-    }, 3000L).apply(Objects::nonNull);
+    }, AwaitPolicy.fixed(3000L).withTimeout(Duration.ofSeconds(DEFAULT_AWAIT_TIME_SECONDS)))
+      .apply(Objects::nonNull);
+    response.thenAccept(r ->
+      PhaseTimings.record(test, Phase.FIRST_HTTP_RESPONSE, url, start, Duration.between(start, Instant.now())));
+    return response;
   }
 
   private final JKubeCase jKubeCase;
@@ -59,6 +72,10 @@ public class KubernetesClientAssertion<T extends KubernetesResource> {
     return new URL(jKubeCase.getKubernetesClient().getConfiguration().getMasterUrl()).getHost();
   }
 
+  final JKubeCase getJKubeCase() {
+    return jKubeCase;
+  }
+
   public T getKubernetesResource() {
     return kubernetesResource;
   }
@@ -82,7 +99,7 @@ public class KubernetesClientAssertion<T extends KubernetesResource> {
   static void printDiagnosis(JKubeCase jKubeCase) throws IOException, InterruptedException {
     System.err.println("\n\n===========================");
     System.err.println("\nCurrent PODs:");
-    jKubeCase.getKubernetesClient().pods().list().getItems().forEach(pod -> {
+    ClusterResourceIndex.of(jKubeCase.getKubernetesClient()).pods(pod -> true).forEach(pod -> {
       System.err.println("\n---------------------------");
       System.err.println(pod.getMetadata().getName());
       System.err.println("\nMetadata:");
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jkube.integrationtests.docker.DockerUtils;
+import org.eclipse.jkube.integrationtests.docker.ImageLayers;
+import org.eclipse.jkube.integrationtests.docker.LayerReuse;
+import org.eclipse.jkube.integrationtests.docker.RegistryManifest;
+import org.eclipse.jkube.integrationtests.maven.MavenCase;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.function.UnaryOperator;
+
+import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Builds and pushes the image of a project, applies a source-only change (the way the watch tests do), and rebuilds
+ * and pushes the image again to record its {@link LayerReuse}.
+ *
+ * <p> The source file is restored (and the project packaged and its image built again) once the scenario
+ * completes, so that the project artifacts and image match the original sources for the rest of the tests. Test
+ * classes running this scenario modify a shared project and must be {@code @Isolated}.
+ */
+public final class LayerReuseScenario {
+
+  private final MavenCase mavenCase;
+  private final String image;
+  private String prefix;
+  private String registry;
+  private File source;
+  private UnaryOperator<String> change;
+
+  private LayerReuseScenario(MavenCase mavenCase, String image) {
+    this.mavenCase = mavenCase;
+    this.image = image;
+    this.prefix = "k8s";
+  }
+
+  /**
+   * @param image the image built by the project (repository[:tag]).
+   */
+  public static LayerReuseScenario layerReuse(MavenCase mavenCase, String image) {
+    return new LayerReuseScenario(mavenCase, image);
+  }
+
+  /**
+   * @param prefix the JKube plugin goal prefix (k8s, oc).
+   */
+  public LayerReuseScenario prefix(String prefix) {
+    this.prefix = prefix;
+    return this;
+  }
+
+  /**
+   * @param registry the (plain HTTP) registry the image is pushed to (host:port).
+   */
+  public LayerReuseScenario registry(String registry) {
+    this.registry = registry;
+    return this;
+  }
+
+  /**
+   * @param source the path of the changed source file, relative to the project directory.
+   */
+  public LayerReuseScenario sourceChange(String source, UnaryOperator<String> change) {
+    this.source = new File(String.format("../%s/%s", mavenCase.getProject(), source));
+    this.change = change;
+    return this;
+  }
+
+  /**
+   * Runs the scenario and asserts that only the application layer (created by a {@code COPY} instruction) was
+   * rebuilt, and that only its blob and the image configuration were pushed again.
+   */
+  public LayerReuse assertOnlyApplicationLayerRebuilt() throws Exception {
+    final LayerReuse rebuild = run();
+    assertThat(rebuild.toString(), rebuild.getChangedLayers(), hasSize(1));
+    assertThat(rebuild.toString(), rebuild.getChangedLayers().get(0).getCreatedBy(), containsString("COPY"));
+    assertThat(rebuild.toString(), rebuild.getNewBlobs(), aMapWithSize(2));
+    return rebuild;
+  }
+
+  public LayerReuse run() throws Exception {
+    final String originalSource = FileUtils.readFileToString(source, StandardCharsets.UTF_8);
+    final String changedSource = change.apply(originalSource);
+    if (changedSource.equals(originalSource)) {
+      throw new IllegalArgumentException("The source change doesn't modify " + source);
+    }
+    assertInvocation(mavenCase.maven(String.format("clean package %s:build", prefix)));
+    final ImageLayers before = DockerUtils.imageLayers(image);
+    final RegistryManifest pushedBefore = push();
+    Throwable failure = null;
+    try {
+      FileUtils.write(source, changedSource, StandardCharsets.UTF_8);
+      assertInvocation(mavenCase.maven(String.format("package %s:build", prefix)));
+      final ImageLayers after = DockerUtils.imageLayers(image);
+      return LayerReuse.record(image, before, after, pushedBefore, push());
+    } catch (Exception | AssertionError ex) {
+      failure = ex;
+      throw ex;
+    } finally {
+      restore(originalSource, failure);
+    }
+  }
+
+  // A restore failure doesn't hide the failure of the scenario
+  private void restore(String originalSource, Throwable failure) throws Exception {
+    try {
+      FileUtils.write(source, originalSource, StandardCharsets.UTF_8);
+      assertInvocation(mavenCase.maven(String.format("package %s:build", prefix)));
+    } catch (Exception | AssertionError ex) {
+      if (failure == null) {
+        throw ex;
+      }
+      failure.addSuppressed(ex);
+    }
+  }
+
+  private RegistryManifest push() throws Exception {
+    assertInvocation(mavenCase.maven(String.format("%s:push", prefix),
+      mavenCase.properties("jkube.docker.push.registry", registry)));
+    final int tagSeparator = image.lastIndexOf(':');
+    return tagSeparator > image.lastIndexOf('/') ?
+      RegistryManifest.fetch(registry, image.substring(0, tagSeparator), image.substring(tagSeparator + 1)) :
+      RegistryManifest.fetch(registry, image, "latest");
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Matchers for the output of a Maven invocation, the output is streamed through the
+ * {@link org.eclipse.jkube.integrationtests.maven.MavenOutputBuffer} instead of being materialized as a String.
+ */
+public class MavenOutputAssertion {
+
+  private static final int MISMATCH_TAIL_LINES = 50;
+
+  private MavenOutputAssertion() { }
+
+  /**
+   * Matches if the output contains each of the provided sequences (in any order).
+   */
+  public static Matcher<MavenInvocationResult> outputContains(String... sequences) {
+    return new OutputMatcher(false, sequences);
+  }
+
+  /**
+   * Matches if the output contains the provided sequences in order.
+   */
+  public static Matcher<MavenInvocationResult> outputContainsInOrder(String... sequences) {
+    return new OutputMatcher(true, sequences);
+  }
+
+  private static final class OutputMatcher extends TypeSafeMatcher<MavenInvocationResult> {
+
+    private final boolean inOrder;
+    private final List<String> sequences;
+
+    private OutputMatcher(boolean inOrder, String... sequences) {
+      super(MavenInvocationResult.class);
+      this.inOrder = inOrder;
+      this.sequences = Arrays.asList(sequences);
+    }
+
+    @Override
+    protected boolean matchesSafely(MavenInvocationResult invocationResult) {
+      if (inOrder) {
+        return invocationResult.getOutput().containsInOrder(sequences.toArray(new String[0]));
+      }
+      return sequences.stream().allMatch(invocationResult.getOutput()::contains);
+    }
+
+    @Override
+    public void describeTo(Description description) {
+      description.appendText("Maven output containing ")
+        .appendValueList("[", ", ", "]", sequences)
+        .appendText(inOrder ? " in order" : "");
+    }
+
+    @Override
+    protected void describeMismatchSafely(MavenInvocationResult invocationResult, Description mismatchDescription) {
+      final var output = invocationResult.getOutput();
+      if (!inOrder) {
+        mismatchDescription.appendText("missing ").appendValueList("[", ", ", "]",
+          sequences.stream().filter(s -> !output.contains(s)).toArray());
+      } else {
+        mismatchDescription.appendText("sequences not found in order");
+      }
+      mismatchDescription.appendText(" in ").appendValue(output.lineCount()).appendText(" lines, ending with:");
+      output.tail(MISMATCH_TAIL_LINES).forEach(line -> mismatchDescription.appendText("\n  > ").appendText(line));
+    }
+  }
+}
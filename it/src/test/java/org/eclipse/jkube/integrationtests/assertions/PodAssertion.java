@@ -13,6 +13,7 @@
  */
 package org.eclipse.jkube.integrationtests.assertions;
 
+import io.fabric8.kubernetes.api.model.Event;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.PodResource;
@@ -20,14 +21,22 @@ import io.fabric8.kubernetes.client.readiness.Readiness;
 import io.fabric8.openshift.api.model.DeploymentConfig;
 import io.fabric8.openshift.client.OpenShiftClient;
 import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings;
+import org.eclipse.jkube.integrationtests.timing.PodLifecycle;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static org.eclipse.jkube.integrationtests.AsyncUtil.await;
 import static org.eclipse.jkube.integrationtests.assertions.LabelAssertion.assertLabels;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.notNullValue;
@@ -35,10 +44,19 @@ import static org.hamcrest.Matchers.startsWith;
 
 public class PodAssertion extends KubernetesClientAssertion<Pod> {
 
+  private static final Set<String> TIMED_PODS = ConcurrentHashMap.newKeySet();
+
   private PodAssertion(JKubeCase jKubeCase, Pod pod) {
     super(jKubeCase, pod);
   }
 
+  /**
+   * Excludes the provided Pod from the lifecycle timings (e.g. replacement Pods already timed by the startup samples).
+   */
+  static void skipLifecycle(Pod pod) {
+    TIMED_PODS.add(pod.getMetadata().getUid());
+  }
+
   public static Function<JKubeCase, PodAssertion> assertPod(Pod pod) {
     return jKubeCase -> new PodAssertion(jKubeCase, pod);
   }
@@ -48,21 +66,65 @@ public class PodAssertion extends KubernetesClientAssertion<Pod> {
     assertThat(pod, notNullValue());
     assertThat(pod.getMetadata().getName(), startsWith(jKubeCase.getApplication()));
     assertLabels(jKubeCase).assertStandardLabels(pod.getMetadata()::getLabels);
+    // The same Pod is usually awaited several times by a test
+    if (TIMED_PODS.add(pod.getMetadata().getUid())) {
+      final PodLifecycle lifecycle = PodLifecycle.record(jKubeCase.getApplication(), PhaseTimings.currentTest(), pod,
+        events(jKubeCase.getKubernetesClient(), pod));
+      final List<String> exceeded = lifecycle.exceeded(PodLifecycle.budgets());
+      if (!exceeded.isEmpty()) {
+        throw new AssertionError(String.format("Pod lifecycle budgets exceeded:%n %s%n%s",
+          String.join(System.lineSeparator() + " ", exceeded), lifecycle));
+      }
+    }
     return assertPod(pod).apply(jKubeCase);
   }
 
-  public PodAssertion logContains(CharSequence sequence, long timeoutSeconds) throws InterruptedException {
-    final AtomicReference<String> lastLog = new AtomicReference<>("");
+  /**
+   * @return the Events of the Pod received so far (the container start is taken from the Pod status if its Event
+   * wasn't received yet).
+   */
+  private static List<Event> events(KubernetesClient kc, Pod pod) {
     try {
-      await(() -> lastLog.updateAndGet(old -> podResource().getLog()))
-        .apply(l -> l.contains(sequence))
-        .get(timeoutSeconds, TimeUnit.SECONDS);
-      return this;
-    } catch (ExecutionException | TimeoutException ignore) {
-      // NO OP
+      return ClusterResourceIndex.of(kc).eventsFor(pod);
+    } catch (IllegalStateException ex) {
+      // Events can't be informed (e.g. not allowed), the lifecycle is computed from the Pod conditions
+      return Collections.emptyList();
+    }
+  }
+
+  public PodAssertion logContains(CharSequence sequence, long timeoutSeconds) throws InterruptedException {
+    return awaitLog(timeoutSeconds, follower -> List.of(follower.expectInOrder(sequence)));
+  }
+
+  /**
+   * Asserts that the log contains every one of the provided sequences (in any order) following the log only once.
+   */
+  public PodAssertion logContainsAll(long timeoutSeconds, CharSequence... sequences) throws InterruptedException {
+    return awaitLog(timeoutSeconds, follower -> Stream.of(sequences)
+      .map(follower::expectInOrder)
+      .collect(Collectors.toList()));
+  }
+
+  public PodAssertion logContainsInOrder(long timeoutSeconds, CharSequence... sequences) throws InterruptedException {
+    return awaitLog(timeoutSeconds, follower -> List.of(follower.expectInOrder(sequences)));
+  }
+
+  private PodAssertion awaitLog(
+    long timeoutSeconds, Function<PodLogFollower, List<CompletableFuture<Void>>> expectations)
+    throws InterruptedException {
+
+    try (PodLogFollower follower = new PodLogFollower(podResource())) {
+      final List<CompletableFuture<Void>> expected = expectations.apply(follower);
+      follower.start();
+      try {
+        CompletableFuture.allOf(expected.toArray(CompletableFuture[]::new)).get(timeoutSeconds, TimeUnit.SECONDS);
+        return this;
+      } catch (ExecutionException | TimeoutException ignore) {
+        // NO OP
+      }
+      throw new AssertionError(String.format("Error awaiting for log to contain:%n %s%nBut was:%n%s",
+        String.join(System.lineSeparator() + " ", follower.getPending()), follower.getTail()));
     }
-    throw new AssertionError(String.format("Error awaiting for log to contain:%n %s%nBut was:%n%s",
-      sequence, lastLog.get()));
   }
 
   private PodResource podResource() {
@@ -85,14 +147,17 @@ public class PodAssertion extends KubernetesClientAssertion<Pod> {
     } catch (TimeoutException ex) {
       // NO OP
     }
-    final var pod = kc.pods().withLabel("app", appId).list().getItems().stream().findFirst().orElse(null);
+    // Pods being deleted (e.g. replaced) are only reported if there's no other Pod
+    final var pod = kc.pods().withLabel("app", appId).list().getItems().stream()
+      .min(Comparator.comparing((Pod p) -> p.getMetadata().getDeletionTimestamp() != null))
+      .orElse(null);
     if (pod != null && Readiness.isPodReady(pod)) {
       return pod;
     }
     // Get debug information
     final String info;
     if (pod != null) {
-      info = kc.getKubernetesSerialization().asYaml(pod);
+      info = kc.getKubernetesSerialization().asYaml(pod) + "\n" + PodLifecycle.of(appId, pod, events(kc, pod));
     } else if (kc.adapt(OpenShiftClient.class).supports(DeploymentConfig.class) &&
       kc.adapt(OpenShiftClient.class).deploymentConfigs().withName(appId).get() != null) {
       info = "DeploymentConfig status:\n" +
@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.kubernetes.client.dsl.PodResource;
+import org.eclipse.jkube.integrationtests.cli.OutputTail;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+
+/**
+ * Follows the log of a Pod through a single streaming connection ({@link PodResource#watchLog()}) matching the
+ * expected sequences incrementally as the log is received.
+ *
+ * <p> Each log character is processed once regardless of the number of expectations, and only a bounded tail of the
+ * log is retained (for error messages). If the stream ends before every expectation is met (e.g. container restart
+ * or dropped connection), the log is followed again.
+ */
+final class PodLogFollower implements AutoCloseable {
+
+  private static final int DEFAULT_TAIL_CHARS = 64 * 1024;
+  private static final long INITIAL_RECONNECT_DELAY_MILLIS = 250L;
+  private static final long MAX_RECONNECT_DELAY_MILLIS = 5000L;
+
+  private final PodResource podResource;
+  private final List<Expectation> expectations;
+  private final StringBuilder currentLine;
+  private volatile OutputTail tail;
+  private volatile LogWatch logWatch;
+  private volatile boolean started;
+  private volatile boolean closed;
+
+  PodLogFollower(PodResource podResource) {
+    this.podResource = podResource;
+    this.expectations = new ArrayList<>();
+    this.currentLine = new StringBuilder();
+    this.tail = new OutputTail(DEFAULT_TAIL_CHARS);
+  }
+
+  /**
+   * Registers the expected sequences which must appear in the log in the provided order.
+   *
+   * @return a future that completes once every sequence has been found.
+   */
+  CompletableFuture<Void> expectInOrder(CharSequence... sequences) {
+    if (started) {
+      throw new IllegalStateException("Expectations must be registered before the follower is started");
+    }
+    final Expectation expectation = new Expectation(sequences);
+    expectations.add(expectation);
+    return expectation.future;
+  }
+
+  PodLogFollower start() {
+    started = true;
+    if (!isSatisfied()) {
+      CompletableFuture.runAsync(this::follow, executorService());
+    }
+    return this;
+  }
+
+  /**
+   * @return the sequences that haven't been found yet.
+   */
+  List<String> getPending() {
+    synchronized (currentLine) {
+      return expectations.stream()
+        .filter(e -> !e.future.isDone())
+        .flatMap(e -> Arrays.stream(e.sequences, e.index, e.sequences.length))
+        .collect(Collectors.toList());
+    }
+  }
+
+  String getTail() {
+    synchronized (currentLine) {
+      final String retained = tail.toString();
+      return currentLine.length() == 0 ? retained : retained + "\n" + currentLine;
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    final LogWatch current = logWatch;
+    if (current != null) {
+      current.close();
+    }
+  }
+
+  private boolean isSatisfied() {
+    return expectations.stream().allMatch(e -> e.future.isDone());
+  }
+
+  private void follow() {
+    long reconnectDelay = INITIAL_RECONNECT_DELAY_MILLIS;
+    while (!closed && !isSatisfied()) {
+      try (LogWatch watch = podResource.watchLog()) {
+        logWatch = watch;
+        if (closed) {
+          return;
+        }
+        final Reader reader = new InputStreamReader(watch.getOutput(), StandardCharsets.UTF_8);
+        final char[] buffer = new char[8192];
+        int read;
+        while (!isSatisfied() && (read = reader.read(buffer)) != -1) {
+          process(buffer, read);
+          reconnectDelay = INITIAL_RECONNECT_DELAY_MILLIS;
+        }
+      } catch (IOException | KubernetesClientException ex) {
+        // Stream closed, container not ready or connection dropped, retried below unless closed
+      }
+      if (closed || isSatisfied()) {
+        return;
+      }
+      try {
+        Thread.sleep(reconnectDelay);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      reconnectDelay = Math.min(MAX_RECONNECT_DELAY_MILLIS, reconnectDelay * 2);
+      // The new stream starts from the beginning of the (current container) log
+      synchronized (currentLine) {
+        tail = new OutputTail(DEFAULT_TAIL_CHARS);
+        currentLine.setLength(0);
+      }
+      expectations.forEach(Expectation::resetPartialMatch);
+    }
+  }
+
+  private void process(char[] buffer, int length) {
+    synchronized (currentLine) {
+      for (int i = 0; i < length; i++) {
+        final char c = buffer[i];
+        for (Expectation expectation : expectations) {
+          expectation.accept(c);
+        }
+        if (c == '\n') {
+          tail.append(currentLine.toString());
+          currentLine.setLength(0);
+        } else if (c != '\r') {
+          currentLine.append(c);
+        }
+      }
+    }
+  }
+
+  /**
+   * Incremental (Knuth-Morris-Pratt) matcher for a list of sequences that must be found in order.
+   */
+  private static final class Expectation {
+
+    private final String[] sequences;
+    private final int[][] failures;
+    private final CompletableFuture<Void> future;
+    private int index;
+    private int matched;
+
+    private Expectation(CharSequence... sequences) {
+      this.sequences = Arrays.stream(sequences).map(String::valueOf).filter(s -> !s.isEmpty()).toArray(String[]::new);
+      this.failures = Arrays.stream(this.sequences).map(Expectation::failure).toArray(int[][]::new);
+      this.future = new CompletableFuture<>();
+      if (this.sequences.length == 0) {
+        future.complete(null);
+      }
+    }
+
+    private void accept(char c) {
+      if (future.isDone()) {
+        return;
+      }
+      final String sequence = sequences[index];
+      while (matched > 0 && sequence.charAt(matched) != c) {
+        matched = failures[index][matched - 1];
+      }
+      if (sequence.charAt(matched) == c) {
+        matched++;
+      }
+      if (matched == sequence.length()) {
+        index++;
+        matched = 0;
+        if (index == sequences.length) {
+          future.complete(null);
+        }
+      }
+    }
+
+    private void resetPartialMatch() {
+      matched = 0;
+    }
+
+    private static int[] failure(String sequence) {
+      final int[] failure = new int[sequence.length()];
+      int k = 0;
+      for (int i = 1; i < sequence.length(); i++) {
+        while (k > 0 && sequence.charAt(i) != sequence.charAt(k)) {
+          k = failure[k - 1];
+        }
+        if (sequence.charAt(i) == sequence.charAt(k)) {
+          k++;
+        }
+        failure[i] = k;
+      }
+      return failure;
+    }
+  }
+}
@@ -18,6 +18,7 @@ import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.api.model.RouteBuilder;
 import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.timing.StartupTimings;
 import org.hamcrest.Matcher;
 
 import java.net.InetAddress;
@@ -25,8 +26,11 @@ import java.net.UnknownHostException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.eclipse.jkube.integrationtests.assertions.LabelAssertion.assertLabels;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -40,6 +44,9 @@ import static org.hamcrest.Matchers.nullValue;
 public class ServiceAssertion extends KubernetesClientAssertion<Service> {
 
   private static final String OC_ROUTE_ANNOTATION_TIMEOUT = "haproxy.router.openshift.io/timeout";
+  private String responseUrl;
+  private Matcher<? super String> responseBodyMatcher;
+
   private ServiceAssertion(JKubeCase jKubeCase, Service service) {
     super(jKubeCase, service);
   }
@@ -48,10 +55,21 @@ public class ServiceAssertion extends KubernetesClientAssertion<Service> {
     return jKubeCase -> new ServiceAssertion(jKubeCase, service);
   }
 
-  public static void assertServiceExists(JKubeCase jKubeCase, Matcher<Boolean> existsMatcher) {
-    final boolean servicesExists = jKubeCase.getKubernetesClient().services().list().getItems().stream()
-      .anyMatch(s -> s.getMetadata().getName().startsWith(jKubeCase.getApplication()));
-    assertThat(servicesExists, existsMatcher);
+  public static void assertServiceExists(JKubeCase jKubeCase, Matcher<Boolean> existsMatcher) throws InterruptedException {
+    // The shared index is eventually consistent, give it a chance to catch up with recent (un)deployments
+    final Predicate<Service> isApplication = r -> r.getMetadata().getName().startsWith(jKubeCase.getApplication());
+    final var expected = ClusterResourceIndex.of(jKubeCase.getKubernetesClient())
+      .awaitServices(isApplication, matching -> existsMatcher.matches(!matching.isEmpty()));
+    try {
+      expected.get(INDEX_CONSISTENCY_SECONDS, TimeUnit.SECONDS);
+    } catch (ExecutionException | TimeoutException ignore) {
+      // NO OP, asserted below
+    } finally {
+      expected.cancel(true);
+    }
+    final boolean serviceExists = !ClusterResourceIndex.of(jKubeCase.getKubernetesClient())
+      .services(isApplication).isEmpty();
+    assertThat(serviceExists, existsMatcher);
   }
 
   public static ServiceAssertion awaitService(JKubeCase jKubeCase, String namespace) {
@@ -105,15 +123,40 @@ public class ServiceAssertion extends KubernetesClientAssertion<Service> {
     } else {
       host = String.format("%s:%s", clusterHost, port.getNodePort());
     }
-    final var response = getWithRetry(String.format("http://%s/%s", host, String.join("/", path)))
+    responseUrl = String.format("http://%s/%s", host, String.join("/", path));
+    this.responseBodyMatcher = responseBodyMatcher;
+    final var response = getWithRetry(responseUrl)
       .get(KubernetesClientAssertion.DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
     assertThat(response.body(), notNullValue());
-    // replacing character `–` with `-` to avoid issue described in
-    // https://github.com/eclipse-jkube/jkube-integration-tests/issues/183
-    assertThat(response.body().replace("–", "-"), responseBodyMatcher);
+    assertThat(normalizeBody(response.body()), responseBodyMatcher);
+    return this;
+  }
+
+  /**
+   * Restarts the application Pods to sample their startup times (see {@link StartupTimings}), only the first time
+   * it's called for each application and if enabled.
+   *
+   * <p> A restart is complete once the Service response matches the last asserted node port response. The Pods
+   * retrieved before are deleted, the replacement Pods must be retrieved again (e.g. with
+   * {@link PodAssertion#awaitPod(JKubeCase)}).
+   */
+  public ServiceAssertion recordStartupTimes() throws Exception {
+    if (responseUrl == null) {
+      throw new IllegalStateException("A node port response must be asserted before recording the startup times");
+    }
+    final Matcher<? super String> matcher = responseBodyMatcher;
+    new StartupSampler(getJKubeCase(), getKubernetesResource().getMetadata().getNamespace(), responseUrl,
+      response -> response.isSuccessful() && response.body() != null && matcher.matches(normalizeBody(response.body())))
+      .sample(StartupTimings.restarts());
     return this;
   }
 
+  // replacing character `–` with `-` to avoid issue described in
+  // https://github.com/eclipse-jkube/jkube-integration-tests/issues/183
+  private static String normalizeBody(String body) {
+    return body.replace("–", "-");
+  }
+
   private String openShiftRouteHost() {
     openShiftRouteIncreaseTimeout();
     final Route route = getOpenShiftClient().routes()
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.assertions;
+
+import io.fabric8.kubernetes.api.model.ContainerState;
+import io.fabric8.kubernetes.api.model.ContainerStateRunning;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.readiness.Readiness;
+import org.eclipse.jkube.integrationtests.AsyncUtil.AwaitPolicy;
+import org.eclipse.jkube.integrationtests.JKubeCase;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings;
+import org.eclipse.jkube.integrationtests.timing.StartupTimings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.await;
+import static org.eclipse.jkube.integrationtests.assertions.KubernetesClientAssertion.DEFAULT_AWAIT_TIME_SECONDS;
+
+/**
+ * Deletes the Pods of an application so that they're recreated by their controller, and records the
+ * {@link StartupTimings} of the replacement Pod.
+ *
+ * <p> The first response is probed once the replacement container is running, so that a response from the deleted
+ * (terminating) Pod isn't taken into account.
+ */
+final class StartupSampler {
+
+  private static final Logger log = LoggerFactory.getLogger(StartupSampler.class);
+  private static final long PROBE_PERIOD_MILLIS = 100L;
+  private static final Set<String> SAMPLED_APPLICATIONS = ConcurrentHashMap.newKeySet();
+
+  private final JKubeCase jKubeCase;
+  private final String namespace;
+  private final String url;
+  private final Predicate<HttpResponse<String>> successful;
+
+  StartupSampler(JKubeCase jKubeCase, String namespace, String url, Predicate<HttpResponse<String>> successful) {
+    this.jKubeCase = jKubeCase;
+    this.namespace = namespace;
+    this.url = url;
+    this.successful = successful;
+  }
+
+  /**
+   * Restarts the application the provided number of times, only the first time it's called for the application.
+   */
+  void sample(int restarts) throws InterruptedException {
+    final String key = String.format("%s#%s#%s",
+      getKubernetesClient().getMasterUrl(), namespace, jKubeCase.getApplication());
+    if (restarts <= 0 || !SAMPLED_APPLICATIONS.add(key)) {
+      return;
+    }
+    final String test = PhaseTimings.currentTest();
+    for (int it = 0; it < restarts; it++) {
+      final List<Pod> current = getKubernetesClient().pods().inNamespace(namespace)
+        .withLabel("app", jKubeCase.getApplication()).list().getItems();
+      if (current.isEmpty() || current.stream().anyMatch(p -> p.getMetadata().getOwnerReferences().isEmpty())) {
+        // Unmanaged Pods wouldn't be recreated
+        log.warn("Startup times of {} can't be sampled, its Pods aren't managed by a controller",
+          jKubeCase.getApplication());
+        return;
+      }
+      StartupTimings.record(restart(test, current.stream()
+        .map(p -> p.getMetadata().getUid()).collect(Collectors.toSet())));
+    }
+  }
+
+  private StartupTimings.Sample restart(String test, Collection<String> previous) throws InterruptedException {
+    final ClusterResourceIndex index = ClusterResourceIndex.of(getKubernetesClient());
+    final Predicate<Pod> isReplacement = p -> Objects.equals(p.getMetadata().getNamespace(), namespace)
+      && Optional.ofNullable(p.getMetadata().getLabels()).map(l -> l.get("app"))
+        .filter(jKubeCase.getApplication()::equals).isPresent()
+      && !previous.contains(p.getMetadata().getUid())
+      && p.getMetadata().getDeletionTimestamp() == null;
+    final Instant restart = Instant.now();
+    getKubernetesClient().pods().inNamespace(namespace).withLabel("app", jKubeCase.getApplication())
+      .withGracePeriod(0L).delete();
+    try {
+      index.awaitPods(isReplacement, pods -> pods.stream().anyMatch(StartupSampler::isRunning))
+        .get(DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
+      final Instant firstResponse = await(this::probe,
+        AwaitPolicy.fixed(PROBE_PERIOD_MILLIS).withTimeout(Duration.ofSeconds(DEFAULT_AWAIT_TIME_SECONDS)))
+        .apply(Objects::nonNull)
+        .get();
+      final List<Pod> replacements = index.awaitPods(isReplacement,
+          pods -> pods.stream().anyMatch(Readiness::isPodReady))
+        .get(DEFAULT_AWAIT_TIME_SECONDS, TimeUnit.SECONDS);
+      replacements.forEach(PodAssertion::skipLifecycle);
+      final Pod pod = replacements.stream().filter(Readiness::isPodReady).findFirst().orElseThrow();
+      return new StartupTimings.Sample(jKubeCase.getApplication(), test, pod.getMetadata().getName(), restart,
+        Instant.parse(pod.getMetadata().getCreationTimestamp()), containerStarted(pod), ready(pod), firstResponse);
+    } catch (ExecutionException | TimeoutException ex) {
+      throw new AssertionError(String.format("Application '%s' didn't respond successfully at %s after restart",
+        jKubeCase.getApplication(), url), ex);
+    }
+  }
+
+  private Instant probe() {
+    try {
+      final HttpResponse<String> response = jKubeCase.httpGet(url);
+      return successful.test(response) ? Instant.now() : null;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (Exception ex) {
+      // NO OP, the application is not available yet
+    }
+    return null;
+  }
+
+  private KubernetesClient getKubernetesClient() {
+    return jKubeCase.getKubernetesClient();
+  }
+
+  private static boolean isRunning(Pod pod) {
+    return pod.getStatus() != null && !pod.getStatus().getContainerStatuses().isEmpty()
+      && pod.getStatus().getContainerStatuses().stream().allMatch(cs -> runningState(cs).isPresent());
+  }
+
+  private static Optional<ContainerStateRunning> runningState(ContainerStatus containerStatus) {
+    return Optional.ofNullable(containerStatus.getState()).map(ContainerState::getRunning);
+  }
+
+  // The Pod is only started once its last container is
+  private static Instant containerStarted(Pod pod) {
+    return pod.getStatus().getContainerStatuses().stream()
+      .map(StartupSampler::runningState)
+      .flatMap(Optional::stream)
+      .map(ContainerStateRunning::getStartedAt)
+      .filter(Objects::nonNull)
+      .map(Instant::parse)
+      .max(Instant::compareTo)
+      .orElseThrow(() -> new AssertionError("Pod " + pod.getMetadata().getName() + " has no running containers"));
+  }
+
+  private static Instant ready(Pod pod) {
+    return pod.getStatus().getConditions().stream()
+      .filter(c -> Objects.equals(c.getType(), "Ready") && "True".equals(c.getStatus()))
+      .map(PodCondition::getLastTransitionTime)
+      .filter(Objects::nonNull)
+      .map(Instant::parse)
+      .findFirst()
+      .orElseThrow(() -> new AssertionError("Pod " + pod.getMetadata().getName() + " has no Ready condition"));
+  }
+}
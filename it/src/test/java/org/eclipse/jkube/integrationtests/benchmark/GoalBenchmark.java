@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.eclipse.jkube.integrationtests.gradle.GradleDistributionResolver;
+import org.eclipse.jkube.integrationtests.gradle.GradleInvoker;
+import org.eclipse.jkube.integrationtests.gradle.JKubeGradleRunner;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.eclipse.jkube.integrationtests.JKubeCase.GRADLE_VERSION_SYSTEM_PROPERTY;
+import static org.eclipse.jkube.integrationtests.JKubeCase.JKUBE_VERSION_SYSTEM_PROPERTY;
+import static org.eclipse.jkube.integrationtests.timing.PhaseTimingReport.percentile;
+
+/**
+ * Benchmarks the JKube goals of the projects in {@code projects-to-be-tested} (run with the {@code benchmark}
+ * profile, e.g. {@code mvn verify -Pbenchmark}).
+ *
+ * <p> Each goal ({@value #BENCHMARK_GOALS_SYSTEM_PROPERTY}) is run against each Maven project and Gradle subproject
+ * (filtered with the {@value #BENCHMARK_PROJECTS_SYSTEM_PROPERTY} regular expression and the
+ * {@value #BENCHMARK_TOOLS_SYSTEM_PROPERTY}) {@value #BENCHMARK_WARMUPS_SYSTEM_PROPERTY} times to warm up, and then
+ * {@value #BENCHMARK_ITERATIONS_SYSTEM_PROPERTY} measured times. The p50, p95 and max wall time, the p50 and p95 CPU
+ * time of the forked processes, and the output size are written to {@value #JSON_REPORT} and {@value #CSV_REPORT}.
+ * The benchmark runs isolated from any other test so that the numbers are repeatable.
+ */
+@Isolated
+class GoalBenchmark {
+
+  static final String BENCHMARK_GOALS_SYSTEM_PROPERTY = "benchmarkGoals";
+  static final String BENCHMARK_PROJECTS_SYSTEM_PROPERTY = "benchmarkProjects";
+  static final String BENCHMARK_TOOLS_SYSTEM_PROPERTY = "benchmarkTools";
+  static final String BENCHMARK_WARMUPS_SYSTEM_PROPERTY = "benchmarkWarmups";
+  static final String BENCHMARK_ITERATIONS_SYSTEM_PROPERTY = "benchmarkIterations";
+  static final String JSON_REPORT = "jkube-goal-benchmark.json";
+  static final String CSV_REPORT = "jkube-goal-benchmark.csv";
+  private static final String DEFAULT_GOALS = "k8s:resource,k8s:build,k8s:helm,oc:resource";
+  // Windows images can't be built in Linux hosts, and native images must be compiled beforehand
+  private static final String DEFAULT_PROJECTS = "^(?!.*/(windows|native)$).*";
+  private static final Logger log = LoggerFactory.getLogger(GoalBenchmark.class);
+  private static final List<Map<String, Object>> RESULTS = Collections.synchronizedList(new ArrayList<>());
+
+  @TestFactory
+  Stream<DynamicTest> benchmark() throws IOException, InterruptedException {
+    final List<String> goals = list(System.getProperty(BENCHMARK_GOALS_SYSTEM_PROPERTY, DEFAULT_GOALS));
+    final List<String> tools = list(System.getProperty(BENCHMARK_TOOLS_SYSTEM_PROPERTY, "maven,gradle"));
+    final Pattern projects = Pattern.compile(System.getProperty(BENCHMARK_PROJECTS_SYSTEM_PROPERTY, DEFAULT_PROJECTS));
+    final Path root = Path.of("..").toAbsolutePath().normalize();
+    final List<GoalRunner> runners = new ArrayList<>();
+    if (tools.contains("maven")) {
+      runners.addAll(mavenRunners(root));
+    }
+    if (tools.contains("gradle")) {
+      runners.addAll(gradleRunners(root));
+    }
+    return runners.stream()
+      .filter(r -> projects.matcher(r.getProject()).find())
+      .flatMap(r -> goals.stream().filter(r::supports).map(goal -> DynamicTest.dynamicTest(
+        String.format("%s %s (%s)", r.getProject(), goal, r.getTool()), () -> benchmark(r, goal))));
+  }
+
+  @AfterAll
+  static void writeReport() throws IOException {
+    final Map<String, Object> report = new LinkedHashMap<>();
+    report.put("jkubeVersion", System.getProperty(JKUBE_VERSION_SYSTEM_PROPERTY));
+    report.put("results", RESULTS);
+    final File target = new File("target");
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(target, JSON_REPORT), report);
+    final StringBuilder csv = new StringBuilder();
+    if (!RESULTS.isEmpty()) {
+      csv.append(String.join(",", RESULTS.get(0).keySet())).append('\n');
+    }
+    RESULTS.forEach(r -> csv.append(r.values().stream().map(String::valueOf).collect(Collectors.joining(",")))
+      .append('\n'));
+    Files.write(new File(target, CSV_REPORT).toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void benchmark(GoalRunner runner, String goal) throws Exception {
+    final int warmups = Integer.getInteger(BENCHMARK_WARMUPS_SYSTEM_PROPERTY, 1);
+    final int iterations = Math.max(1, Integer.getInteger(BENCHMARK_ITERATIONS_SYSTEM_PROPERTY, 5));
+    runner.prepare(goal);
+    for (int i = 0; i < warmups; i++) {
+      runner.run(goal);
+    }
+    final List<GoalRunner.Sample> samples = new ArrayList<>();
+    for (int i = 0; i < iterations; i++) {
+      samples.add(runner.run(goal));
+    }
+    final long[] wall = sorted(samples, s -> s.wallTime.toMillis());
+    final long[] cpu = sorted(samples, s -> s.cpuTime.toMillis());
+    final long[] output = sorted(samples, s -> s.outputBytes);
+    final Map<String, Object> result = new LinkedHashMap<>();
+    result.put("tool", runner.getTool());
+    result.put("project", runner.getProject());
+    result.put("goal", goal);
+    result.put("warmups", warmups);
+    result.put("iterations", iterations);
+    result.put("wallP50Millis", percentile(wall, 50));
+    result.put("wallP95Millis", percentile(wall, 95));
+    result.put("wallMaxMillis", wall[wall.length - 1]);
+    result.put("cpuP50Millis", percentile(cpu, 50));
+    result.put("cpuP95Millis", percentile(cpu, 95));
+    result.put("outputP50Bytes", percentile(output, 50));
+    RESULTS.add(result);
+    log.info("Benchmark {}", result);
+  }
+
+  private static List<GoalRunner> mavenRunners(Path root) throws IOException {
+    final List<GoalRunner> runners = new ArrayList<>();
+    try (Stream<Path> poms = Files.walk(root.resolve("projects-to-be-tested").resolve("maven"))) {
+      for (Path pom : poms.filter(p -> p.getFileName().toString().equals("pom.xml"))
+        .filter(p -> !p.toString().contains(File.separator + "target" + File.separator))
+        .sorted()
+        .collect(Collectors.toList())) {
+        runners.add(new MavenGoalRunner(root, relative(root, pom.getParent())));
+      }
+    }
+    return runners;
+  }
+
+  private static List<GoalRunner> gradleRunners(Path root) throws IOException, InterruptedException {
+    final Path projectPath = root.resolve("projects-to-be-tested").resolve("gradle");
+    final GradleInvoker gradleInvoker = GradleInvoker.create(projectPath,
+      GradleDistributionResolver.resolve(System.getProperty(GRADLE_VERSION_SYSTEM_PROPERTY)), false);
+    final List<GoalRunner> runners = new ArrayList<>();
+    try (Stream<Path> subprojects = Files.list(projectPath)) {
+      for (Path subproject : subprojects.filter(p -> Files.isRegularFile(p.resolve("build.gradle")))
+        .sorted()
+        .collect(Collectors.toList())) {
+        final String module = subproject.getFileName().toString();
+        runners.add(new GradleGoalRunner(relative(root, subproject),
+          new JKubeGradleRunner(gradleInvoker, module, projectPath)));
+      }
+    }
+    return runners;
+  }
+
+  private static String relative(Path root, Path project) {
+    return root.relativize(project).toString().replace(File.separatorChar, '/');
+  }
+
+  private static long[] sorted(List<GoalRunner.Sample> samples, Function<GoalRunner.Sample, Long> value) {
+    return samples.stream().map(value).mapToLong(Long::longValue).sorted().toArray();
+  }
+
+  private static List<String> list(String commaSeparated) {
+    return Arrays.stream(commaSeparated.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+      .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs the JKube goals of a project for the {@link GoalBenchmark}.
+ */
+interface GoalRunner {
+
+  /**
+   * @return the build tool (maven or gradle).
+   */
+  String getTool();
+
+  /**
+   * @return the project path (relative to the repository root).
+   */
+  String getProject();
+
+  /**
+   * @param goal the Maven goal (e.g. {@code k8s:resource}), Gradle runners map it to the task name.
+   */
+  boolean supports(String goal);
+
+  /**
+   * Runs the (not measured) goals required before the provided goal can be benchmarked.
+   */
+  void prepare(String goal) throws Exception;
+
+  Sample run(String goal) throws Exception;
+
+  /**
+   * @return the goals that must be run before the provided goal (e.g. package before an image build).
+   */
+  static List<String> prerequisites(String goal) {
+    final String[] prefixAndGoal = goal.split(":", 2);
+    switch (prefixAndGoal[1]) {
+      case "build":
+        return List.of("package");
+      case "helm":
+        return List.of(prefixAndGoal[0] + ":resource");
+      default:
+        return List.of();
+    }
+  }
+
+  final class Sample {
+
+    final Duration wallTime;
+    final Duration cpuTime;
+    final long outputBytes;
+
+    Sample(Duration wallTime, Duration cpuTime, long outputBytes) {
+      this.wallTime = wallTime;
+      this.cpuTime = cpuTime;
+      this.outputBytes = outputBytes;
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.benchmark;
+
+import org.eclipse.jkube.integrationtests.gradle.JKubeGradleRunner;
+import org.gradle.testkit.runner.BuildResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Runs the tasks (mapped from the Maven goals, e.g. {@code k8s:resource} to {@code k8sResource}) of a Gradle
+ * subproject.
+ */
+final class GradleGoalRunner implements GoalRunner {
+
+  private final String project;
+  private final JKubeGradleRunner gradle;
+
+  GradleGoalRunner(String project, JKubeGradleRunner gradle) {
+    this.project = project;
+    this.gradle = gradle;
+  }
+
+  @Override
+  public String getTool() {
+    return "gradle";
+  }
+
+  @Override
+  public String getProject() {
+    return project;
+  }
+
+  @Override
+  public boolean supports(String goal) {
+    // Every subproject applies both the Kubernetes and OpenShift plugins
+    return goal.startsWith("k8s:") || goal.startsWith("oc:");
+  }
+
+  @Override
+  public void prepare(String goal) {
+    // The subprojects are always built (as done by the GradleExtension bootstrap)
+    gradle.tasks(false, true, "build").build();
+    GoalRunner.prerequisites(goal).stream()
+      .filter(prerequisite -> !prerequisite.equals("package"))
+      .forEach(prerequisite -> gradle.tasks(task(prerequisite)).build());
+  }
+
+  @Override
+  public Sample run(String goal) {
+    final ProcessCpuSampler cpu = ProcessCpuSampler.start();
+    final long start = System.nanoTime();
+    final BuildResult result;
+    final Duration wallTime;
+    final Duration cpuTime;
+    try {
+      result = gradle.tasks(task(goal)).build();
+      wallTime = Duration.ofNanos(System.nanoTime() - start);
+    } finally {
+      cpuTime = cpu.stop();
+    }
+    return new Sample(wallTime, cpuTime, result.getOutput().getBytes(StandardCharsets.UTF_8).length);
+  }
+
+  static String task(String goal) {
+    final String[] prefixAndGoal = goal.split(":", 2);
+    if (prefixAndGoal.length == 1) {
+      return goal;
+    }
+    return prefixAndGoal[0] + Character.toUpperCase(prefixAndGoal[1].charAt(0)) + prefixAndGoal[1].substring(1);
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.benchmark;
+
+import org.eclipse.jkube.integrationtests.maven.MavenCase;
+import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
+
+/**
+ * Runs the goals of a Maven project, the goals are always invoked (the {@link MavenCase#maven(String)} output cache
+ * and goal coalescing are bypassed).
+ */
+final class MavenGoalRunner implements GoalRunner, MavenCase {
+
+  private final String project;
+  private final String pom;
+
+  MavenGoalRunner(Path root, String project) throws IOException {
+    this.project = project;
+    this.pom = Files.readString(root.resolve(project).resolve("pom.xml"), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String getTool() {
+    return "maven";
+  }
+
+  @Override
+  public String getProject() {
+    return project;
+  }
+
+  @Override
+  public boolean supports(String goal) {
+    if (goal.startsWith("k8s:")) {
+      return pom.contains("<artifactId>kubernetes-maven-plugin</artifactId>");
+    }
+    return goal.startsWith("oc:") && pom.contains("<artifactId>openshift-maven-plugin</artifactId>");
+  }
+
+  @Override
+  public void prepare(String goal) throws Exception {
+    for (String prerequisite : GoalRunner.prerequisites(goal)) {
+      assertInvocation(invoke(prerequisite));
+    }
+  }
+
+  @Override
+  public Sample run(String goal) throws Exception {
+    final ProcessCpuSampler cpu = ProcessCpuSampler.start();
+    final long start = System.nanoTime();
+    final MavenInvocationResult result;
+    final Duration wallTime;
+    final Duration cpuTime;
+    try {
+      result = invoke(goal);
+      wallTime = Duration.ofNanos(System.nanoTime() - start);
+    } finally {
+      cpuTime = cpu.stop();
+    }
+    assertInvocation(result);
+    return new Sample(wallTime, cpuTime, result.getOutput().size());
+  }
+
+  private MavenInvocationResult invoke(String goal) throws Exception {
+    return mavenAsync(goal, properties("skipTests", "true"), null, null).get();
+  }
+}
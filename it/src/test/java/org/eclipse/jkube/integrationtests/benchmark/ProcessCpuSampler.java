@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.benchmark;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.eclipse.jkube.integrationtests.AsyncUtil.executorService;
+
+/**
+ * Samples the CPU time of the processes started by this JVM (e.g. forked Maven JVMs, Gradle daemons, Docker CLI)
+ * while a benchmarked operation runs.
+ *
+ * <p> The CPU time of a process is only available while it's alive, so the result is approximate: the CPU time
+ * consumed after the last sample ({@value #SAMPLE_PERIOD_MILLIS} ms period) of a process is lost. Long-lived
+ * processes (e.g. Gradle daemons) only account for the CPU time consumed since the sampler was started.
+ */
+final class ProcessCpuSampler {
+
+  private static final long SAMPLE_PERIOD_MILLIS = 50L;
+
+  private final Map<Long, Duration> baseline;
+  private final Map<Long, Duration> latest;
+  private final CompletableFuture<Void> sampling;
+  private volatile boolean stopped;
+
+  private ProcessCpuSampler() {
+    baseline = sample();
+    latest = new HashMap<>(baseline);
+    sampling = CompletableFuture.runAsync(this::run, executorService());
+  }
+
+  static ProcessCpuSampler start() {
+    return new ProcessCpuSampler();
+  }
+
+  /**
+   * @return the CPU time consumed by the descendant processes since the sampler was started.
+   */
+  Duration stop() {
+    stopped = true;
+    sampling.join();
+    synchronized (latest) {
+      latest.putAll(sample());
+      return latest.entrySet().stream()
+        .map(e -> e.getValue().minus(baseline.getOrDefault(e.getKey(), Duration.ZERO)))
+        .filter(d -> !d.isNegative())
+        .reduce(Duration.ZERO, Duration::plus);
+    }
+  }
+
+  private void run() {
+    while (!stopped) {
+      final Map<Long, Duration> current = sample();
+      synchronized (latest) {
+        latest.putAll(current);
+      }
+      try {
+        Thread.sleep(SAMPLE_PERIOD_MILLIS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private static Map<Long, Duration> sample() {
+    final Map<Long, Duration> sample = new HashMap<>();
+    ProcessHandle.current().descendants().forEach(p ->
+      p.info().totalCpuDuration().ifPresent(cpu -> sample.put(p.pid(), cpu)));
+    return sample;
+  }
+}
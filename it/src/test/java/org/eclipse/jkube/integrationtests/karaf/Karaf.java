@@ -57,11 +57,12 @@ abstract class Karaf implements MavenCase, JKubeCase {
 
   final Pod assertThatShouldApplyResources() throws Exception {
     final Pod pod = awaitPod(this).getKubernetesResource();
-    assertPod(pod).apply(this)
-      .logContains("Hello from Camel!", LOG_TIMEOUT)
-      .logContains("Generating order order1.xml", LOG_TIMEOUT)
-      .logContains("Processing order order1.xml", LOG_TIMEOUT)
-      .logContains("Generating order order2.xml", LOG_TIMEOUT);
+    // LOG_TIMEOUT per expected line
+    assertPod(pod).apply(this).logContainsAll(LOG_TIMEOUT * 4,
+      "Hello from Camel!",
+      "Generating order order1.xml",
+      "Processing order order1.xml",
+      "Generating order order2.xml");
     awaitService(this, pod.getMetadata().getNamespace())
       .assertIsClusterIp()
       .assertPorts(hasSize(1))
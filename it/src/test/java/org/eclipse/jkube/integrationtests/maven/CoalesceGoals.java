@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.maven;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Opt-in coalescing of consecutive Maven goals for a {@link MavenCase} test class.
+ *
+ * <p> When one of the listed goals is invoked (with {@link MavenCase#maven(String, java.util.Properties)}), it's
+ * executed in a single Maven invocation together with the goals listed after it. The output is sliced per mojo
+ * execution, and the subsequent {@code maven(goal)} calls for the same properties return the result of the
+ * already executed goal instead of running Maven again.
+ *
+ * <p> The goals must be invoked in the listed order by consecutive tests (distinct {@code @Order} values), a goal
+ * invoked out of that order is executed on its own (and the results of the goals run ahead of it are discarded).
+ * Goals whose outputs will be restored from the Maven output cache aren't coalesced, and the results that weren't
+ * retrieved are discarded once the test class completes.
+ *
+ * <p> Only goals that don't affect the cluster (build, resource, helm) can be coalesced. Since the goals are
+ * executed by the first test, any resource lock required by the subsequent tests must be held by it too.
+ */
+@Target({ElementType.TYPE})
+@Retention(RUNTIME)
+@Inherited
+@ExtendWith({CoalesceGoalsExtension.class})
+public @interface CoalesceGoals {
+  String[] value();
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.maven;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Discards the {@link CoalesceGoals} batches of the test class once its tests completed (the results of coalesced goals
+ * that were never invoked hold output buffers, possibly spilled to disk).
+ */
+public class CoalesceGoalsExtension implements AfterAllCallback {
+
+  @Override
+  public void afterAll(ExtensionContext context) {
+    MavenGoalCoalescer.discard(context.getRequiredTestClass());
+  }
+}
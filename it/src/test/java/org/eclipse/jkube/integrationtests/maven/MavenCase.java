@@ -18,13 +18,18 @@ import org.apache.maven.shared.invoker.InvocationResult;
 import org.apache.maven.shared.invoker.MavenInvocationException;
 import org.apache.maven.shared.invoker.PrintStreamHandler;
 import org.eclipse.jkube.integrationtests.Project;
+import org.eclipse.jkube.integrationtests.docker.DockerUtils;
+import org.eclipse.jkube.integrationtests.host.HostAdmission;
+import org.eclipse.jkube.integrationtests.timing.Phase;
+import org.eclipse.jkube.integrationtests.timing.PhaseTimings;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -43,6 +48,13 @@ public interface MavenCase extends Project {
     return new ArrayList<>();
   }
 
+  /**
+   * @return the expected host footprint of the provided goal(s), used to admit the Maven invocation.
+   */
+  default HostAdmission.Footprint getFootprint(String goal) {
+    return HostAdmission.Footprint.MAVEN_FORK;
+  }
+
   default Properties properties(Map<String, String> propertyMap) {
     final Properties ret = new Properties();
     ret.putAll(propertyMap);
@@ -89,9 +101,20 @@ public interface MavenCase extends Project {
 
   default MavenInvocationResult maven(
     String goal, Properties properties, OutputStream out, MavenUtils.InvocationRequestCustomizer chainedCustomizer)
+    throws IOException, InterruptedException, MavenInvocationException {
+    if (out == null && chainedCustomizer == null) {
+      return MavenOutputCache.invoke(this, goal, properties, () -> {
+        final Optional<MavenInvocationResult> coalesced = MavenGoalCoalescer.coalesce(this, goal, properties);
+        return coalesced.isPresent() ? coalesced.get() : await(mavenAsync(goal, properties, null, null));
+      });
+    }
+    return await(mavenAsync(goal, properties, out, chainedCustomizer));
+  }
+
+  private MavenInvocationResult await(CompletableFuture<MavenInvocationResult> invocation)
     throws IOException, InterruptedException, MavenInvocationException {
     try {
-      return mavenAsync(goal, properties, out, chainedCustomizer).get();
+      return invocation.get();
     } catch (ExecutionException e) {
       if (e.getCause() instanceof MavenInvocationException) {
         throw (MavenInvocationException) e.getCause();
@@ -105,29 +128,45 @@ public interface MavenCase extends Project {
   default CompletableFuture<MavenInvocationResult> mavenAsync(
     String goal, Properties properties, OutputStream out, MavenUtils.InvocationRequestCustomizer chainedCustomizer) {
     final CompletableFuture<MavenInvocationResult> future = new CompletableFuture<>();
+    final String test = PhaseTimings.currentTest();
     final var asyncRun = CompletableFuture.runAsync(() -> {
+      // The output buffer is owned by the result (closed once the result is discarded), not by the print stream
+      final var output = new MavenOutputBuffer();
       try (
-        final var baos = new ByteArrayOutputStream();
-        final var tee = new TeeOutputStream(baos, out == null ? OutputStream.nullOutputStream() : out);
+        final var tee = new TeeOutputStream(unclosable(output), out == null ? OutputStream.nullOutputStream() : out);
         final var printStream = new PrintStream(tee, true)
       ) {
         final MavenUtils.InvocationRequestCustomizer recordStdOutCustomizer = invocationRequest ->
           invocationRequest.setOutputHandler(new PrintStreamHandler(printStream, true));
-        final InvocationResult mavenResult = MavenUtils.execute(i -> {
-          i.setBaseDirectory(new File("../"));
-          i.setProjects(Collections.singletonList(getProject()));
-          i.setGoals(Collections.singletonList(goal));
-          i.setProfiles(getProfiles());
-          i.setProperties(properties);
-          recordStdOutCustomizer.customize(i);
-          Optional.ofNullable(chainedCustomizer).ifPresent(cc -> cc.customize(i));
-        });
+        final InvocationResult mavenResult;
+        // Long-running goals are idle most of the time, admitting them could block the goals the test runs meanwhile
+        try (HostAdmission.Permit ignore = MavenUtils.isLongRunningGoal(goal) ?
+          () -> { } : HostAdmission.acquire(getFootprint(goal))) {
+          final Instant start = Instant.now();
+          mavenResult = MavenUtils.execute(i -> {
+            i.setBaseDirectory(new File("../"));
+            i.setProjects(Collections.singletonList(getProject()));
+            i.setGoals(Collections.singletonList(goal));
+            i.setProfiles(getProfiles());
+            i.setProperties(properties);
+            recordStdOutCustomizer.customize(i);
+            Optional.ofNullable(chainedCustomizer).ifPresent(cc -> cc.customize(i));
+          });
+          if (!MavenUtils.isLongRunningGoal(goal)) {
+            PhaseTimings.record(test, Phase.ofMavenGoal(goal), goal, start, Duration.between(start, Instant.now()));
+          }
+        }
+        if (MavenUtils.isImageBuildGoal(goal)) {
+          DockerUtils.invalidateImageCache();
+        }
         printStream.flush();
-        baos.flush();
-        future.complete(new MavenInvocationResult(mavenResult, baos.toString(StandardCharsets.UTF_8)));
+        output.flush();
+        future.complete(new MavenInvocationResult(mavenResult, output));
       } catch (IOException | MavenInvocationException ex) {
+        output.close();
         future.completeExceptionally(ex);
       } catch (InterruptedException ex) {
+        output.close();
         Thread.currentThread().interrupt();
         future.completeExceptionally(ex);
       }
@@ -139,4 +178,18 @@ public interface MavenCase extends Project {
     });
     return future;
   }
+
+  private static OutputStream unclosable(OutputStream out) {
+    return new FilterOutputStream(out) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        flush();
+      }
+    };
+  }
 }
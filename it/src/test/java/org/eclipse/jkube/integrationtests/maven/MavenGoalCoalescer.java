@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.maven;
+
+import org.apache.maven.shared.invoker.MavenInvocationException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Executes the goals declared with {@link CoalesceGoals} in a single Maven invocation.
+ */
+final class MavenGoalCoalescer {
+
+  private static final Set<String> COALESCIBLE_GOALS = Set.of("build", "resource", "helm");
+  // e.g. [INFO] --- kubernetes:1.20-SNAPSHOT:build (default-cli) @ quarkus-rest ---
+  private static final Pattern MOJO_EXECUTION = Pattern.compile(
+    "^\\[INFO] --- (?:[^\\s:]+:){1,2}([^\\s:]+) \\([^)]+\\) @ \\S+ ---");
+  private static final Map<List<Object>, Batch> BATCHES = new ConcurrentHashMap<>();
+
+  private MavenGoalCoalescer() { }
+
+  /**
+   * @return the result of the provided goal if it's coalesced for the test class, empty otherwise.
+   */
+  static Optional<MavenInvocationResult> coalesce(MavenCase mavenCase, String goal, Properties properties)
+    throws IOException, InterruptedException, MavenInvocationException {
+
+    final CoalesceGoals coalesceGoals = mavenCase.getClass().getAnnotation(CoalesceGoals.class);
+    if (coalesceGoals == null || !Arrays.asList(coalesceGoals.value()).contains(goal)) {
+      return Optional.empty();
+    }
+    final List<String> goals = Arrays.asList(coalesceGoals.value());
+    goals.stream().filter(g -> !COALESCIBLE_GOALS.contains(goalName(g))).findFirst().ifPresent(g -> {
+      throw new IllegalArgumentException("Goal can't be coalesced: " + g + " (" + COALESCIBLE_GOALS + ")");
+    });
+    final Properties batchProperties = batchProperties(properties);
+    final Batch batch = BATCHES.computeIfAbsent(batchKey(mavenCase, batchProperties), k -> new Batch(goals));
+    return batch.get(mavenCase, goal, batchProperties);
+  }
+
+  /**
+   * @return true if the provided goal was already executed by a coalesced invocation and its result wasn't retrieved.
+   */
+  static boolean isPending(MavenCase mavenCase, String goal, Properties properties) {
+    final Batch batch = BATCHES.get(batchKey(mavenCase, batchProperties(properties)));
+    return batch != null && batch.isPending(goal);
+  }
+
+  /**
+   * Discards the batches of the provided test class, releasing the results that were never retrieved.
+   */
+  static void discard(Class<?> testClass) {
+    BATCHES.entrySet().removeIf(batch -> {
+      if (batch.getKey().get(0) != testClass) {
+        return false;
+      }
+      batch.getValue().discard();
+      return true;
+    });
+  }
+
+  private static Properties batchProperties(Properties properties) {
+    final Properties batchProperties = new Properties();
+    Optional.ofNullable(properties).ifPresent(batchProperties::putAll);
+    return batchProperties;
+  }
+
+  private static List<Object> batchKey(MavenCase mavenCase, Properties batchProperties) {
+    return List.of(mavenCase.getClass(), mavenCase.getProfiles(), batchProperties);
+  }
+
+  private static String goalName(String goal) {
+    return goal.substring(goal.lastIndexOf(':') + 1);
+  }
+
+  private static final class Batch {
+
+    private final List<String> goals;
+    private final Map<String, MavenInvocationResult> pending;
+    private int next;
+
+    private Batch(List<String> goals) {
+      this.goals = goals;
+      this.pending = new HashMap<>();
+    }
+
+    private synchronized Optional<MavenInvocationResult> get(
+      MavenCase mavenCase, String goal, Properties properties)
+      throws IOException, InterruptedException, MavenInvocationException {
+
+      final int index = goals.indexOf(goal);
+      final MavenInvocationResult executed = pending.remove(goal);
+      if (executed != null) {
+        next = index + 1;
+        return Optional.of(executed);
+      }
+      // Goals restored from the Maven output cache don't go through the coalescer
+      if (index < next || !allRestorable(mavenCase, goals.subList(next, index), properties)) {
+        // Out of the declared order (e.g. tests sharing an @Order, or a goal invoked again), the goal runs on its own
+        discard();
+        next = index + 1;
+        return Optional.empty();
+      }
+      // Run the requested goal and the ones after it up to the first one that will be restored from the Maven output
+      // cache (whose outputs would overwrite the ones of this invocation), results of goals that weren't executed
+      // aren't kept
+      int end = index + 1;
+      while (end < goals.size() && !MavenOutputCache.isRestorable(mavenCase, goals.get(end), properties)) {
+        end++;
+      }
+      next = index + 1;
+      final List<String> remaining = goals.subList(index, end);
+      if (remaining.size() == 1) {
+        return Optional.empty();
+      }
+      final MavenInvocationResult result = mavenCase.maven(String.join(" ", remaining), properties, null, null);
+      final List<MavenInvocationResult> slices = slice(remaining, result);
+      if (slices.isEmpty()) {
+        return Optional.of(result);
+      }
+      if (!slices.contains(result)) {
+        // Every goal got its own copy of the output
+        result.close();
+      }
+      for (int i = 1; i < slices.size(); i++) {
+        pending.put(remaining.get(i), slices.get(i));
+      }
+      return Optional.of(slices.get(0));
+    }
+
+    private synchronized boolean isPending(String goal) {
+      return pending.containsKey(goal);
+    }
+
+    private synchronized void discard() {
+      pending.values().forEach(MavenInvocationResult::close);
+      pending.clear();
+    }
+
+    private static boolean allRestorable(MavenCase mavenCase, List<String> goals, Properties properties)
+      throws IOException {
+
+      for (String goal : goals) {
+        if (!MavenOutputCache.isRestorable(mavenCase, goal, properties)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static List<MavenInvocationResult> slice(List<String> goals, MavenInvocationResult result)
+      throws IOException {
+
+      final MavenOutputBuffer output = result.getOutput();
+      final List<Integer> starts = new ArrayList<>();
+      for (int line : output.matchingLines(MOJO_EXECUTION)) {
+        final Matcher matcher = MOJO_EXECUTION.matcher(output.line(line));
+        if (starts.size() < goals.size() && matcher.find()
+          && matcher.group(1).equals(goalName(goals.get(starts.size())))) {
+          starts.add(line);
+        }
+      }
+      final List<MavenInvocationResult> slices = new ArrayList<>();
+      if (result.getExitCode() == 0 && starts.size() != goals.size()) {
+        // Unknown output format, every goal gets the complete result
+        goals.forEach(g -> slices.add(result));
+        return slices;
+      }
+      for (int i = 0; i < starts.size(); i++) {
+        final boolean last = i == starts.size() - 1;
+        final MavenOutputBuffer slice = new MavenOutputBuffer();
+        output.writeLinesTo(0, starts.get(0), slice);
+        output.writeLinesTo(starts.get(i), last ? output.lineCount() : starts.get(i + 1), slice);
+        slices.add(last ? new MavenInvocationResult(result, slice) : MavenInvocationResult.succeeded(slice));
+      }
+      return slices;
+    }
+  }
+}
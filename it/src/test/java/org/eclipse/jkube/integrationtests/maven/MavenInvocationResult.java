@@ -16,17 +16,59 @@ package org.eclipse.jkube.integrationtests.maven;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.apache.maven.shared.utils.cli.CommandLineException;
 
-public class MavenInvocationResult implements InvocationResult {
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Result of a Maven invocation, {@link #close()} releases its output buffer (i.e. once the result is discarded).
+ */
+public class MavenInvocationResult implements InvocationResult, Closeable {
   private final InvocationResult invocationResult;
-  private final String stdOut;
+  private final MavenOutputBuffer output;
+  private final Path restoredFrom;
 
   public MavenInvocationResult(InvocationResult invocationResult, String stdOut) {
+    this(invocationResult, MavenOutputBuffer.of(stdOut));
+  }
+
+  public MavenInvocationResult(InvocationResult invocationResult, MavenOutputBuffer output) {
+    this(invocationResult, output, null);
+  }
+
+  private MavenInvocationResult(InvocationResult invocationResult, MavenOutputBuffer output, Path restoredFrom) {
     this.invocationResult = invocationResult;
-    this.stdOut = stdOut;
+    this.output = output;
+    this.restoredFrom = restoredFrom;
+  }
+
+  static MavenInvocationResult succeeded(MavenOutputBuffer output) {
+    return new MavenInvocationResult(new SucceededInvocationResult(), output);
+  }
+
+  /**
+   * Result of a goal whose outputs were restored from the Maven output cache (Maven wasn't invoked, no output).
+   */
+  static MavenInvocationResult restored(Path cacheEntry) {
+    return new MavenInvocationResult(new SucceededInvocationResult(), new MavenOutputBuffer(), cacheEntry);
   }
 
+  /**
+   * Materializes the complete output, prefer {@link #getOutput()} to search large outputs.
+   */
   public String getStdOut() {
-    return stdOut;
+    return output.toString();
+  }
+
+  public MavenOutputBuffer getOutput() {
+    return output;
+  }
+
+  /**
+   * @return the Maven output cache entry the goal outputs were restored from, empty if Maven was invoked.
+   */
+  public Optional<Path> getRestoredFrom() {
+    return Optional.ofNullable(restoredFrom);
   }
 
   @Override
@@ -38,4 +80,22 @@ public class MavenInvocationResult implements InvocationResult {
   public CommandLineException getExecutionException() {
     return invocationResult.getExecutionException();
   }
+
+  @Override
+  public void close() {
+    output.close();
+  }
+
+  private static final class SucceededInvocationResult implements InvocationResult {
+
+    @Override
+    public int getExitCode() {
+      return 0;
+    }
+
+    @Override
+    public CommandLineException getExecutionException() {
+      return null;
+    }
+  }
 }
@@ -0,0 +1,364 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.maven;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Output buffer for Maven invocations that keeps at most {@value #MEMORY_WINDOW_BYTES} bytes in memory and spills
+ * the complete output to a temporary file once exceeded.
+ *
+ * <p> The start offset of each line is indexed as it's written, so that the tail (or any line) can be retrieved
+ * without reading the whole output. Searches stream the output instead of materializing it as a String.
+ *
+ * <p> {@link #close()} releases the buffer (the spill file is closed and deleted), the output can't be read afterward.
+ * Buffers that are never closed are released once they're no longer reachable.
+ */
+public final class MavenOutputBuffer extends OutputStream {
+
+  private static final int MEMORY_WINDOW_BYTES = 1024 * 1024;
+  private static final int READ_BUFFER_CHARS = 64 * 1024;
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  private byte[] memory;
+  private int memorySize;
+  private long[] lineStarts;
+  private int lineCount;
+  private boolean atLineStart;
+  private long size;
+  private Path spillFile;
+  private OutputStream spill;
+  private Cleaner.Cleanable spillCleanup;
+  private boolean closed;
+
+  public MavenOutputBuffer() {
+    memory = new byte[8192];
+    lineStarts = new long[1024];
+    atLineStart = true;
+  }
+
+  public static MavenOutputBuffer of(String output) {
+    final MavenOutputBuffer buffer = new MavenOutputBuffer();
+    final byte[] bytes = output.getBytes(StandardCharsets.UTF_8);
+    buffer.write(bytes, 0, bytes.length);
+    return buffer;
+  }
+
+  @Override
+  public synchronized void write(int b) {
+    write(new byte[]{(byte) b}, 0, 1);
+  }
+
+  @Override
+  public synchronized void write(byte[] b, int off, int len) {
+    ensureOpen();
+    for (int i = off; i < off + len; i++) {
+      if (atLineStart) {
+        addLineStart(size + i - off);
+        atLineStart = false;
+      }
+      atLineStart = b[i] == '\n';
+    }
+    try {
+      if (spill == null && memorySize + len > MEMORY_WINDOW_BYTES) {
+        spillFile = Files.createTempFile("jkube-it-maven-", ".log");
+        spillFile.toFile().deleteOnExit();
+        spill = new BufferedOutputStream(Files.newOutputStream(spillFile), 64 * 1024);
+        spillCleanup = CLEANER.register(this, new SpillCleanup(spillFile, spill));
+        spill.write(memory, 0, memorySize);
+        memory = new byte[0];
+        memorySize = 0;
+      }
+      if (spill != null) {
+        spill.write(b, off, len);
+      } else {
+        if (memorySize + len > memory.length) {
+          memory = Arrays.copyOf(memory, Math.min(MEMORY_WINDOW_BYTES, Math.max(memory.length * 2, memorySize + len)));
+        }
+        System.arraycopy(b, off, memory, memorySize, len);
+        memorySize += len;
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    size += len;
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    if (spill != null && !closed) {
+      spill.flush();
+    }
+  }
+
+  /**
+   * Releases the buffer, the spill file (if any) is closed and deleted.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    memory = new byte[0];
+    memorySize = 0;
+    if (spillCleanup != null) {
+      spillCleanup.clean();
+    }
+  }
+
+  /**
+   * @return the number of bytes written.
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  public synchronized int lineCount() {
+    return lineCount;
+  }
+
+  public synchronized boolean isSpilled() {
+    return spill != null;
+  }
+
+  /**
+   * @return the line at the provided (0 based) index without the line terminator.
+   */
+  public synchronized String line(int index) {
+    if (index < 0 || index >= lineCount) {
+      throw new IndexOutOfBoundsException("Line " + index + " out of " + lineCount);
+    }
+    final long end = index + 1 < lineCount ? lineStarts[index + 1] : size;
+    return stripLineTerminator(new String(read(lineStarts[index], end), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return the last lines of the output (only the requested lines are read).
+   */
+  public synchronized List<String> tail(int lines) {
+    if (lineCount == 0 || lines <= 0) {
+      return new ArrayList<>();
+    }
+    final String tail = new String(read(lineStarts[Math.max(0, lineCount - lines)], size), StandardCharsets.UTF_8);
+    return new ArrayList<>(Arrays.asList(stripLineTerminator(tail).split("\\r?\\n", -1)));
+  }
+
+  public boolean contains(CharSequence sequence) {
+    return containsInOrder(sequence);
+  }
+
+  /**
+   * Checks if the output contains the provided sequences in order, the output is streamed (never fully loaded).
+   */
+  public synchronized boolean containsInOrder(CharSequence... sequences) {
+    final String[] expected = Arrays.stream(sequences).map(String::valueOf).toArray(String[]::new);
+    int current = 0;
+    try (Reader reader = new InputStreamReader(openStream(), StandardCharsets.UTF_8)) {
+      final char[] buffer = new char[READ_BUFFER_CHARS];
+      String window = "";
+      int read;
+      while (current < expected.length) {
+        final int found = window.indexOf(expected[current]);
+        if (found >= 0) {
+          window = window.substring(found + expected[current].length());
+          current++;
+          continue;
+        }
+        if ((read = reader.read(buffer)) == -1) {
+          return false;
+        }
+        // Keep the chars that might be the beginning of a match spanning the next chunk
+        final int keep = Math.min(window.length(), Math.max(0, expected[current].length() - 1));
+        window = window.substring(window.length() - keep) + new String(buffer, 0, read);
+      }
+      return true;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * @return the lines matching the provided pattern.
+   */
+  public synchronized List<String> search(Pattern pattern) {
+    final List<String> matches = new ArrayList<>();
+    forEachLine((index, line) -> {
+      if (pattern.matcher(line).find()) {
+        matches.add(line);
+      }
+    });
+    return matches;
+  }
+
+  /**
+   * @return the (0 based) indexes of the lines matching the provided pattern.
+   */
+  public synchronized List<Integer> matchingLines(Pattern pattern) {
+    final List<Integer> matches = new ArrayList<>();
+    forEachLine((index, line) -> {
+      if (pattern.matcher(line).find()) {
+        matches.add(index);
+      }
+    });
+    return matches;
+  }
+
+  /**
+   * Writes the lines in the provided range (0 based, end exclusive) including their line terminators.
+   */
+  public synchronized void writeLinesTo(int fromLine, int toLine, OutputStream out) throws IOException {
+    if (fromLine < 0 || toLine > lineCount || fromLine > toLine) {
+      throw new IndexOutOfBoundsException("Lines " + fromLine + "-" + toLine + " out of " + lineCount);
+    }
+    if (fromLine == toLine) {
+      return;
+    }
+    final byte[] bytes = read(lineStarts[fromLine], toLine < lineCount ? lineStarts[toLine] : size);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Materializes the complete output, prefer {@link #contains(CharSequence)}, {@link #search(Pattern)} or
+   * {@link #tail(int)} for large outputs.
+   */
+  @Override
+  public synchronized String toString() {
+    return new String(read(0, size), StandardCharsets.UTF_8);
+  }
+
+  // Lines are split by \n only (consistent with the line index), BufferedReader would split by \r too
+  private void forEachLine(LineConsumer consumer) {
+    try (Reader reader = new InputStreamReader(openStream(), StandardCharsets.UTF_8)) {
+      final char[] buffer = new char[READ_BUFFER_CHARS];
+      final StringBuilder line = new StringBuilder();
+      int index = 0;
+      int read;
+      while ((read = reader.read(buffer)) != -1) {
+        for (int i = 0; i < read; i++) {
+          if (buffer[i] == '\n') {
+            consumer.accept(index++, stripLineTerminator(line.toString()));
+            line.setLength(0);
+          } else {
+            line.append(buffer[i]);
+          }
+        }
+      }
+      if (line.length() > 0) {
+        consumer.accept(index, line.toString());
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private InputStream openStream() throws IOException {
+    ensureOpen();
+    if (spill == null) {
+      return new ByteArrayInputStream(memory, 0, memorySize);
+    }
+    spill.flush();
+    return Files.newInputStream(spillFile);
+  }
+
+  private byte[] read(long start, long end) {
+    ensureOpen();
+    if (end - start > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Output is too large to be read at once: " + (end - start));
+    }
+    final byte[] bytes = new byte[(int) (end - start)];
+    if (spill == null) {
+      System.arraycopy(memory, (int) start, bytes, 0, bytes.length);
+      return bytes;
+    }
+    try (RandomAccessFile file = new RandomAccessFile(spillFile.toFile(), "r")) {
+      spill.flush();
+      file.seek(start);
+      file.readFully(bytes);
+      return bytes;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new IllegalStateException("Maven output buffer is closed");
+    }
+  }
+
+  private void addLineStart(long offset) {
+    if (lineCount == lineStarts.length) {
+      lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+    }
+    lineStarts[lineCount++] = offset;
+  }
+
+  private static String stripLineTerminator(String line) {
+    int end = line.length();
+    if (end > 0 && line.charAt(end - 1) == '\n') {
+      end--;
+    }
+    if (end > 0 && line.charAt(end - 1) == '\r') {
+      end--;
+    }
+    return line.substring(0, end);
+  }
+
+  // Must not reference the buffer, otherwise it would never become phantom reachable
+  private static final class SpillCleanup implements Runnable {
+    private final Path spillFile;
+    private final OutputStream spill;
+
+    private SpillCleanup(Path spillFile, OutputStream spill) {
+      this.spillFile = spillFile;
+      this.spill = spill;
+    }
+
+    @Override
+    public void run() {
+      try {
+        spill.close();
+      } catch (IOException ex) {
+        // NO OP, the file is deleted anyway
+      }
+      try {
+        Files.deleteIfExists(spillFile);
+      } catch (IOException ex) {
+        // NO OP, the file is deleted on exit
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface LineConsumer {
+    void accept(int index, String line);
+  }
+}
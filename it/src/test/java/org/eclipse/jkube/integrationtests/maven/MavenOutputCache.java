@@ -0,0 +1,371 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.maven;
+
+import org.apache.maven.shared.invoker.MavenInvocationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.eclipse.jkube.integrationtests.DigestUtil.hex;
+import static org.eclipse.jkube.integrationtests.DigestUtil.sha256;
+import static org.eclipse.jkube.integrationtests.JKubeCase.JKUBE_VERSION_SYSTEM_PROPERTY;
+
+/**
+ * Content-addressed cache for the outputs of the resource and helm goals.
+ *
+ * <p> The {@value #MAVEN_OUTPUT_CACHE_SYSTEM_PROPERTY} system property selects the mode: {@code off} (default),
+ * {@code on} (the outputs are restored from the cache instead of invoking Maven), or {@code strict} (Maven is always
+ * invoked and its outputs are compared with the cached ones).
+ *
+ * <p> Entries are keyed by a hash of the goal, profiles, properties, the module files (excluding {@code target}),
+ * the parent POMs, and the checksums of the JKube plugin classpath (the plugin artifact and every dependency listed
+ * in its plugin descriptor, e.g. the jkube-kit artifacts) in the local repository. The keys of the helm goals include
+ * the resource outputs the charts are generated from. Goals whose plugin classpath can't be fully resolved in the
+ * local repository are never cached.
+ *
+ * <p> The k8s and oc goals share their output directories, the outputs of a goal are the files in (or named after)
+ * the directory of its platform ({@code kubernetes} or {@code openshift}). A cache hit replaces these files only (the
+ * outputs of the other platform are kept) and is reported by {@link MavenInvocationResult#getRestoredFrom()}, no Maven
+ * output is produced.
+ */
+final class MavenOutputCache {
+
+  static final String MAVEN_OUTPUT_CACHE_SYSTEM_PROPERTY = "mavenOutputCache";
+  static final String MAVEN_OUTPUT_CACHE_DIR_SYSTEM_PROPERTY = "mavenOutputCacheDir";
+  private static final Logger log = LoggerFactory.getLogger(MavenOutputCache.class);
+  private static final String PLUGIN_DESCRIPTOR = "META-INF/maven/plugin.xml";
+  private static final Map<Path, Optional<String>> PLUGIN_CLASSPATH_DIGESTS = new ConcurrentHashMap<>();
+  private static final Pattern CACHEABLE_GOAL = Pattern.compile("^(k8s|oc):(resource|helm)$");
+  private static final Map<String, String> PLUGINS = Map.of(
+    "k8s", "kubernetes-maven-plugin", "oc", "openshift-maven-plugin");
+  private static final Map<String, String> PLATFORMS = Map.of("k8s", "kubernetes", "oc", "openshift");
+  private static final Map<String, Path> OUTPUTS = Map.of(
+    "resource", Path.of("target", "classes", "META-INF", "jkube"), "helm", Path.of("target", "jkube", "helm"));
+
+  private MavenOutputCache() { }
+
+  @FunctionalInterface
+  interface MavenInvocation {
+    MavenInvocationResult invoke() throws IOException, InterruptedException, MavenInvocationException;
+  }
+
+  static MavenInvocationResult invoke(
+    MavenCase mavenCase, String goal, Properties properties, MavenInvocation invocation)
+    throws IOException, InterruptedException, MavenInvocationException {
+
+    final String mode = mode();
+    final Optional<Path> cacheEntry = mode.equals("off") ? Optional.empty() : entry(mavenCase, goal, properties);
+    if (cacheEntry.isEmpty()) {
+      return invocation.invoke();
+    }
+    final Path entry = cacheEntry.get();
+    final String key = entry.getFileName().toString();
+    final Path output = moduleDir(mavenCase).resolve(output(goal));
+    // A goal already executed by a coalesced invocation isn't restored, its outputs are newer than the ones it would
+    // be restored from
+    if (mode.equals("on") && Files.isDirectory(entry) && !MavenGoalCoalescer.isPending(mavenCase, goal, properties)) {
+      // Stale outputs (e.g. from a different configuration) must not survive the restore
+      for (Path file : goalFiles(output, goal)) {
+        Files.delete(output.resolve(file));
+      }
+      copy(entry, goalFiles(entry, goal), output);
+      log.info("Restored {} outputs for {} from the Maven output cache ({})", goal, mavenCase.getProject(), key);
+      return MavenInvocationResult.restored(entry);
+    }
+    final MavenInvocationResult result = invocation.invoke();
+    if (result.getExitCode() != 0 || goalFiles(output, goal).isEmpty()) {
+      return result;
+    }
+    if (Files.isDirectory(entry) && mode.equals("strict")) {
+      final List<String> differences = differences(entry, output, goal);
+      if (!differences.isEmpty()) {
+        result.close();
+        throw new IllegalStateException(String.format(
+          "%s outputs for %s don't match the Maven output cache (%s): %s", goal, mavenCase.getProject(), key,
+          differences));
+      }
+    } else if (!Files.isDirectory(entry)) {
+      store(output, goal, entry);
+    }
+    return result;
+  }
+
+  /**
+   * @return true if the outputs of the provided goal would be restored from the cache instead of invoking Maven.
+   */
+  static boolean isRestorable(MavenCase mavenCase, String goal, Properties properties) throws IOException {
+    return mode().equals("on") && entry(mavenCase, goal, properties).filter(Files::isDirectory).isPresent();
+  }
+
+  private static String mode() {
+    final String mode = System.getProperty(MAVEN_OUTPUT_CACHE_SYSTEM_PROPERTY, "off").toLowerCase(Locale.ROOT);
+    if (!mode.equals("off") && !mode.equals("on") && !mode.equals("strict")) {
+      throw new IllegalArgumentException(String.format(
+        "Unsupported %s: %s (off, on, strict)", MAVEN_OUTPUT_CACHE_SYSTEM_PROPERTY, mode));
+    }
+    return mode;
+  }
+
+  /**
+   * @return the cache entry (which might not exist yet) for the provided goal, empty if the goal isn't cacheable.
+   */
+  private static Optional<Path> entry(MavenCase mavenCase, String goal, Properties properties) throws IOException {
+    final Matcher cacheableGoal = CACHEABLE_GOAL.matcher(goal);
+    if (!cacheableGoal.matches()) {
+      return Optional.empty();
+    }
+    final Optional<String> pluginClasspath = pluginArtifact(PLUGINS.get(cacheableGoal.group(1)))
+      .flatMap(MavenOutputCache::pluginClasspathDigest);
+    if (pluginClasspath.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(cacheDir().resolve(
+      key(mavenCase, goal, properties, moduleDir(mavenCase), pluginClasspath.get())));
+  }
+
+  private static Path moduleDir(MavenCase mavenCase) {
+    return Path.of("..", mavenCase.getProject()).toAbsolutePath().normalize();
+  }
+
+  private static Path output(String goal) {
+    return OUTPUTS.get(goal.substring(goal.indexOf(':') + 1));
+  }
+
+  private static Path cacheDir() {
+    return Path.of(System.getProperty(MAVEN_OUTPUT_CACHE_DIR_SYSTEM_PROPERTY,
+      Path.of(System.getProperty("user.home"), ".cache", "jkube-integration-tests", "maven-outputs").toString()));
+  }
+
+  private static Optional<Path> pluginArtifact(String artifactId) {
+    final String jkubeVersion = System.getProperty(JKUBE_VERSION_SYSTEM_PROPERTY);
+    if (jkubeVersion == null) {
+      return Optional.empty();
+    }
+    return Optional.of(localRepository().resolve(Path.of("org", "eclipse", "jkube", artifactId, jkubeVersion,
+      artifactId + "-" + jkubeVersion + ".jar"))).filter(Files::isRegularFile);
+  }
+
+  private static String key(MavenCase mavenCase, String goal, Properties properties, Path moduleDir,
+    String pluginClasspath) throws IOException {
+
+    final MessageDigest digest = sha256();
+    final Map<String, String> sortedProperties = new TreeMap<>();
+    Optional.ofNullable(properties).ifPresent(p -> p.stringPropertyNames()
+      .forEach(name -> sortedProperties.put(name, p.getProperty(name))));
+    digest.update(String.format("%s%n%s%n%s%n", goal, mavenCase.getProfiles(), sortedProperties)
+      .getBytes(StandardCharsets.UTF_8));
+    digest.update(pluginClasspath.getBytes(StandardCharsets.UTF_8));
+    // Parent POMs (up to the projects root, the Maven base directory)
+    final Path projectsRoot = Path.of("..").toAbsolutePath().normalize();
+    for (Path parent = moduleDir.getParent(); parent != null && parent.startsWith(projectsRoot);
+      parent = parent.getParent()) {
+      if (Files.isRegularFile(parent.resolve("pom.xml"))) {
+        update(digest, parent.resolve("pom.xml"));
+      }
+    }
+    for (Path file : files(moduleDir, moduleDir.resolve("target"))) {
+      digest.update(moduleDir.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+      update(digest, file);
+    }
+    // The charts are generated from the resource outputs (in target, excluded above)
+    if (goal.endsWith(":helm")) {
+      final Path resources = moduleDir.resolve(OUTPUTS.get("resource"));
+      for (Path file : goalFiles(resources, goal)) {
+        digest.update(file.toString().getBytes(StandardCharsets.UTF_8));
+        update(digest, resources.resolve(file));
+      }
+    }
+    return hex(digest.digest());
+  }
+
+  /**
+   * Digest of the plugin artifact and of every artifact of its runtime classpath (as listed in the plugin descriptor),
+   * empty if any of them can't be found in the local repository. Computed once per plugin artifact.
+   */
+  private static Optional<String> pluginClasspathDigest(Path pluginArtifact) {
+    return PLUGIN_CLASSPATH_DIGESTS.computeIfAbsent(pluginArtifact, k -> {
+      try {
+        final MessageDigest digest = sha256();
+        update(digest, pluginArtifact);
+        for (Path dependency : pluginDependencies(pluginArtifact)) {
+          if (!Files.isRegularFile(dependency)) {
+            log.info("Maven output cache disabled for {}, {} not found", pluginArtifact.getFileName(), dependency);
+            return Optional.empty();
+          }
+          digest.update(dependency.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+          update(digest, dependency);
+        }
+        return Optional.of(hex(digest.digest()));
+      } catch (IOException ex) {
+        log.warn("Maven output cache disabled for {}: {}", pluginArtifact.getFileName(), ex.getMessage());
+        return Optional.empty();
+      }
+    });
+  }
+
+  private static List<Path> pluginDependencies(Path pluginArtifact) throws IOException {
+    try (ZipFile plugin = new ZipFile(pluginArtifact.toFile())) {
+      final ZipEntry descriptor = plugin.getEntry(PLUGIN_DESCRIPTOR);
+      if (descriptor == null) {
+        throw new IOException("No " + PLUGIN_DESCRIPTOR + " found");
+      }
+      final Element root;
+      try (InputStream is = plugin.getInputStream(descriptor)) {
+        root = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(is).getDocumentElement();
+      } catch (ParserConfigurationException | SAXException ex) {
+        throw new IOException("Invalid " + PLUGIN_DESCRIPTOR, ex);
+      }
+      final List<Path> dependencies = new ArrayList<>();
+      final NodeList nodes = root.getElementsByTagName("dependency");
+      for (int i = 0; i < nodes.getLength(); i++) {
+        final Element dependency = (Element) nodes.item(i);
+        final String groupId = text(dependency, "groupId");
+        final String artifactId = text(dependency, "artifactId");
+        final String version = text(dependency, "version");
+        final String type = Optional.ofNullable(text(dependency, "type")).orElse("jar");
+        dependencies.add(localRepository().resolve(Path.of(groupId.replace('.', '/'), artifactId, version,
+          artifactId + "-" + version + "." + type)));
+      }
+      return dependencies;
+    }
+  }
+
+  private static String text(Element element, String child) {
+    final NodeList children = element.getElementsByTagName(child);
+    return children.getLength() == 0 ? null : children.item(0).getTextContent().trim();
+  }
+
+  private static Path localRepository() {
+    return Path.of(System.getProperty("maven.repo.local",
+      Path.of(System.getProperty("user.home"), ".m2", "repository").toString()));
+  }
+
+  private static List<Path> files(Path dir, Path excluded) throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      return files
+        .filter(f -> !f.startsWith(excluded))
+        .filter(Files::isRegularFile)
+        .sorted()
+        .collect(Collectors.toList());
+    }
+  }
+
+  private static void store(Path output, String goal, Path entry) throws IOException {
+    Files.createDirectories(entry.getParent());
+    final Path staging = Files.createTempDirectory(entry.getParent(), entry.getFileName() + "-");
+    try {
+      copy(output, goalFiles(output, goal), staging);
+      Files.move(staging, entry, StandardCopyOption.ATOMIC_MOVE);
+    } catch (FileAlreadyExistsException | DirectoryNotEmptyException ex) {
+      // Stored concurrently by another test
+    } finally {
+      deleteRecursively(staging);
+    }
+  }
+
+  private static void copy(Path source, List<Path> files, Path target) throws IOException {
+    for (Path file : files) {
+      final Path targetFile = target.resolve(file.toString());
+      Files.createDirectories(targetFile.getParent());
+      Files.copy(source.resolve(file), targetFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static List<String> differences(Path expected, Path actual, String goal) throws IOException {
+    final List<String> differences = new ArrayList<>();
+    final List<Path> expectedFiles = goalFiles(expected, goal);
+    final List<Path> actualFiles = goalFiles(actual, goal);
+    for (Path file : expectedFiles) {
+      if (!actualFiles.contains(file)) {
+        differences.add("missing " + file);
+      } else if (!Arrays.equals(
+        Files.readAllBytes(expected.resolve(file)), Files.readAllBytes(actual.resolve(file)))) {
+        differences.add("changed " + file);
+      }
+    }
+    actualFiles.stream().filter(f -> !expectedFiles.contains(f)).forEach(f -> differences.add("new " + f));
+    return differences;
+  }
+
+  /**
+   * @return the files (relative to the provided directory) in or named after the directory of the goal platform, e.g.
+   * {@code kubernetes.yml}, {@code kubernetes/service.yml} or {@code chart/kubernetes/Chart.yaml} for k8s goals.
+   */
+  private static List<Path> goalFiles(Path dir, String goal) throws IOException {
+    if (!Files.isDirectory(dir)) {
+      return Collections.emptyList();
+    }
+    final String platform = PLATFORMS.get(goal.substring(0, goal.indexOf(':')));
+    try (Stream<Path> files = Files.walk(dir)) {
+      return files.filter(Files::isRegularFile).map(dir::relativize)
+        .filter(f -> StreamSupport.stream(f.spliterator(), false).map(Path::toString)
+          .anyMatch(name -> name.equals(platform) || name.startsWith(platform + ".")))
+        .sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static void deleteRecursively(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(path)) {
+      for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(p);
+      }
+    }
+  }
+
+  private static void update(MessageDigest digest, Path file) throws IOException {
+    try (InputStream is = Files.newInputStream(file)) {
+      final byte[] buffer = new byte[8192];
+      int read;
+      while ((read = is.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+  }
+}
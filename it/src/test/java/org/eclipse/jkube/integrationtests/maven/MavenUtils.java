@@ -24,18 +24,32 @@ import org.apache.maven.shared.invoker.MavenInvocationException;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import static org.eclipse.jkube.integrationtests.JKubeCase.JKUBE_VERSION_SYSTEM_PROPERTY;
 
+/**
+ * The {@value #MAVEN_EXECUTOR_SYSTEM_PROPERTY} system property selects how Maven goals are executed:
+ * {@code invoker} (default, forks a new Maven JVM for each invocation) or {@code mvnd} (the invocations are handled
+ * by the long-lived and warm Maven Daemon JVMs, the daemon executable is resolved from the
+ * {@value #MVND_HOME_SYSTEM_PROPERTY} system property or the PATH).
+ */
 public class MavenUtils {
 
+  public static final String MAVEN_EXECUTOR_SYSTEM_PROPERTY = "mavenExecutor";
+  public static final String MVND_HOME_SYSTEM_PROPERTY = "mvndHome";
   private static final String JKUBE_VERSION_MAVEN_PROPERTY = "jkube.version";
+  private static final Pattern IMAGE_BUILD_GOAL = Pattern.compile("(^|\\s)(k8s|oc):build(\\s|$)");
+  private static final Pattern LONG_RUNNING_GOAL = Pattern.compile("(^|\\s)(k8s|oc):(watch|log)(\\s|$)");
 
   private static String mavenLocation;
+  private static File mvndExecutable;
 
   private MavenUtils() {
   }
@@ -58,29 +72,75 @@ public class MavenUtils {
     Optional.ofNullable(System.getProperty(JKUBE_VERSION_SYSTEM_PROPERTY)).ifPresent(jkubeVersion ->
         invocationRequest.getProperties().put(JKUBE_VERSION_MAVEN_PROPERTY, jkubeVersion));
     final Invoker invoker = new DefaultInvoker();
-    invoker.setMavenHome(new File(getMavenLocation()));
+    final String mavenExecutor = System.getProperty(MAVEN_EXECUTOR_SYSTEM_PROPERTY, "invoker")
+      .toLowerCase(Locale.ROOT);
+    switch (mavenExecutor) {
+      case "invoker":
+        invoker.setMavenHome(new File(getMavenLocation()));
+        break;
+      case "mvnd":
+        invoker.setMavenExecutable(getMvndExecutable());
+        break;
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Unsupported %s: %s (invoker, mvnd)", MAVEN_EXECUTOR_SYSTEM_PROPERTY, mavenExecutor));
+    }
     invoker.setOutputHandler(new ThreadedSystemOutHandler());
     return invoker.execute(invocationRequest);
   }
 
+  /**
+   * Checks if the provided goal(s) may build (and tag) container images.
+   */
+  public static boolean isImageBuildGoal(String goal) {
+    return goal != null && IMAGE_BUILD_GOAL.matcher(goal).find();
+  }
+
+  /**
+   * Checks if the provided goal(s) keep running in the background while the test invokes other goals.
+   */
+  public static boolean isLongRunningGoal(String goal) {
+    return goal != null && LONG_RUNNING_GOAL.matcher(goal).find();
+  }
+
   private static String getMavenLocation() throws IOException, InterruptedException {
     if (mavenLocation == null) {
-      final CliResult mavenVersion = CliUtils.runCommand(".." + File.separatorChar + "mvnw -v");
+      final Pattern mavenHomePattern = Pattern.compile("Maven home:(.+)");
+      final AtomicReference<String> mavenHome = new AtomicReference<>();
+      final CliResult mavenVersion = CliUtils.runCommand(".." + File.separatorChar + "mvnw -v",
+        CliUtils.DEFAULT_TIMEOUT, line -> {
+          final Matcher mavenHomeMatcher = mavenHomePattern.matcher(line);
+          if (mavenHomeMatcher.find()) {
+            mavenHome.set(mavenHomeMatcher.group(1).trim());
+          }
+        });
       if (mavenVersion.getExitCode() != 0){
         throw new IOException(String.format("Maven: [%s]", mavenVersion.getOutput()));
       }
-      final String mavenVersionResult = mavenVersion.getOutput();
-      final Pattern mavenHomePattern = Pattern.compile("Maven home:([^\\n\\r]+)", Pattern.MULTILINE);
-      final Matcher mavenHomeMatcher =
-          mavenHomePattern.matcher(mavenVersionResult);
-      if (!mavenHomeMatcher.find()) {
-        throw new IOException(String.format("Maven: Incompatible version [%s]", mavenVersionResult));
+      if (mavenHome.get() == null) {
+        throw new IOException(String.format("Maven: Incompatible version [%s]", mavenVersion.getOutput()));
       }
-      mavenLocation = mavenHomeMatcher.group(1).trim();
+      mavenLocation = mavenHome.get();
     }
     return mavenLocation;
   }
 
+  private static synchronized File getMvndExecutable() throws IOException {
+    if (mvndExecutable == null) {
+      final String executable = CliUtils.isWindows() ? "mvnd.cmd" : "mvnd";
+      final Optional<String> mvndHome = Optional.ofNullable(System.getProperty(MVND_HOME_SYSTEM_PROPERTY));
+      final Stream<File> candidates = mvndHome.isPresent() ?
+        Stream.of(new File(new File(mvndHome.get(), "bin"), executable)) :
+        Stream.of(Optional.ofNullable(System.getenv("PATH")).orElse("").split(File.pathSeparator))
+          .filter(path -> !path.isEmpty())
+          .map(path -> new File(path, executable));
+      mvndExecutable = candidates.filter(File::canExecute).findFirst().orElseThrow(() -> new IOException(
+        String.format("Maven Daemon: %s not found in %s", executable,
+          mvndHome.map(home -> MVND_HOME_SYSTEM_PROPERTY + " " + home).orElse("PATH"))));
+    }
+    return mvndExecutable;
+  }
+
   @FunctionalInterface
   public interface InvocationRequestCustomizer {
 
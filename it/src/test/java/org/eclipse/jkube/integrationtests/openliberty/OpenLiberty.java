@@ -60,8 +60,9 @@ abstract class OpenLiberty implements JKubeCase, MavenCase {
       .assertIsNodePort()
       .assertPorts(hasSize(1))
       .assertPort("glrpc", 9080, true)
-      .assertNodePortResponse("glrpc", equalTo("Hello, World."));
-    return pod;
+      .assertNodePortResponse("glrpc", equalTo("Hello, World."))
+      .recordStartupTimes();
+    return awaitPod(this).getKubernetesResource();
   }
 
   final void assertLog(String log) {
@@ -66,8 +66,9 @@ abstract class Quarkus implements JKubeCase, MavenCase {
       .assertPorts(hasSize(1))
       .assertPort("http", 8080, true)
       .assertNodePortResponse("http",
-        equalTo("{\"applicationName\":\"JKube\",\"message\":\"Subatomic JKube really whips the llama's ass!\"}"));
-    return pod;
+        equalTo("{\"applicationName\":\"JKube\",\"message\":\"Subatomic JKube really whips the llama's ass!\"}"))
+      .recordStartupTimes();
+    return awaitPod(this).getKubernetesResource();
   }
 
   final void assertHelm(File helmDirectory) {
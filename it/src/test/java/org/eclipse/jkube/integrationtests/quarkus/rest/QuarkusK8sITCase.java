@@ -15,17 +15,17 @@ package org.eclipse.jkube.integrationtests.quarkus.rest;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import org.apache.maven.shared.invoker.InvocationResult;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
+import org.eclipse.jkube.integrationtests.maven.CoalesceGoals;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.io.File;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.DeploymentAssertion.awaitDeployment;
 import static org.eclipse.jkube.integrationtests.assertions.DockerAssertion.assertImageWasRecentlyBuilt;
@@ -41,10 +41,10 @@ import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 @Tag(KUBERNETES)
 @TestMethodOrder(OrderAnnotation.class)
+@CoalesceGoals({"k8s:build", "k8s:resource", "k8s:helm"})
 class QuarkusK8sITCase extends Quarkus {
 
   @Test
@@ -59,7 +59,7 @@ class QuarkusK8sITCase extends Quarkus {
   }
 
   @Test
-  @Order(1)
+  @Order(2)
   @DisplayName("k8s:resource, should create manifests")
   void k8sResource() throws Exception {
     // When
@@ -75,7 +75,7 @@ class QuarkusK8sITCase extends Quarkus {
   }
 
   @Test
-  @Order(2)
+  @Order(3)
   @DisplayName("k8s:helm, should create Helm charts")
   void k8sHelm() throws Exception {
     // When
@@ -89,9 +89,9 @@ class QuarkusK8sITCase extends Quarkus {
   }
 
   @Test
-  @Order(3)
+  @Order(4)
   @DisplayName("k8s:apply, should deploy pod and service")
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @SuppressWarnings("unchecked")
   void k8sApply() throws Exception {
     // When
@@ -124,7 +124,7 @@ class QuarkusK8sITCase extends Quarkus {
   }
 
   @Test
-  @Order(4)
+  @Order(5)
   @DisplayName("k8s:undeploy, should delete all applied resources")
   void k8sUndeploy() throws Exception {
     // When
@@ -16,17 +16,17 @@ package org.eclipse.jkube.integrationtests.quarkus.rest;
 import io.fabric8.openshift.api.model.ImageStream;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.eclipse.jkube.integrationtests.OpenShiftCase;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
+import org.eclipse.jkube.integrationtests.maven.CoalesceGoals;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.io.File;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT;
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT_OSCI;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
@@ -38,16 +38,16 @@ import static org.hamcrest.Matchers.anEmptyMap;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 @Tag(OPEN_SHIFT)
 @Tag(OPEN_SHIFT_OSCI)
 @TestMethodOrder(OrderAnnotation.class)
+@CoalesceGoals({"oc:build", "oc:resource", "oc:helm"})
 class QuarkusOcITCase extends Quarkus implements OpenShiftCase {
 
   @Test
   @Order(1)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("oc:build, should create image")
   void ocBuild() throws Exception {
     // When
@@ -60,7 +60,7 @@ class QuarkusOcITCase extends Quarkus implements OpenShiftCase {
   }
 
   @Test
-  @Order(1)
+  @Order(2)
   @DisplayName("oc:resource, should create manifests")
   void ocResource() throws Exception {
     // When
@@ -77,7 +77,7 @@ class QuarkusOcITCase extends Quarkus implements OpenShiftCase {
   }
 
   @Test
-  @Order(2)
+  @Order(3)
   @DisplayName("oc:helm, should create Helm charts")
   void ocHelm() throws Exception {
     // When
@@ -92,8 +92,8 @@ class QuarkusOcITCase extends Quarkus implements OpenShiftCase {
   }
 
   @Test
-  @Order(3)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @Order(4)
+  @ClusterAdmission
   @DisplayName("oc:apply, should deploy pod and service")
   void ocApply() throws Exception {
     // When
@@ -104,7 +104,7 @@ class QuarkusOcITCase extends Quarkus implements OpenShiftCase {
   }
 
   @Test
-  @Order(4)
+  @Order(5)
   @DisplayName("oc:undeploy, should delete all applied resources")
   void ocUndeploy() throws Exception {
     // When
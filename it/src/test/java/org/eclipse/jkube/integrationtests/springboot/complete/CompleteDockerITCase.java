@@ -14,6 +14,7 @@
 package org.eclipse.jkube.integrationtests.springboot.complete;
 
 import org.apache.maven.shared.invoker.InvocationResult;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
@@ -29,7 +30,6 @@ import java.util.List;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Locks.SPRINGBOOT_COMPLETE_K8s;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.DeploymentAssertion.awaitDeployment;
@@ -123,7 +123,7 @@ class CompleteDockerITCase extends Complete {
 
   @Test
   @Order(3)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("k8s:apply, should deploy pod and service form manifests in specific directory")
   void k8sApply() throws Exception {
     // When
@@ -134,6 +134,7 @@ class CompleteDockerITCase extends Complete {
       .assertNodePortResponse("us-cli",
         containsString("This file was added via an assembly to the application thanks to the Awesomic JKube!"),
         "jkube", "static-file")
+      .recordStartupTimes()
       .getKubernetesResource().getMetadata().getNamespace();
     awaitDeployment(this, namespace)
       .assertReplicas(equalTo(1))
@@ -14,6 +14,7 @@
 package org.eclipse.jkube.integrationtests.springboot.complete;
 
 import org.apache.maven.shared.invoker.InvocationResult;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
@@ -26,7 +27,6 @@ import java.io.File;
 import java.util.Collections;
 import java.util.List;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Locks.SPRINGBOOT_COMPLETE_K8s;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.DeploymentAssertion.awaitDeployment;
@@ -106,7 +106,7 @@ class CompleteK8sITCase extends Complete {
 
   @Test
   @Order(3)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("k8s:apply, should deploy pod and service")
   @SuppressWarnings("unchecked")
   void k8sApply() throws Exception {
@@ -118,6 +118,7 @@ class CompleteK8sITCase extends Complete {
       .assertNodePortResponse("us-cli",
         containsString("This project contains various building blocks for the jkube developer toolbox"),
         "jkube", "readme")
+      .recordStartupTimes()
       .getKubernetesResource().getMetadata().getNamespace();
     awaitDeployment(this, namespace)
       .assertReplicas(equalTo(1))
@@ -16,6 +16,7 @@ package org.eclipse.jkube.integrationtests.springboot.helmconfig;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistry;
 import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistryHost;
+import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -24,12 +25,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.condition.DisabledIfEnvironmentVariable;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.util.Properties;
 
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
+import static org.eclipse.jkube.integrationtests.assertions.MavenOutputAssertion.outputContains;
 import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yaml;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
@@ -121,15 +122,13 @@ class HelmConfigK8sITCase extends HelmConfig {
   @DisplayName("k8s:helm-uninstall, no release present, display error message")
   @DisabledIfEnvironmentVariable(named = "ImageOS", matches = "ubuntu20")
   void k8sHelmUninstall_whenNoReleasePresent_thenErrorMessageDisplayed() throws Exception {
-    // Given
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
     // When
-    maven("k8s:helm-uninstall", properties("jkube.helm.release.name", "spring-boot-helm-config-k8s-does-not-exist"), byteArrayOutputStream);
+    final MavenInvocationResult invocationResult = maven("k8s:helm-uninstall",
+      properties("jkube.helm.release.name", "spring-boot-helm-config-k8s-does-not-exist"));
     // Then
-    assertThat(byteArrayOutputStream.toString(), allOf(
-      containsString("helm-uninstall failed"),
-      containsString("uninstall: Release not loaded: spring-boot-helm-config-k8s-does-not-exist: release: not found")
-    ));
+    assertThat(invocationResult, outputContains(
+      "helm-uninstall failed",
+      "uninstall: Release not loaded: spring-boot-helm-config-k8s-does-not-exist: release: not found"));
   }
 
   @Test
@@ -137,17 +136,16 @@ class HelmConfigK8sITCase extends HelmConfig {
   @DisplayName("k8s:helm-install, should install the charts")
   @DisabledIfEnvironmentVariable(named = "ImageOS", matches = "ubuntu20")
   void k8sHelmInstall() throws Exception {
-    // Given
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
     // When
-    maven("k8s:helm-install", properties("jkube.helm.release.name", "spring-boot-helm-config-k8s"), byteArrayOutputStream);
+    final MavenInvocationResult invocationResult = maven("k8s:helm-install",
+      properties("jkube.helm.release.name", "spring-boot-helm-config-k8s"));
     // Then
-    assertThat(byteArrayOutputStream.toString(),
-      allOf(containsString("Installing Helm Chart the-chart-name 1.0-KUBERNETES"),
-        containsString("NAME: spring-boot-helm-config-k8s"),
-        containsString("NAMESPACE: "),
-        containsString("STATUS: deployed"),
-        containsString("REVISION: 1")));
+    assertThat(invocationResult, outputContains(
+      "Installing Helm Chart the-chart-name 1.0-KUBERNETES",
+      "NAME: spring-boot-helm-config-k8s",
+      "NAMESPACE: ",
+      "STATUS: deployed",
+      "REVISION: 1"));
   }
 
   @Test
@@ -155,13 +153,12 @@ class HelmConfigK8sITCase extends HelmConfig {
   @DisplayName("k8s:helm-uninstall, should uninstall the charts")
   @DisabledIfEnvironmentVariable(named = "ImageOS", matches = "ubuntu20")
   void k8sHelmUninstall() throws Exception {
-    // Given
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
     // When
-    maven("k8s:helm-uninstall", properties("jkube.helm.release.name", "spring-boot-helm-config-k8s"), byteArrayOutputStream);
+    final MavenInvocationResult invocationResult = maven("k8s:helm-uninstall",
+      properties("jkube.helm.release.name", "spring-boot-helm-config-k8s"));
     // Then
-    assertThat(byteArrayOutputStream.toString(),
-      allOf(containsString("Uninstalling Helm Chart the-chart-name 1.0-KUBERNETES"),
-        containsString("release \"spring-boot-helm-config-k8s\" uninstalled")));
+    assertThat(invocationResult, outputContains(
+      "Uninstalling Helm Chart the-chart-name 1.0-KUBERNETES",
+      "release \"spring-boot-helm-config-k8s\" uninstalled"));
   }
 }
@@ -17,6 +17,7 @@ import io.fabric8.junit.jupiter.api.KubernetesTest;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistry;
 import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistryHost;
+import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -25,13 +26,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.condition.DisabledIfEnvironmentVariable;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.util.Properties;
 
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT;
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT_OSCI;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
+import static org.eclipse.jkube.integrationtests.assertions.MavenOutputAssertion.outputContains;
 import static org.eclipse.jkube.integrationtests.assertions.YamlAssertion.yaml;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
@@ -124,15 +125,13 @@ class HelmConfigOcITCase extends HelmConfig {
   @DisplayName("oc:helm-uninstall, no release present, display error message")
   @DisabledIfEnvironmentVariable(named = "ImageOS", matches = "ubuntu20")
   void ocHelmUninstall_whenNoReleasePresent_thenErrorMessageDisplayed() throws Exception {
-    // Given
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
     // When
-    maven("oc:helm-uninstall", properties("jkube.helm.release.name", "spring-boot-helm-config-oc-does-not-exist"), byteArrayOutputStream);
+    final MavenInvocationResult invocationResult = maven("oc:helm-uninstall",
+      properties("jkube.helm.release.name", "spring-boot-helm-config-oc-does-not-exist"));
     // Then
-    assertThat(byteArrayOutputStream.toString(), allOf(
-      containsString("helm-uninstall failed"),
-      containsString("uninstall: Release not loaded: spring-boot-helm-config-oc-does-not-exist: release: not found")
-    ));
+    assertThat(invocationResult, outputContains(
+      "helm-uninstall failed",
+      "uninstall: Release not loaded: spring-boot-helm-config-oc-does-not-exist: release: not found"));
   }
 
   @Test
@@ -140,17 +139,16 @@ class HelmConfigOcITCase extends HelmConfig {
   @DisplayName("oc:helm-install, should install the charts")
   @DisabledIfEnvironmentVariable(named = "ImageOS", matches = "ubuntu20")
   void ocHelmInstall() throws Exception {
-    // Given
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
     // When
-    maven("oc:helm-install", properties("jkube.helm.release.name", "spring-boot-helm-config-oc"), byteArrayOutputStream);
+    final MavenInvocationResult invocationResult = maven("oc:helm-install",
+      properties("jkube.helm.release.name", "spring-boot-helm-config-oc"));
     // Then
-    assertThat(byteArrayOutputStream.toString(),
-      allOf(containsString("Installing Helm Chart different-name-for-oc 0.1-OC"),
-        containsString("NAME: spring-boot-helm-config-oc"),
-        containsString("NAMESPACE: "),
-        containsString("STATUS: deployed"),
-        containsString("REVISION: 1")));
+    assertThat(invocationResult, outputContains(
+      "Installing Helm Chart different-name-for-oc 0.1-OC",
+      "NAME: spring-boot-helm-config-oc",
+      "NAMESPACE: ",
+      "STATUS: deployed",
+      "REVISION: 1"));
   }
 
   @Test
@@ -158,13 +156,12 @@ class HelmConfigOcITCase extends HelmConfig {
   @DisplayName("oc:helm-uninstall, should uninstall the charts")
   @DisabledIfEnvironmentVariable(named = "ImageOS", matches = "ubuntu20")
   void ocHelmUninstall() throws Exception {
-    // Given
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
     // When
-    maven("oc:helm-uninstall", properties("jkube.helm.release.name", "spring-boot-helm-config-oc"), byteArrayOutputStream);
+    final MavenInvocationResult invocationResult = maven("oc:helm-uninstall",
+      properties("jkube.helm.release.name", "spring-boot-helm-config-oc"));
     // Then
-    assertThat(byteArrayOutputStream.toString(),
-      allOf(containsString("Uninstalling Helm Chart different-name-for-oc 0.1-OC"),
-        containsString("release \"spring-boot-helm-config-oc\" uninstalled")));
+    assertThat(invocationResult, outputContains(
+      "Uninstalling Helm Chart different-name-for-oc 0.1-OC",
+      "release \"spring-boot-helm-config-oc\" uninstalled"));
   }
 }
@@ -16,6 +16,7 @@ package org.eclipse.jkube.integrationtests.springboot.layeredjardisabled;
 import io.fabric8.openshift.api.model.ImageStream;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.eclipse.jkube.integrationtests.OpenShiftCase;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
@@ -23,11 +24,9 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.io.File;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT;
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT_OSCI;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
@@ -40,7 +39,6 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.stringContainsInOrder;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 @Tag(OPEN_SHIFT)
 @Tag(OPEN_SHIFT_OSCI)
@@ -48,7 +46,7 @@ import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 class LayeredJarDisabledOcDockerITCase extends LayeredJarDisabled implements OpenShiftCase {
   @Test
   @Order(1)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("oc:build, with jkube.build.strategy=docker, should create image")
   void ocBuild() throws Exception {
     // Given + When
@@ -85,7 +83,7 @@ class LayeredJarDisabledOcDockerITCase extends LayeredJarDisabled implements Ope
 
   @Test
   @Order(2)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("oc:apply, should deploy pod and service")
   void ocApply() throws Exception {
     // Given
@@ -94,7 +92,9 @@ class LayeredJarDisabledOcDockerITCase extends LayeredJarDisabled implements Ope
     final InvocationResult invocationResult = maven("oc:apply");
     // Then
     assertInvocation(invocationResult);
-    assertThatShouldApplyResources();
+    assertThatShouldApplyResources()
+      .assertNodePortResponse("http", equalTo("Layered Jar is Disabled in this application"))
+      .recordStartupTimes();
   }
 
   @Test
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.springboot.zeroconfig;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.Application;
+import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistry;
+import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistryHost;
+import org.eclipse.jkube.integrationtests.maven.MavenCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
+import static org.eclipse.jkube.integrationtests.assertions.LayerReuseScenario.layerReuse;
+import static org.eclipse.jkube.integrationtests.springboot.zeroconfig.ZeroConfig.MAVEN_APPLICATION;
+
+@Tag(KUBERNETES)
+@Application(MAVEN_APPLICATION)
+@DockerRegistry(port = 5020)
+@Isolated
+class ZeroConfigLayerReuseK8sITCase extends ZeroConfig implements MavenCase {
+
+  @DockerRegistryHost
+  private String registry;
+
+  @Override
+  public String getProject() {
+    return MAVEN_PROJECT_ZERO_CONFIG;
+  }
+
+  @Test
+  @DisplayName("k8s:build and k8s:push after a source-only change, should only rebuild and push the application layer")
+  void k8sBuildAndPush_whenSourceModified_shouldReuseDependencyLayers() throws Exception {
+    layerReuse(this, "integration-tests/spring-boot-zero-config")
+      .registry(registry)
+      .sourceChange("src/main/java/org/eclipse/jkube/integrationtests/springboot/zeroconfig/ZeroConfigResource.java",
+        source -> source.replace("\"Zero Config\";", "\"Zero Config v2\";"))
+      .assertOnlyApplicationLayerRebuilt();
+  }
+}
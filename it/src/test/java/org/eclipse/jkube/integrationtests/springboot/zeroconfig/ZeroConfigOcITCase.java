@@ -17,6 +17,8 @@ import io.fabric8.openshift.api.model.ImageStream;
 import org.apache.maven.shared.invoker.InvocationResult;
 import org.eclipse.jkube.integrationtests.OpenShiftCase;
 import org.eclipse.jkube.integrationtests.jupiter.api.Application;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
+import org.eclipse.jkube.integrationtests.maven.CoalesceGoals;
 import org.eclipse.jkube.integrationtests.maven.MavenCase;
 import org.eclipse.jkube.integrationtests.maven.MavenInvocationResult;
 import org.junit.jupiter.api.DisplayName;
@@ -25,11 +27,9 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.io.File;
 
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT;
 import static org.eclipse.jkube.integrationtests.Tags.OPEN_SHIFT_OSCI;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
@@ -43,12 +43,12 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.stringContainsInOrder;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 @Tag(OPEN_SHIFT)
 @Tag(OPEN_SHIFT_OSCI)
 @Application(MAVEN_APPLICATION)
 @TestMethodOrder(OrderAnnotation.class)
+@CoalesceGoals({"oc:build", "oc:resource", "oc:helm"})
 class ZeroConfigOcITCase extends ZeroConfig implements MavenCase, OpenShiftCase {
 
   @Override
@@ -58,7 +58,7 @@ class ZeroConfigOcITCase extends ZeroConfig implements MavenCase, OpenShiftCase
 
   @Test
   @Order(1)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   @DisplayName("oc:build, should create image")
   void ocBuild() throws Exception {
     // When
@@ -71,7 +71,7 @@ class ZeroConfigOcITCase extends ZeroConfig implements MavenCase, OpenShiftCase
   }
 
   @Test
-  @Order(1)
+  @Order(2)
   @DisplayName("oc:resource, should create manifests")
   void ocResource() throws Exception {
     // When
@@ -88,7 +88,7 @@ class ZeroConfigOcITCase extends ZeroConfig implements MavenCase, OpenShiftCase
   }
 
   @Test
-  @Order(2)
+  @Order(3)
   @DisplayName("oc:helm, should create Helm charts")
   void ocHelm() throws Exception {
     // When
@@ -105,8 +105,8 @@ class ZeroConfigOcITCase extends ZeroConfig implements MavenCase, OpenShiftCase
   }
 
   @Test
-  @Order(2)
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @Order(4)
+  @ClusterAdmission
   @DisplayName("oc:apply, should deploy pod and service")
   void ocApply() throws Exception {
     // Given
@@ -119,7 +119,7 @@ class ZeroConfigOcITCase extends ZeroConfig implements MavenCase, OpenShiftCase
   }
 
   @Test
-  @Order(3)
+  @Order(5)
   @DisplayName("oc:log, should retrieve log")
   void ocLog() throws Exception {
     // When
@@ -131,7 +131,7 @@ class ZeroConfigOcITCase extends ZeroConfig implements MavenCase, OpenShiftCase
   }
 
   @Test
-  @Order(4)
+  @Order(6)
   @DisplayName("oc:undeploy, should delete all applied resources")
   void ocUndeploy() throws Exception {
     // When
@@ -54,8 +54,9 @@ abstract class Vertx implements JKubeCase, MavenCase {
       .assertIsNodePort()
       .assertPorts(hasSize(1))
       .assertPort("http", 8080, true)
-      .assertNodePortResponse("http", equalTo("Hello from JKube!"));
-    return pod;
+      .assertNodePortResponse("http", equalTo("Hello from JKube!"))
+      .recordStartupTimes();
+    return awaitPod(this).getKubernetesResource();
   }
 
 }
@@ -55,8 +55,9 @@ abstract class Jetty implements JKubeCase, MavenCase {
     awaitService(this, pod.getMetadata().getNamespace())
       .assertPorts(hasSize(1))
       .assertPort("http", 8080, true)
-      .assertNodePortResponse("http", containsString("<h2>Eclipse JKube on Jetty rocks!</h2>"));
-    return pod;
+      .assertNodePortResponse("http", containsString("<h2>Eclipse JKube on Jetty rocks!</h2>"))
+      .recordStartupTimes();
+    return awaitPod(this).getKubernetesResource();
   }
 
   final void assertLog(String log) {
@@ -14,10 +14,10 @@
 package org.eclipse.jkube.integrationtests.webapp.jetty;
 
 import org.apache.commons.io.FileUtils;
+import org.eclipse.jkube.integrationtests.jupiter.api.ClusterAdmission;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
@@ -25,12 +25,10 @@ import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 import static org.eclipse.jkube.integrationtests.AsyncUtil.await;
-import static org.eclipse.jkube.integrationtests.Locks.CLUSTER_RESOURCE_INTENSIVE;
 import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
 import static org.eclipse.jkube.integrationtests.assertions.InvocationResultAssertion.assertInvocation;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.stringContainsInOrder;
-import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
 
 @Tag(KUBERNETES)
 class JettyK8sWatchBothITCase extends JettyK8sWatch {
@@ -47,7 +45,7 @@ class JettyK8sWatchBothITCase extends JettyK8sWatch {
 
   @Test
   @DisplayName("k8s:watch, with mode=both, SHOULD hot deploy the application")
-  @ResourceLock(value = CLUSTER_RESOURCE_INTENSIVE, mode = READ_WRITE)
+  @ClusterAdmission
   void k8sWatchBuildAndRun() throws Exception {
     try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
       // Given
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2019 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at:
+ *
+ *     https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jkube.integrationtests.webapp.tomcat;
+
+import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistry;
+import org.eclipse.jkube.integrationtests.jupiter.api.DockerRegistryHost;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.eclipse.jkube.integrationtests.Tags.KUBERNETES;
+import static org.eclipse.jkube.integrationtests.assertions.LayerReuseScenario.layerReuse;
+
+@Tag(KUBERNETES)
+@DockerRegistry(port = 5025)
+@Isolated
+class TomcatJakartaeeLayerReuseK8sITCase extends Tomcat {
+
+  @DockerRegistryHost
+  private String registry;
+
+  @Override
+  public String getProject() {
+    return PROJECT_TOMCAT_JAKARTAEE;
+  }
+
+  @Override
+  public String getApplication() {
+    return APPLICATION_NAME_TOMCAT_JAKARTAEE;
+  }
+
+  @Test
+  @DisplayName("k8s:build and k8s:push after a source-only change, should only rebuild and push the war layer")
+  void k8sBuildAndPush_whenSourceModified_shouldReuseBaseImageLayers() throws Exception {
+    layerReuse(this, "integration-tests/" + getApplication())
+      .registry(registry)
+      .sourceChange("src/main/java/org/eclipse/jkube/tests/samples/HelloWorld.java",
+        source -> source.replace("\"<h2>Hello \"", "\"<h2>Hello, \""))
+      .assertOnlyApplicationLayerRebuilt();
+  }
+}
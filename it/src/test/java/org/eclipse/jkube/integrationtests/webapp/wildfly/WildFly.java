@@ -54,7 +54,8 @@ abstract class WildFly implements JKubeCase, MavenCase {
       .assertIsNodePort()
       .assertPorts(hasSize(1))
       .assertPort("http", 8080, true)
-      .assertNodePortResponse("http", containsString("<h2>Eclipse JKube rocks!!</h2>"));
-    return pod;
+      .assertNodePortResponse("http", containsString("<h2>Eclipse JKube rocks!!</h2>"))
+      .recordStartupTimes();
+    return awaitPod(this).getKubernetesResource();
   }
 }
@@ -57,7 +57,8 @@ abstract class WildflyJar implements JKubeCase, MavenCase {
       .assertIsNodePort()
       .assertPorts(hasSize(1))
       .assertPort("http", 8080, true)
-      .assertNodePortResponse("http", equalTo("JKube from WildFly JAR rocks!"));
-    return pod;
+      .assertNodePortResponse("http", equalTo("JKube from WildFly JAR rocks!"))
+      .recordStartupTimes();
+    return awaitPod(this).getKubernetesResource();
     }
 }